@@ -0,0 +1,171 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.ApplicationPage;
+import jobportal.JobPortalSQLGui.ApplyResult;
+import jobportal.JobPortalSQLGui.InMemoryStore;
+import jobportal.JobPortalSQLGui.InstrumentedStore;
+import jobportal.JobPortalSQLGui.Job;
+import jobportal.JobPortalSQLGui.JobPage;
+import jobportal.JobPortalSQLGui.JobPortalService;
+import jobportal.JobPortalSQLGui.JobSearchCriteria;
+import jobportal.JobPortalSQLGui.JobSummary;
+import jobportal.JobPortalSQLGui.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Persistence and service hot paths against the in-memory store, so runs need no MySQL
+// and measure the Java side only. Throughput plus sampled latency (p50..p99.99 in the
+// report); add -prof gc for allocation rate per operation.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PortalBenchmarks {
+
+    private static final String[] LOCATIONS = {"Pune", "Delhi", "Mumbai", "Bengaluru", "Chennai", "Hyderabad", "Remote"};
+    private static final String[] TITLES = {"Java Developer", "Frontend Engineer", "Data Analyst", "QA Engineer",
+                                            "DevOps Engineer", "Product Manager", "Spring Boot Developer", "Android Developer"};
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int jobs;
+
+    private InMemoryStore store;
+    private InstrumentedStore instrumented;
+    private JobPortalService service;
+    private String[] emails;
+    private int[] employerIds;
+    private int[] seekerIds;
+    private int[] jobIds;
+    private JobSearchCriteria filtered;
+    private JobSearchCriteria keyword;
+
+    @Setup(Level.Trial)
+    public void load() throws Exception {
+        Random rnd = new Random(42);
+        store = new InMemoryStore();
+        instrumented = new InstrumentedStore(store);
+        service = new JobPortalService(store);
+
+        int employers = Math.max(10, jobs / 100);
+        int seekers = Math.max(100, jobs / 20);
+        employerIds = new int[employers];
+        seekerIds = new int[seekers];
+        emails = new String[employers + seekers];
+        for (int i = 0; i < employers; i++) {
+            User u = service.registerEmployer("Employer " + i, "employer" + i + "@example.com", "pw", "Company " + i);
+            employerIds[i] = u.id;
+            emails[i] = u.email;
+        }
+        for (int i = 0; i < seekers; i++) {
+            User u = service.registerJobSeeker("Seeker " + i, "seeker" + i + "@example.com", "pw", "resume " + i);
+            seekerIds[i] = u.id;
+            emails[employers + i] = u.email;
+        }
+
+        List<Job> batch = new ArrayList<>(1000);
+        jobIds = new int[jobs];
+        int n = 0;
+        for (int i = 0; i < jobs; i++) {
+            Job j = new Job();
+            j.title = TITLES[rnd.nextInt(TITLES.length)] + " " + i;
+            j.description = "Work on " + TITLES[rnd.nextInt(TITLES.length)].toLowerCase() + " projects with a distributed team";
+            j.location = LOCATIONS[rnd.nextInt(LOCATIONS.length)];
+            j.salary = 20_000 + rnd.nextInt(180) * 1_000;
+            j.employerId = employerIds[rnd.nextInt(employers)];
+            batch.add(j);
+            if (batch.size() == 1000 || i == jobs - 1) {
+                for (int id : store.insertJobsBatch(batch)) jobIds[n++] = id;
+                batch.clear();
+            }
+        }
+        for (int i = 0; i < jobs / 2; i++) {
+            store.applyToJob(jobIds[rnd.nextInt(jobs)], seekerIds[rnd.nextInt(seekers)]);
+        }
+        service.rebuildSearchIndex();
+
+        filtered = new JobSearchCriteria();
+        filtered.location = "pune";
+        filtered.minSalary = 150_000;
+        keyword = new JobSearchCriteria();
+        keyword.keyword = "java developer";
+    }
+
+    private static int pick(int[] ids) { return ids[ThreadLocalRandom.current().nextInt(ids.length)]; }
+
+    // ---- lookups
+
+    @Benchmark
+    public User findUserByEmailCached() {
+        return service.findUserByEmail(emails[ThreadLocalRandom.current().nextInt(emails.length)]);
+    }
+
+    @Benchmark
+    public User findUserByEmailStore() {
+        return store.findUserByEmail(emails[ThreadLocalRandom.current().nextInt(emails.length)]);
+    }
+
+    // The same lookup through the metrics decorator: the difference is the recording cost
+    @Benchmark
+    public User findUserByEmailInstrumented() {
+        return instrumented.findUserByEmail(emails[ThreadLocalRandom.current().nextInt(emails.length)]);
+    }
+
+    // ---- listings
+
+    @Benchmark
+    public List<JobSummary> getAllJobs() {
+        return store.getAllJobs();
+    }
+
+    // Same rows with the description, as the search index rebuild reads them
+    @Benchmark
+    public List<Job> getAllJobDocuments() {
+        return store.getAllJobDocuments();
+    }
+
+    @Benchmark
+    public ApplicationPage getApplicationsForEmployerFirstPage() {
+        return store.getApplicationsForEmployer(pick(employerIds), 0, 100);
+    }
+
+    @Benchmark
+    public JobPage getJobsByEmployerFirstPage() {
+        return store.getJobsByEmployer(pick(employerIds), 0, 100);
+    }
+
+    // ---- the seeker's job list: old Java-side filtering of every row vs. the paged query
+
+    @Benchmark
+    public void filterAllJobsInJava(Blackhole bh) {
+        String loc = filtered.location.toLowerCase();
+        for (JobSummary j : store.getAllJobs()) {
+            if (j.location.toLowerCase().contains(loc) && j.salary >= filtered.minSalary) bh.consume(j);
+        }
+    }
+
+    @Benchmark
+    public JobPage searchJobsFirstPage() {
+        return store.searchJobs(filtered, 0, 100);
+    }
+
+    @Benchmark
+    public JobPage rankedKeywordSearch() {
+        return service.searchJobs(keyword, 0, 100);
+    }
+
+    // ---- writes
+
+    // Mostly new rows on large datasets, mostly repeats on small ones
+    @Benchmark
+    public ApplyResult applyToJob() {
+        return store.applyToJob(pick(jobIds), pick(seekerIds));
+    }
+}
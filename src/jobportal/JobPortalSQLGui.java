@@ -0,0 +1,8482 @@
+// JobPortalSQLGui.java
+// Single-file GUI + MySQL persistence for your job portal.
+// Requirements:
+//  - MySQL server accessible at sql100.infinityfree.com
+//  - DB user: if0_40508232, password: Arnim9412
+//  - Database name: f0_40508232_arnimjha (must exist or be created by your host admin)
+//  - Add MySQL Connector/J jar to classpath (mysql-connector-java-X.Y.Z.jar)
+//  - Build with `mvn package`; benchmarks live in the benchmarks/ module
+
+package jobportal;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.JTableHeader;
+import java.awt.*;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.sql.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DeflaterInputStream;
+import java.util.zip.InflaterInputStream;
+
+// ================== MAIN CLASS ==================
+public class JobPortalSQLGui extends JFrame {
+
+    // ====== CONFIG: change if needed ======
+    private static final String DB_HOST = "localhost";
+private static final String DB_NAME = "job_portal";
+private static final String DB_USER = "root";
+private static final String DB_PASS = "";
+    // Driver-level limits: the socket timeout is only a backstop behind the per-query
+    // timeouts (QueryClass), for a server that stops answering altogether
+    private static final int DB_CONNECT_TIMEOUT_SECONDS = 5;
+    private static final int DB_SOCKET_TIMEOUT_SECONDS = QueryClass.longestSeconds() + 30;
+private static final String JDBC_URL = "jdbc:mysql://" + DB_HOST + "/" + DB_NAME + "?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&rewriteBatchedStatements=true"
+        + "&connectTimeout=" + DB_CONNECT_TIMEOUT_SECONDS * 1000 + "&socketTimeout=" + DB_SOCKET_TIMEOUT_SECONDS * 1000;
+    private static final boolean DB_POOLING = true;
+    private static final int DB_POOL_MIN = 2;
+    private static final int DB_POOL_MAX = 10;
+    // Leak reports name the borrowing thread; this adds the borrow stack, at a stack walk per borrow
+    private static final boolean DB_POOL_LEAK_TRACES = Boolean.getBoolean("jobportal.pool.leakTraces");
+    // "mysql", or "memory" for the embedded single-node store (data is lost on exit)
+    private static final String STORE_ENGINE = System.getProperty("jobportal.store", "mysql");
+    // Statements slower than this go to the slow query log; 0 turns it off
+    private static final long SLOW_QUERY_MILLIS = Long.getLong("jobportal.slowQueryMillis", 200);
+    private static final String SLOW_QUERY_LOG = System.getProperty("jobportal.slowQueryLog", "slow-queries.log");
+    // Journal applications and status changes locally and flush them in the background
+    private static final boolean WRITE_BEHIND = Boolean.getBoolean("jobportal.writeBehind");
+    private static final String WRITE_BEHIND_JOURNAL = System.getProperty("jobportal.journal", "pending-writes.journal");
+    // Local copy of the job summaries the job lists open on; empty turns it off
+    private static final String JOB_SNAPSHOT = System.getProperty("jobportal.jobSnapshot", "jobs.snapshot");
+
+    // ====== GLOBAL THEME ======
+    private static final Color BG_DARK = new Color(25, 25, 25);
+    private static final Color BG_PANEL = new Color(35, 35, 35);
+    private static final Color BG_HEADER = new Color(20, 20, 20);
+    private static final Color ACCENT = new Color(102, 153, 255);
+
+    private static final Font APP_FONT   = new Font("Segoe UI", Font.PLAIN, 14);
+    private static final Font TITLE_FONT = new Font("Segoe UI", Font.BOLD, 22);
+    private static final Font TAB_FONT   = new Font("Segoe UI", Font.PLAIN, 14);
+
+    private static void applyGlobalStyles() {
+        UIManager.put("Label.font", APP_FONT);
+        UIManager.put("Button.font", APP_FONT);
+        UIManager.put("TextField.font", APP_FONT);
+        UIManager.put("PasswordField.font", APP_FONT);
+        UIManager.put("TextArea.font", APP_FONT);
+        UIManager.put("Table.font", APP_FONT);
+        UIManager.put("TableHeader.font", APP_FONT.deriveFont(Font.BOLD));
+
+        UIManager.put("Label.foreground", Color.WHITE);
+        UIManager.put("TextField.background", BG_PANEL);
+        UIManager.put("PasswordField.background", BG_PANEL);
+        UIManager.put("TextArea.background", BG_PANEL);
+        UIManager.put("TextField.foreground", Color.WHITE);
+        UIManager.put("PasswordField.foreground", Color.WHITE);
+        UIManager.put("TextArea.foreground", Color.WHITE);
+    }
+
+    private static JLabel createLogoTitle(String text) {
+        ImageIcon icon = null;
+        File logoFile = new File("bg.png"); // user-supplied background/ logo placeholder
+        if (logoFile.exists()) {
+            ImageIcon raw = new ImageIcon(logoFile.getAbsolutePath());
+            Image img = raw.getImage().getScaledInstance(28, 28, Image.SCALE_SMOOTH);
+            icon = new ImageIcon(img);
+        }
+        JLabel lbl = new JLabel(" " + text, icon, JLabel.LEFT);
+        lbl.setFont(TITLE_FONT);
+        lbl.setForeground(Color.WHITE);
+        return lbl;
+    }
+
+    private static JPanel createHeaderBar(String title) {
+        JPanel header = new JPanel(new BorderLayout());
+        header.setBackground(BG_HEADER);
+        header.setBorder(new EmptyBorder(10, 15, 10, 15));
+
+        JLabel titleLabel = createLogoTitle(title);
+        header.add(titleLabel, BorderLayout.WEST);
+
+        return header;
+    }
+
+    static void styleTable(JTable table) {
+        table.setFillsViewportHeight(true);
+        table.setRowHeight(24);
+        table.setShowGrid(false);
+        table.setIntercellSpacing(new Dimension(0, 0));
+        table.setBackground(BG_PANEL);
+        table.setForeground(Color.WHITE);
+        table.setSelectionBackground(new Color(70, 90, 160));
+        table.setSelectionForeground(Color.WHITE);
+
+        JTableHeader header = table.getTableHeader();
+        header.setBackground(BG_HEADER);
+        header.setForeground(Color.WHITE);
+        header.setReorderingAllowed(false);
+        header.setFont(APP_FONT.deriveFont(Font.BOLD));
+    }
+
+    // ====== SIMPLE MODELS (used in GUI) ======
+    // What user listings show; no password, company or resume
+    static class UserSummary {
+        int id;
+        String name;
+        String email;
+        String role; // EMPLOYER / JOB_SEEKER / ADMIN
+
+        public String toString() { return "["+id+"] "+name+" ("+role+")"; }
+    }
+
+    // Account row for login and the session. Reads leave the resume TEXT out
+    // (resumeLoaded = false) until a profile view asks for it.
+    static class User extends UserSummary {
+        String password;
+        String company;
+        String resume;
+        boolean resumeLoaded = true;
+
+        public User() {}
+
+        User copy() {
+            User c = new User();
+            c.id = id; c.name = name; c.email = email; c.role = role;
+            c.password = password; c.company = company; c.resume = resume; c.resumeLoaded = resumeLoaded;
+            return c;
+        }
+    }
+
+    // What job tables and caches hold; the description is fetched for detail views only
+    static class JobSummary {
+        int id;
+        String title;
+        String location;
+        double salary;
+        int employerId;
+        String employerName;
+    }
+
+    static class Job extends JobSummary {
+        String description;
+    }
+
+    static class ApplicationModel {
+        int id; // negative (-journal seq) for an apply still waiting in the write-behind journal
+        int jobId;
+        int seekerId;
+        String status;
+        boolean pending;  // journaled, not yet in the database
+        String rejection; // journaled, then turned down by the database: why
+    }
+
+    // Listing row for application tables: the application plus the names the tables show,
+    // resolved by the listing query's joins instead of per-row lookups
+    static class ApplicationView extends ApplicationModel {
+        String jobTitle;
+        String seekerName;
+        String company;
+    }
+
+    // One keyset page of applications, newest first (nextCursor 0 = no more rows)
+    static class ApplicationPage {
+        final List<ApplicationView> apps;
+        final int nextCursor;
+
+        ApplicationPage(List<ApplicationView> apps, int nextCursor) {
+            this.apps = apps;
+            this.nextCursor = nextCursor;
+        }
+
+        boolean hasMore() { return nextCursor > 0; }
+    }
+
+    // Outcome of an apply: the application row, and whether this call created it
+    // (false = the seeker had already applied, `application` is the existing row)
+    static class ApplyResult {
+        final ApplicationModel application;
+        final boolean created;
+
+        ApplyResult(ApplicationModel application, boolean created) {
+            this.application = application;
+            this.created = created;
+        }
+    }
+
+    // Filters for job search; blank strings / zero mean "no filter"
+    static class JobSearchCriteria {
+        String keyword = "";
+        String location = "";
+        double minSalary;
+    }
+
+    // Admin user browser: an optional role, and a prefix on the sort column (an exact id when
+    // sorting by id), so every query is one walk of one index. Counts of prefix searches stop
+    // at COUNT_CAP + 1, which reads as "more than COUNT_CAP".
+    static class UserQuery {
+        enum Sort { ID, NAME, EMAIL }
+        static final int COUNT_CAP = 10_000;
+
+        final String role;   // blank = any
+        final String prefix; // blank = no filter
+        final Sort sort;
+        final boolean descending;
+
+        UserQuery(String role, String prefix, Sort sort, boolean descending) {
+            this.role = role;
+            this.prefix = prefix;
+            this.sort = sort;
+            this.descending = descending;
+        }
+
+        boolean isUnfiltered() { return role.isEmpty() && prefix.isEmpty(); }
+
+        // The id the prefix names when sorting by id; -1 (matches nothing) when it is not a number
+        int prefixId() {
+            try {
+                return Integer.parseInt(prefix);
+            } catch (NumberFormatException ex) {
+                return -1;
+            }
+        }
+    }
+
+    // One keyset page; pass nextCursor as afterId to fetch the next one (0 = no more rows).
+    // Ranked keyword pages are positional instead: nextCursor is the offset of the next row,
+    // and `ranked` goes back with it.
+    static class JobPage {
+        final List<JobSummary> jobs;
+        final int nextCursor;
+        final boolean ranked;
+
+        JobPage(List<JobSummary> jobs, int nextCursor) {
+            this(jobs, nextCursor, false);
+        }
+
+        JobPage(List<JobSummary> jobs, int nextCursor, boolean ranked) {
+            this.jobs = jobs;
+            this.nextCursor = nextCursor;
+            this.ranked = ranked;
+        }
+
+        boolean hasMore() { return nextCursor > 0; }
+    }
+
+    // Delta refresh: rows created or changed after the caller's watermark (newest first) and
+    // the ids deleted since (ascending). Pass `watermark` to the next call. `resync` means the
+    // old watermark reaches back past the kept tombstones; reload in full instead.
+    static class ChangeSet<T> {
+        final List<T> changed;
+        final int[] deleted;
+        final long watermark;
+        final boolean resync;
+
+        ChangeSet(List<T> changed, int[] deleted, long watermark, boolean resync) {
+            this.changed = changed;
+            this.deleted = deleted;
+            this.watermark = watermark;
+            this.resync = resync;
+        }
+
+        boolean isEmpty() { return changed.isEmpty() && deleted.length == 0; }
+    }
+
+    // Published by JobPortalService after a write commits, so views can patch the one
+    // affected row instead of re-querying. `value` is the written entity (null for deletes,
+    // partial for status updates); ownerId is the employer of a job/application, -1 if unknown.
+    // REJECTED is a write-behind write that was acknowledged as pending and then turned down
+    // by the database; `value` is the row as shown, with its rejection set.
+    static class PortalEvent {
+        enum Kind { INSERTED, UPDATED, DELETED, BULK_CHANGED, REJECTED }
+        enum Entity { USER, JOB, APPLICATION }
+
+        final Kind kind;
+        final Entity entity;
+        final int id;
+        final Object value;
+        final int ownerId;
+
+        PortalEvent(Kind kind, Entity entity, int id, Object value, int ownerId) {
+            this.kind = kind;
+            this.entity = entity;
+            this.id = id;
+            this.value = value;
+            this.ownerId = ownerId;
+        }
+
+        public String toString() { return kind + " " + entity + " " + id; }
+    }
+
+    // ====== CONNECTION POOL ======
+    static class PoolConfig {
+        int minSize = 2;
+        int maxSize = 10;
+        long borrowTimeoutMillis = 5_000;
+        long idleTimeoutMillis = 5 * 60_000;
+        long evictionIntervalMillis = 30_000;
+        long leakThresholdMillis = 60_000;   // 0 disables leak detection
+        boolean leakTraces;                  // capture the borrow stack for leak reports (a stack walk per borrow)
+        long validationBypassMillis = 500;   // skip isValid() if the connection was used this recently
+        int validationTimeoutSeconds = 2;
+    }
+
+    static class PoolStats {
+        final int active;
+        final int idle;
+        final int waiting;
+        final long borrows;
+        final long timeouts;
+        final long leaks;
+        final double avgWaitMillis;
+        final double maxWaitMillis;
+
+        PoolStats(int active, int idle, int waiting, long borrows, long timeouts, long leaks, long totalWaitNanos, long maxWaitNanos) {
+            this.active = active;
+            this.idle = idle;
+            this.waiting = waiting;
+            this.borrows = borrows;
+            this.timeouts = timeouts;
+            this.leaks = leaks;
+            this.avgWaitMillis = borrows == 0 ? 0 : totalWaitNanos / 1e6 / borrows;
+            this.maxWaitMillis = maxWaitNanos / 1e6;
+        }
+
+        public String toString() {
+            return String.format("active=%d idle=%d waiting=%d borrows=%d timeouts=%d leaks=%d avgWait=%.2fms maxWait=%.2fms",
+                    active, idle, waiting, borrows, timeouts, leaks, avgWaitMillis, maxWaitMillis);
+        }
+    }
+
+    // Bounded pool handing out proxies whose close() returns the physical connection,
+    // so existing try-with-resources call sites keep working unchanged.
+    static class ConnectionPool implements AutoCloseable {
+        private final String jdbcUrl;
+        private final String user;
+        private final String pass;
+        private final PoolConfig cfg;
+        private final Semaphore permits;
+        private final Deque<PooledConnection> idle = new ArrayDeque<>();
+        private final Set<PooledConnection> active = ConcurrentHashMap.newKeySet();
+        private final ScheduledExecutorService housekeeper;
+        private final AtomicLong borrows = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong leaks = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final Object topUpLock = new Object();
+        private volatile boolean closed;
+
+        ConnectionPool(String jdbcUrl, String user, String pass, PoolConfig cfg) {
+            if (cfg.minSize < 0 || cfg.maxSize < 1 || cfg.minSize > cfg.maxSize) {
+                throw new IllegalArgumentException("Invalid pool size: min=" + cfg.minSize + " max=" + cfg.maxSize);
+            }
+            this.jdbcUrl = jdbcUrl;
+            this.user = user;
+            this.pass = pass;
+            this.cfg = cfg;
+            this.permits = new Semaphore(cfg.maxSize, true);
+            this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "db-pool-housekeeper");
+                t.setDaemon(true);
+                return t;
+            });
+            housekeeper.scheduleWithFixedDelay(this::housekeep, 0, cfg.evictionIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+
+        Connection borrow() throws SQLException {
+            if (closed) throw new SQLException("Connection pool is closed");
+            long start = System.nanoTime();
+            try {
+                if (!permits.tryAcquire(cfg.borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    timeouts.incrementAndGet();
+                    throw new SQLTransientConnectionException("Timed out after " + cfg.borrowTimeoutMillis
+                            + "ms waiting for a database connection (" + stats() + ")");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection", ex);
+            }
+            try {
+                PooledConnection pc = takeValidIdle();
+                if (pc == null) pc = new PooledConnection(DriverManager.getConnection(jdbcUrl, user, pass));
+                pc.borrowedAt = System.currentTimeMillis();
+                pc.borrower = Thread.currentThread().getName();
+                pc.borrowSite = cfg.leakTraces && cfg.leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+                pc.leakReported = false;
+                active.add(pc);
+                recordWait(System.nanoTime() - start);
+                return pc.newHandle();
+            } catch (SQLException | RuntimeException ex) {
+                permits.release();
+                throw ex;
+            }
+        }
+
+        private PooledConnection takeValidIdle() {
+            while (true) {
+                PooledConnection pc;
+                synchronized (idle) {
+                    pc = idle.pollFirst();
+                }
+                if (pc == null) return null;
+                if (System.currentTimeMillis() - pc.lastUsed < cfg.validationBypassMillis) return pc;
+                try {
+                    if (pc.physical.isValid(cfg.validationTimeoutSeconds)) return pc;
+                } catch (SQLException ignored) {}
+                pc.closeQuietly();
+            }
+        }
+
+        private void recordWait(long nanos) {
+            borrows.incrementAndGet();
+            totalWaitNanos.addAndGet(nanos);
+            maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private void giveBack(PooledConnection pc) {
+            active.remove(pc);
+            pc.lastUsed = System.currentTimeMillis();
+            pc.borrowSite = null;
+            boolean reusable = !closed && !pc.broken;
+            if (reusable) {
+                try {
+                    if (!pc.physical.getAutoCommit()) {
+                        pc.physical.rollback();
+                        pc.physical.setAutoCommit(true);
+                    }
+                } catch (SQLException ex) {
+                    reusable = false;
+                }
+            }
+            if (reusable) {
+                synchronized (idle) {
+                    idle.addFirst(pc);
+                }
+            } else {
+                pc.closeQuietly();
+            }
+            permits.release();
+        }
+
+        private void housekeep() {
+            if (closed) return;
+            long now = System.currentTimeMillis();
+
+            // leak detection: report each long-held connection once
+            if (cfg.leakThresholdMillis > 0) {
+                for (PooledConnection pc : active) {
+                    if (!pc.leakReported && now - pc.borrowedAt > cfg.leakThresholdMillis) {
+                        pc.leakReported = true;
+                        leaks.incrementAndGet();
+                        System.err.println("Possible connection leak: held for " + (now - pc.borrowedAt) + "ms by " + pc.borrower);
+                        Throwable site = pc.borrowSite;
+                        if (site != null) site.printStackTrace();
+                        else System.err.println("  (run with -Djobportal.pool.leakTraces=true to record where it was borrowed)");
+                    }
+                }
+            }
+
+            // idle eviction down to minSize (oldest idle entries sit at the tail)
+            List<PooledConnection> evicted = new ArrayList<>();
+            synchronized (idle) {
+                Iterator<PooledConnection> it = idle.descendingIterator();
+                while (it.hasNext() && idle.size() + active.size() > cfg.minSize) {
+                    PooledConnection pc = it.next();
+                    if (now - pc.lastUsed > cfg.idleTimeoutMillis) {
+                        it.remove();
+                        evicted.add(pc);
+                    }
+                }
+            }
+            for (PooledConnection pc : evicted) pc.closeQuietly();
+
+            topUp();
+        }
+
+        // Dials idle connections until minSize are open. Runs on every housekeeping pass and
+        // once at startup, so the first queries after login find warm connections.
+        void topUp() {
+            synchronized (topUpLock) {
+                while (!closed && idleCount() + active.size() < cfg.minSize && permits.tryAcquire()) {
+                    try {
+                        PooledConnection pc = new PooledConnection(DriverManager.getConnection(jdbcUrl, user, pass));
+                        synchronized (idle) {
+                            idle.addLast(pc);
+                        }
+                    } catch (SQLException ex) {
+                        System.err.println("Pool warm-up failed: " + ex.getMessage());
+                        break;
+                    } finally {
+                        permits.release();
+                    }
+                }
+            }
+        }
+
+        private int idleCount() {
+            synchronized (idle) {
+                return idle.size();
+            }
+        }
+
+        PoolStats stats() {
+            return new PoolStats(active.size(), idleCount(), permits.getQueueLength(),
+                    borrows.get(), timeouts.get(), leaks.get(), totalWaitNanos.get(), maxWaitNanos.get());
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            housekeeper.shutdownNow();
+            List<PooledConnection> drained;
+            synchronized (idle) {
+                drained = new ArrayList<>(idle);
+                idle.clear();
+            }
+            for (PooledConnection pc : drained) pc.closeQuietly();
+        }
+
+        private final class PooledConnection {
+            final Connection physical;
+            volatile long lastUsed = System.currentTimeMillis();
+            volatile long borrowedAt;
+            volatile String borrower;
+            volatile Throwable borrowSite;
+            volatile boolean leakReported;
+            volatile boolean broken;
+
+            PooledConnection(Connection physical) {
+                this.physical = physical;
+            }
+
+            Connection newHandle() {
+                InvocationHandler handler = new InvocationHandler() {
+                    private boolean released;
+
+                    @Override
+                    public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+                        switch (m.getName()) {
+                            case "close":
+                                if (!released) {
+                                    released = true;
+                                    giveBack(PooledConnection.this);
+                                }
+                                return null;
+                            case "isClosed":
+                                return released || physical.isClosed();
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "toString":
+                                return "Pooled[" + physical + "]";
+                            default:
+                                if (released) throw new SQLException("Connection is closed");
+                                try {
+                                    return m.invoke(physical, args);
+                                } catch (InvocationTargetException ex) {
+                                    Throwable cause = ex.getCause();
+                                    if (cause instanceof SQLException) {
+                                        String state = ((SQLException) cause).getSQLState();
+                                        if (state != null && state.startsWith("08")) broken = true;
+                                    }
+                                    throw cause;
+                                }
+                        }
+                    }
+                };
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[]{Connection.class}, handler);
+            }
+
+            void closeQuietly() {
+                try { physical.close(); } catch (SQLException ignored) {}
+            }
+        }
+    }
+
+    // ====== SLOW QUERY LOG ======
+    // Wraps DatabaseManager connections so each prepared statement is timed from execute to
+    // the close of its result set. Statements over the threshold are appended to a rolling
+    // log file with their SQL, bound parameters (sensitive columns redacted), duration and
+    // row count. The first slow occurrence of each distinct statement also gets its EXPLAIN
+    // plan, run with the same parameters on a separate connection. Formatting, file I/O and
+    // EXPLAIN run on a background thread, never on the query's thread.
+    static class SlowQueryLog implements AutoCloseable {
+        interface ConnectionSource { Connection open() throws SQLException; }
+
+        static final long MAX_FILE_BYTES = 5L * 1024 * 1024;
+        static final int KEEP_FILES = 3;
+        static final int MAX_PARAM_CHARS = 100;
+        private static final Set<String> SENSITIVE_COLUMNS = new HashSet<>(Arrays.asList("password", "email", "resume", "resume_doc"));
+        private static final Pattern COMPARED_COLUMN = Pattern.compile("([A-Za-z_][\\w.]*)\\s*(?:=|<>|!=|<=|>=|<|>|LIKE)\\s*$", Pattern.CASE_INSENSITIVE);
+        private static final Pattern INSERT_COLUMNS = Pattern.compile("^\\s*INSERT\\s+(?:IGNORE\\s+)?INTO\\s+\\w+\\s*\\(([^)]*)\\)\\s*VALUES", Pattern.CASE_INSENSITIVE);
+        private static final Object STREAM = new Object(); // stands in for stream parameters
+
+        private final Path file;
+        private final long thresholdNanos;
+        private final ConnectionSource explainSource;
+        private final Set<String> explained = ConcurrentHashMap.newKeySet();
+        private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "slow-query-log");
+            t.setDaemon(true);
+            return t;
+        });
+
+        SlowQueryLog(Path file, long thresholdMillis, ConnectionSource explainSource) {
+            this.file = file;
+            this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+            this.explainSource = explainSource;
+        }
+
+        Connection wrap(Connection c) {
+            InvocationHandler handler = (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "equals": return proxy == args[0];
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "prepareStatement": {
+                        PreparedStatement ps = (PreparedStatement) invoke(c, m, args);
+                        StatementHandler h = new StatementHandler(ps, (String) args[0]);
+                        return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, h);
+                    }
+                    default: return invoke(c, m, args);
+                }
+            };
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+        }
+
+        private static Object invoke(Object target, Method m, Object[] args) throws Throwable {
+            try {
+                return m.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+
+        @Override
+        public void close() {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(2, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Timing and parameter capture for one statement; a statement is used by one thread at a time
+        private final class StatementHandler implements InvocationHandler {
+            private final PreparedStatement target;
+            private final String sql;
+            private Object[] params = new Object[8];
+            private int paramCount;
+            private int batchSize;
+            private long start;
+            private boolean pending;
+
+            StatementHandler(PreparedStatement target, String sql) {
+                this.target = target;
+                this.sql = sql;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+                String name = m.getName();
+                if (args != null && args.length >= 2 && name.startsWith("set") && args[0] instanceof Integer) {
+                    bind((Integer) args[0], name.equals("setNull") ? null
+                            : args[1] instanceof InputStream || args[1] instanceof Reader ? STREAM : args[1]);
+                }
+                switch (name) {
+                    case "equals": return proxy == args[0];
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "clearParameters": paramCount = 0; break;
+                    case "addBatch": batchSize++; break;
+                    case "executeQuery":
+                        if (args == null) {
+                            start = System.nanoTime();
+                            ResultSet rs = (ResultSet) SlowQueryLog.invoke(target, m, null);
+                            pending = true;
+                            return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, new RowCounter(rs, this));
+                        }
+                        break;
+                    case "executeUpdate":
+                        if (args == null) {
+                            start = System.nanoTime();
+                            int n = (Integer) SlowQueryLog.invoke(target, m, null);
+                            finish(n);
+                            return n;
+                        }
+                        break;
+                    case "executeBatch": {
+                        start = System.nanoTime();
+                        int[] counts = (int[]) SlowQueryLog.invoke(target, m, args);
+                        long rows = 0;
+                        for (int n : counts) if (n > 0) rows += n;
+                        finish(rows);
+                        batchSize = 0;
+                        return counts;
+                    }
+                    case "close":
+                        if (pending) finish(-1); // result set never closed; rows unknown
+                        break;
+                    default:
+                        break;
+                }
+                return SlowQueryLog.invoke(target, m, args);
+            }
+
+            private void bind(int index, Object value) {
+                if (index > params.length) params = Arrays.copyOf(params, Math.max(index, params.length * 2));
+                params[index - 1] = value;
+                paramCount = Math.max(paramCount, index);
+            }
+
+            void finish(long rows) {
+                pending = false;
+                long nanos = System.nanoTime() - start;
+                if (nanos < thresholdNanos) return;
+                Object[] bound = Arrays.copyOf(params, paramCount);
+                int batch = batchSize;
+                String at = Instant.now().toString();
+                writer.execute(() -> write(at, sql, bound, nanos, rows, batch));
+            }
+        }
+
+        private static final class RowCounter implements InvocationHandler {
+            private final ResultSet target;
+            private final StatementHandler statement;
+            private long rows;
+
+            RowCounter(ResultSet target, StatementHandler statement) {
+                this.target = target;
+                this.statement = statement;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+                switch (m.getName()) {
+                    case "equals": return proxy == args[0];
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "next": {
+                        boolean more = (Boolean) SlowQueryLog.invoke(target, m, args);
+                        if (more) rows++;
+                        return more;
+                    }
+                    case "close":
+                        if (statement.pending) statement.finish(rows);
+                        break;
+                    default:
+                        break;
+                }
+                return SlowQueryLog.invoke(target, m, args);
+            }
+        }
+
+        // ---- background side
+
+        private void write(String at, String sql, Object[] params, long nanos, long rows, int batch) {
+            String statement = sql.trim().replaceAll("\\s+", " ");
+            StringBuilder sb = new StringBuilder();
+            sb.append(at).append(' ').append(nanos / 1_000_000).append("ms rows=").append(rows < 0 ? "?" : String.valueOf(rows));
+            if (batch > 0) sb.append(" batch=").append(batch);
+            sb.append(' ').append(statement).append(" | params=").append(formatParams(statement, params)).append('\n');
+            if (explained.add(statement) && explainable(statement, params)) sb.append(explain(sql, params));
+            try {
+                append(sb.toString().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException ex) {
+                System.err.println("Could not write slow query log " + file + ": " + ex.getMessage());
+            }
+        }
+
+        private void append(byte[] bytes) throws IOException {
+            if (Files.exists(file) && Files.size(file) + bytes.length > MAX_FILE_BYTES) roll();
+            Files.write(file, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        // slow-queries.log -> .1 -> .2 ... the oldest falls off
+        private void roll() throws IOException {
+            Path oldest = Paths.get(file + "." + KEEP_FILES);
+            Files.deleteIfExists(oldest);
+            for (int i = KEEP_FILES - 1; i >= 1; i--) {
+                Path from = Paths.get(file + "." + i);
+                if (Files.exists(from)) Files.move(from, Paths.get(file + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(file, Paths.get(file + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        static String formatParams(String sql, Object[] params) {
+            boolean[] sensitive = sensitivePlaceholders(sql, params.length);
+            StringBuilder sb = new StringBuilder("[");
+            for (int i = 0; i < params.length; i++) {
+                if (i > 0) sb.append(", ");
+                Object v = params[i];
+                if (sensitive[i]) sb.append("<redacted>");
+                else if (v == null) sb.append("NULL");
+                else if (v == STREAM) sb.append("<stream>");
+                else if (v instanceof byte[]) sb.append('<').append(((byte[]) v).length).append(" bytes>");
+                else if (v instanceof Number || v instanceof Boolean) sb.append(v);
+                else {
+                    String s = String.valueOf(v);
+                    if (s.length() > MAX_PARAM_CHARS) s = s.substring(0, MAX_PARAM_CHARS) + "...";
+                    sb.append('\'').append(s.replace("'", "''")).append('\'');
+                }
+            }
+            return sb.append(']').toString();
+        }
+
+        // Placeholders that bind a sensitive column: "col = ?" style comparisons and
+        // assignments, and INSERT column lists matched to VALUES positionally
+        static boolean[] sensitivePlaceholders(String sql, int count) {
+            boolean[] out = new boolean[count];
+            Matcher insert = INSERT_COLUMNS.matcher(sql);
+            String[] insertColumns = insert.find() ? insert.group(1).split(",") : null;
+            int valuesAt = insertColumns != null ? insert.end() : Integer.MAX_VALUE;
+            int n = 0, inValues = 0;
+            for (int i = 0; i < sql.length() && n < count; i++) {
+                if (sql.charAt(i) != '?') continue;
+                String column = null;
+                if (i > valuesAt && inValues < insertColumns.length) {
+                    column = insertColumns[inValues++].trim();
+                } else {
+                    Matcher m = COMPARED_COLUMN.matcher(sql.substring(Math.max(0, i - 64), i));
+                    if (m.find()) column = m.group(1);
+                }
+                if (column != null) {
+                    column = column.substring(column.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+                    out[n] = SENSITIVE_COLUMNS.contains(column);
+                }
+                n++;
+            }
+            return out;
+        }
+
+        // EXPLAIN reads a plan without running the statement; skip table-less selects
+        // (GET_LOCK and friends) and statements whose parameters cannot be replayed
+        private static boolean explainable(String sql, Object[] params) {
+            String head = sql.length() > 7 ? sql.substring(0, 7).toUpperCase(Locale.ROOT) : sql.toUpperCase(Locale.ROOT);
+            boolean dml = head.startsWith("UPDATE") || head.startsWith("DELETE") || head.startsWith("INSERT")
+                    || (head.startsWith("SELECT") && sql.toUpperCase(Locale.ROOT).contains(" FROM "));
+            if (!dml) return false;
+            for (Object p : params) if (p == STREAM) return false;
+            return true;
+        }
+
+        private String explain(String sql, Object[] params) {
+            StringBuilder sb = new StringBuilder("  EXPLAIN (first slow occurrence):\n");
+            try (Connection c = explainSource.open(); PreparedStatement ps = c.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < params.length; i++) ps.setObject(i + 1, params[i]);
+                try (ResultSet rs = ps.executeQuery()) {
+                    ResultSetMetaData md = rs.getMetaData();
+                    sb.append("  ");
+                    for (int i = 1; i <= md.getColumnCount(); i++) sb.append(i > 1 ? " | " : "").append(md.getColumnLabel(i));
+                    sb.append('\n');
+                    while (rs.next()) {
+                        sb.append("  ");
+                        for (int i = 1; i <= md.getColumnCount(); i++) sb.append(i > 1 ? " | " : "").append(rs.getString(i));
+                        sb.append('\n');
+                    }
+                }
+            } catch (SQLException ex) {
+                sb.append("  EXPLAIN failed: ").append(ex.getMessage()).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    // ====== PRIMITIVE COLLECTIONS ======
+    // Open-addressing int -> int map (linear probing); avoids boxing on id lookups
+    static class IntIntHashMap {
+        private static final int EMPTY = Integer.MIN_VALUE;
+        private int[] keys;
+        private int[] values;
+        private int size;
+        private final int missing;
+
+        IntIntHashMap(int expected, int missing) {
+            int cap = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+            keys = new int[cap];
+            values = new int[cap];
+            Arrays.fill(keys, EMPTY);
+            this.missing = missing;
+        }
+
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                int k = keys[i];
+                if (k == key) return values[i];
+                if (k == EMPTY) return missing;
+            }
+        }
+
+        void put(int key, int value) {
+            if (key == EMPTY) throw new IllegalArgumentException("Reserved key");
+            if ((size + 1) * 4 > keys.length * 3) resize(keys.length << 1);
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != EMPTY && keys[i] != key) i = (i + 1) & mask;
+            if (keys[i] == EMPTY) size++;
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int remove(int key) {
+            int mask = keys.length - 1;
+            int i = mix(key) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) return missing;
+                i = (i + 1) & mask;
+            }
+            int old = values[i];
+            // backward-shift deletion keeps probe chains intact without tombstones
+            int gap = i;
+            for (int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = mix(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = EMPTY;
+            size--;
+            return old;
+        }
+
+        int size() { return size; }
+
+        void clear() {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        private void resize(int cap) {
+            int[] oldKeys = keys, oldValues = values;
+            keys = new int[cap];
+            values = new int[cap];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    // Open-addressing int -> object map, same probing scheme as IntIntHashMap
+    static class IntObjectHashMap<V> {
+        private static final int EMPTY = Integer.MIN_VALUE;
+        private int[] keys;
+        private Object[] values;
+        private int size;
+
+        IntObjectHashMap(int expected) {
+            int cap = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+            keys = new int[cap];
+            values = new Object[cap];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(int key) {
+            int mask = keys.length - 1;
+            for (int i = IntIntHashMap.mix(key) & mask; ; i = (i + 1) & mask) {
+                int k = keys[i];
+                if (k == key) return (V) values[i];
+                if (k == EMPTY) return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V put(int key, V value) {
+            if (key == EMPTY) throw new IllegalArgumentException("Reserved key");
+            if ((size + 1) * 4 > keys.length * 3) resize(keys.length << 1);
+            int mask = keys.length - 1;
+            int i = IntIntHashMap.mix(key) & mask;
+            while (keys[i] != EMPTY && keys[i] != key) i = (i + 1) & mask;
+            Object old = values[i];
+            if (keys[i] == EMPTY) size++;
+            keys[i] = key;
+            values[i] = value;
+            return (V) old;
+        }
+
+        @SuppressWarnings("unchecked")
+        V remove(int key) {
+            int mask = keys.length - 1;
+            int i = IntIntHashMap.mix(key) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) return null;
+                i = (i + 1) & mask;
+            }
+            Object old = values[i];
+            int gap = i;
+            for (int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = IntIntHashMap.mix(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = EMPTY;
+            values[gap] = null;
+            size--;
+            return (V) old;
+        }
+
+        int size() { return size; }
+
+        @SuppressWarnings("unchecked")
+        private void resize(int cap) {
+            int[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new int[cap];
+            values = new Object[cap];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) put(oldKeys[i], (V) oldValues[i]);
+            }
+        }
+    }
+
+    // Ascending set of distinct ints in one array. Ids are handed out in increasing order,
+    // so add() is almost always an append; lookups and range starts are binary searches.
+    static class SortedIntList {
+        private int[] data;
+        private int size;
+
+        SortedIntList(int capacity) { data = new int[Math.max(4, capacity)]; }
+
+        int size() { return size; }
+
+        int get(int index) { return data[index]; }
+
+        boolean add(int v) {
+            int at = size > 0 && data[size - 1] < v ? size : Arrays.binarySearch(data, 0, size, v);
+            if (at < 0) at = -at - 1;
+            else if (at < size) return false;
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            System.arraycopy(data, at, data, at + 1, size - at);
+            data[at] = v;
+            size++;
+            return true;
+        }
+
+        boolean remove(int v) {
+            int at = Arrays.binarySearch(data, 0, size, v);
+            if (at < 0) return false;
+            System.arraycopy(data, at + 1, data, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        // Index of the first element >= v (size when there is none)
+        int ceilingIndex(int v) {
+            int at = Arrays.binarySearch(data, 0, size, v);
+            return at < 0 ? -at - 1 : at;
+        }
+
+        int[] toArray() { return Arrays.copyOf(data, size); }
+    }
+
+    // ====== ENTITY CACHE ======
+    static class CacheStats {
+        final long hits, misses, evictions, expirations, invalidations;
+        final int size;
+
+        CacheStats(long hits, long misses, long evictions, long expirations, long invalidations, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.invalidations = invalidations;
+            this.size = size;
+        }
+
+        double hitRate() { return hits + misses == 0 ? 0 : (double) hits / (hits + misses); }
+
+        public String toString() {
+            return String.format("size=%d hits=%d misses=%d hitRate=%.1f%% evictions=%d expirations=%d invalidations=%d",
+                    size, hits, misses, hitRate() * 100, evictions, expirations, invalidations);
+        }
+    }
+
+    // Bounded int-keyed cache with segmented LRU eviction and a TTL. New entries land in
+    // the probation segment; a second hit promotes them to the protected segment, so a
+    // one-off scan cannot flush the hot set. Entries live in parallel arrays linked by
+    // slot index, so lookups and updates do not allocate.
+    static class EntityCache<V> {
+        private static final byte PROBATION = 0, PROTECTED = 1;
+
+        private final int capacity;
+        private final int protectedCapacity;
+        private final long ttlNanos;
+        private final IntIntHashMap slots;
+        private final int[] keys, prev, next;
+        private final Object[] values;
+        private final long[] expiresAt;
+        private final byte[] segment;
+        private final int[] head = {-1, -1}, tail = {-1, -1}, segSize = new int[2];
+        private int freeTop;
+        private final int[] free;
+        private long hits, misses, evictions, expirations, invalidations;
+
+        EntityCache(int capacity, long ttl, TimeUnit unit) {
+            this.capacity = capacity;
+            this.protectedCapacity = Math.max(1, capacity * 4 / 5);
+            this.ttlNanos = unit.toNanos(ttl);
+            this.slots = new IntIntHashMap(capacity, -1);
+            keys = new int[capacity];
+            prev = new int[capacity];
+            next = new int[capacity];
+            values = new Object[capacity];
+            expiresAt = new long[capacity];
+            segment = new byte[capacity];
+            free = new int[capacity];
+            for (int i = 0; i < capacity; i++) free[i] = capacity - 1 - i;
+            freeTop = capacity;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized V get(int key) {
+            int s = slots.get(key);
+            if (s < 0) {
+                misses++;
+                return null;
+            }
+            if (System.nanoTime() - expiresAt[s] > 0) {
+                expirations++;
+                misses++;
+                removeSlot(s);
+                return null;
+            }
+            hits++;
+            unlink(s);
+            if (segment[s] == PROBATION) {
+                segment[s] = PROTECTED;
+                // demote the protected LRU back to probation when the segment overflows
+                if (segSize[PROTECTED] >= protectedCapacity) {
+                    int demoted = tail[PROTECTED];
+                    unlink(demoted);
+                    segment[demoted] = PROBATION;
+                    linkFirst(demoted);
+                }
+            }
+            linkFirst(s);
+            return (V) values[s];
+        }
+
+        synchronized void put(int key, V value) {
+            if (value == null) return;
+            int s = slots.get(key);
+            if (s >= 0) {
+                values[s] = value;
+                expiresAt[s] = System.nanoTime() + ttlNanos;
+                unlink(s);
+                linkFirst(s);
+                return;
+            }
+            if (freeTop == 0) {
+                int victim = tail[PROBATION] >= 0 ? tail[PROBATION] : tail[PROTECTED];
+                evictions++;
+                removeSlot(victim);
+            }
+            s = free[--freeTop];
+            keys[s] = key;
+            values[s] = value;
+            expiresAt[s] = System.nanoTime() + ttlNanos;
+            segment[s] = PROBATION;
+            linkFirst(s);
+            slots.put(key, s);
+        }
+
+        synchronized void invalidate(int key) {
+            int s = slots.get(key);
+            if (s >= 0) {
+                invalidations++;
+                removeSlot(s);
+            }
+        }
+
+        // For writes whose blast radius is not a single key (e.g. an employer rename)
+        @SuppressWarnings("unchecked")
+        synchronized void invalidateIf(Predicate<V> stale) {
+            for (int seg = 0; seg < 2; seg++) {
+                for (int s = head[seg]; s >= 0; ) {
+                    int n = next[s];
+                    if (stale.test((V) values[s])) {
+                        invalidations++;
+                        removeSlot(s);
+                    }
+                    s = n;
+                }
+            }
+        }
+
+        synchronized CacheStats stats() {
+            return new CacheStats(hits, misses, evictions, expirations, invalidations, slots.size());
+        }
+
+        private void removeSlot(int s) {
+            unlink(s);
+            slots.remove(keys[s]);
+            values[s] = null;
+            free[freeTop++] = s;
+        }
+
+        private void linkFirst(int s) {
+            int seg = segment[s];
+            prev[s] = -1;
+            next[s] = head[seg];
+            if (head[seg] >= 0) prev[head[seg]] = s;
+            head[seg] = s;
+            if (tail[seg] < 0) tail[seg] = s;
+            segSize[seg]++;
+        }
+
+        private void unlink(int s) {
+            int seg = segment[s];
+            if (prev[s] >= 0) next[prev[s]] = next[s]; else head[seg] = next[s];
+            if (next[s] >= 0) prev[next[s]] = prev[s]; else tail[seg] = prev[s];
+            segSize[seg]--;
+        }
+    }
+
+    // ====== FULL-TEXT JOB INDEX (BM25) ======
+    // In-memory inverted index over job title + description. Postings are parallel
+    // int arrays (doc numbers ascending, term frequencies); doc numbers are dense
+    // internal ids mapped to job ids. Deletes are tombstoned and compacted lazily.
+    static class JobSearchIndex {
+        private static final float K1 = 1.2f;
+        private static final float B = 0.75f;
+        private static final int TITLE_BOOST = 2; // title tokens count double towards tf
+
+        private static final class Postings {
+            int[] docs = new int[4];
+            int[] tfs = new int[4];
+            int size;
+
+            void add(int doc, int tf) {
+                if (size == docs.length) {
+                    docs = Arrays.copyOf(docs, size * 2);
+                    tfs = Arrays.copyOf(tfs, size * 2);
+                }
+                docs[size] = doc;
+                tfs[size] = tf;
+                size++;
+            }
+        }
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Postings> terms = new HashMap<>();
+        private final IntIntHashMap docByJobId = new IntIntHashMap(1024, -1);
+        private final BitSet deleted = new BitSet();
+        private int[] jobIds = new int[1024];
+        private int[] docLens = new int[1024];
+        private int[] employerIds = new int[1024];
+        private double[] salaries = new double[1024];
+        private String[] titles = new String[1024];
+        private String[] employerNames = new String[1024];
+        private String[] locations = new String[1024];
+        private String[] locationsLower = new String[1024];
+        private int docCount;
+        private int liveDocs;
+        private long totalLen;
+        private volatile boolean ready;
+
+        boolean isReady() { return ready; }
+
+        void rebuild(List<Job> jobs) {
+            lock.writeLock().lock();
+            try {
+                terms.clear();
+                docByJobId.clear();
+                deleted.clear();
+                docCount = 0;
+                liveDocs = 0;
+                totalLen = 0;
+                // oldest first so that postings stay sorted by doc number
+                for (int i = jobs.size() - 1; i >= 0; i--) addLocked(jobs.get(i));
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void add(Job j) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(j.id);
+                addLocked(j);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(int jobId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(jobId);
+                if (deleted.cardinality() > 1024 && deleted.cardinality() * 4 > docCount) compactLocked();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Keeps the denormalised company column in sync after profile edits / user deletes
+        void updateEmployerName(int employerId, String name) {
+            lock.writeLock().lock();
+            try {
+                for (int d = 0; d < docCount; d++) {
+                    if (employerIds[d] == employerId) employerNames[d] = name;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void addLocked(Job j) {
+            Map<String, int[]> tf = new HashMap<>();
+            int len = countTokens(j.title, TITLE_BOOST, tf) + countTokens(j.description, 1, tf);
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            jobIds[doc] = j.id;
+            docLens[doc] = len;
+            employerIds[doc] = j.employerId;
+            salaries[doc] = j.salary;
+            titles[doc] = j.title;
+            employerNames[doc] = j.employerName;
+            locations[doc] = j.location;
+            locationsLower[doc] = j.location == null ? "" : j.location.toLowerCase(Locale.ROOT);
+            for (Map.Entry<String, int[]> e : tf.entrySet()) {
+                terms.computeIfAbsent(e.getKey(), k -> new Postings()).add(doc, e.getValue()[0]);
+            }
+            docByJobId.put(j.id, doc);
+            liveDocs++;
+            totalLen += len;
+        }
+
+        private void removeLocked(int jobId) {
+            int doc = docByJobId.remove(jobId);
+            if (doc < 0) return;
+            deleted.set(doc);
+            liveDocs--;
+            totalLen -= docLens[doc];
+        }
+
+        // Drops tombstoned docs from every postings list and renumbers the survivors
+        private void compactLocked() {
+            int[] remap = new int[docCount];
+            int next = 0;
+            for (int d = 0; d < docCount; d++) {
+                if (deleted.get(d)) { remap[d] = -1; continue; }
+                remap[d] = next;
+                jobIds[next] = jobIds[d];
+                docLens[next] = docLens[d];
+                employerIds[next] = employerIds[d];
+                salaries[next] = salaries[d];
+                titles[next] = titles[d];
+                employerNames[next] = employerNames[d];
+                locations[next] = locations[d];
+                locationsLower[next] = locationsLower[d];
+                next++;
+            }
+            Arrays.fill(titles, next, docCount, null);
+            Arrays.fill(employerNames, next, docCount, null);
+            Arrays.fill(locations, next, docCount, null);
+            Arrays.fill(locationsLower, next, docCount, null);
+            Iterator<Postings> it = terms.values().iterator();
+            while (it.hasNext()) {
+                Postings p = it.next();
+                int w = 0;
+                for (int i = 0; i < p.size; i++) {
+                    int nd = remap[p.docs[i]];
+                    if (nd < 0) continue;
+                    p.docs[w] = nd;
+                    p.tfs[w] = p.tfs[i];
+                    w++;
+                }
+                p.size = w;
+                if (w == 0) it.remove();
+            }
+            docCount = next;
+            deleted.clear();
+            docByJobId.clear();
+            for (int d = 0; d < docCount; d++) docByJobId.put(jobIds[d], d);
+        }
+
+        private void ensureCapacity(int n) {
+            if (n <= jobIds.length) return;
+            int cap = Math.max(n, jobIds.length * 2);
+            jobIds = Arrays.copyOf(jobIds, cap);
+            docLens = Arrays.copyOf(docLens, cap);
+            employerIds = Arrays.copyOf(employerIds, cap);
+            salaries = Arrays.copyOf(salaries, cap);
+            titles = Arrays.copyOf(titles, cap);
+            employerNames = Arrays.copyOf(employerNames, cap);
+            locations = Arrays.copyOf(locations, cap);
+            locationsLower = Arrays.copyOf(locationsLower, cap);
+        }
+
+        private static int countTokens(String text, int weight, Map<String, int[]> tf) {
+            if (text == null) return 0;
+            int n = 0;
+            for (String t : tokenize(text)) {
+                tf.computeIfAbsent(t, k -> new int[1])[0] += weight;
+                n += weight;
+            }
+            return n;
+        }
+
+        static List<String> tokenize(String text) {
+            List<String> out = new ArrayList<>();
+            int start = -1;
+            for (int i = 0; i <= text.length(); i++) {
+                boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+                if (word && start < 0) start = i;
+                else if (!word && start >= 0) {
+                    out.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                    start = -1;
+                }
+            }
+            return out;
+        }
+
+        // Rows [offset, offset + limit) of the ranked results. Equal scores rank the newer job
+        // first, so the pages of one query line up; a job indexed in between shifts them.
+        JobPage page(JobSearchCriteria criteria, int offset, int limit) {
+            List<JobSummary> rows = search(criteria, offset, limit + 1);
+            boolean more = rows.size() > limit;
+            if (more) rows.remove(limit);
+            return new JobPage(rows, more ? offset + limit : 0, true);
+        }
+
+        // Every match, best first (CSV export)
+        int[] matchingIds(JobSearchCriteria criteria) {
+            List<JobSummary> rows = search(criteria, 0, Integer.MAX_VALUE);
+            int[] ids = new int[rows.size()];
+            for (int i = 0; i < ids.length; i++) ids[i] = rows.get(i).id;
+            return ids;
+        }
+
+        // Query syntax: whitespace-separated terms are ANDed; "OR" separates alternative
+        // groups ("java spring OR kotlin"). Docs matching any group and passing the
+        // location / min salary filters are ranked by BM25 over the distinct query terms.
+        // Returns up to k results after skipping the best `skip`.
+        List<JobSummary> search(JobSearchCriteria criteria, int skip, int k) {
+            List<List<String>> groups = new ArrayList<>();
+            List<String> group = new ArrayList<>();
+            for (String raw : criteria.keyword.trim().split("\\s+")) {
+                if (raw.equals("OR")) {
+                    if (!group.isEmpty()) groups.add(group);
+                    group = new ArrayList<>();
+                } else {
+                    group.addAll(tokenize(raw));
+                }
+            }
+            if (!group.isEmpty()) groups.add(group);
+            if (groups.isEmpty() || k <= 0) return new ArrayList<>();
+
+            String loc = criteria.location.toLowerCase(Locale.ROOT);
+            lock.readLock().lock();
+            try {
+                int keep = (int) Math.min((long) skip + k, liveDocs);
+                if (keep <= skip) return new ArrayList<>();
+                TopK top = new TopK(keep);
+                float avgLen = liveDocs == 0 ? 1f : (float) totalLen / liveDocs;
+                if (groups.size() == 1) {
+                    collectConjunction(groups.get(0), criteria.minSalary, loc, avgLen, top);
+                } else {
+                    collectDisjunction(groups, criteria.minSalary, loc, avgLen, top);
+                }
+                int[] docs = top.sortedDocs();
+                List<JobSummary> out = new ArrayList<>(Math.max(0, docs.length - skip));
+                for (int i = skip; i < docs.length; i++) {
+                    int d = docs[i];
+                    JobSummary j = new JobSummary();
+                    j.id = jobIds[d];
+                    j.title = titles[d];
+                    j.location = locations[d];
+                    j.salary = salaries[d];
+                    j.employerId = employerIds[d];
+                    j.employerName = employerNames[d];
+                    out.add(j);
+                }
+                return out;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private boolean passesFilters(int d, double minSalary, String loc) {
+            if (deleted.get(d) || salaries[d] < minSalary) return false;
+            return loc.isEmpty() || locationsLower[d].contains(loc);
+        }
+
+        private float idf(Postings p) {
+            int df = Math.min(p.size, liveDocs);
+            return (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+        }
+
+        private float bm25(float idf, int tf, int doc, float avgLen) {
+            return idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLens[doc] / avgLen));
+        }
+
+        // Single AND group: document-at-a-time intersection, scored straight from the cursors
+        private void collectConjunction(List<String> group, double minSalary, String loc, float avgLen, TopK top) {
+            Set<String> distinct = new LinkedHashSet<>(group);
+            Postings[] lists = new Postings[distinct.size()];
+            int n = 0;
+            for (String t : distinct) {
+                Postings p = terms.get(t);
+                if (p == null) return;
+                lists[n++] = p;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+            float[] idfs = new float[lists.length];
+            for (int i = 0; i < lists.length; i++) idfs[i] = idf(lists[i]);
+            int[] cursor = new int[lists.length];
+            Postings lead = lists[0];
+            outer:
+            for (int i = 0; i < lead.size; i++) {
+                int d = lead.docs[i];
+                for (int l = 1; l < lists.length; l++) {
+                    Postings p = lists[l];
+                    int c = advance(p.docs, cursor[l], p.size, d);
+                    cursor[l] = c;
+                    if (c == p.size) break outer;
+                    if (p.docs[c] != d) continue outer;
+                }
+                if (!passesFilters(d, minSalary, loc)) continue;
+                float score = bm25(idfs[0], lead.tfs[i], d, avgLen);
+                for (int l = 1; l < lists.length; l++) score += bm25(idfs[l], lists[l].tfs[cursor[l]], d, avgLen);
+                top.offer(d, score);
+            }
+        }
+
+        // OR of AND groups: mark every doc that satisfies some group, then score those
+        // term-at-a-time over all distinct query terms
+        private void collectDisjunction(List<List<String>> groups, double minSalary, String loc, float avgLen, TopK top) {
+            BitSet matched = new BitSet(docCount);
+            Set<String> distinct = new LinkedHashSet<>();
+            for (List<String> g : groups) {
+                matchAll(g, matched);
+                distinct.addAll(g);
+            }
+            for (int d = matched.nextSetBit(0); d >= 0; d = matched.nextSetBit(d + 1)) {
+                if (!passesFilters(d, minSalary, loc)) matched.clear(d);
+            }
+            if (matched.isEmpty()) return;
+            float[] scores = new float[docCount];
+            for (String term : distinct) {
+                Postings p = terms.get(term);
+                if (p == null) continue;
+                float idf = idf(p);
+                for (int i = 0; i < p.size; i++) {
+                    int d = p.docs[i];
+                    if (matched.get(d)) scores[d] += bm25(idf, p.tfs[i], d, avgLen);
+                }
+            }
+            for (int d = matched.nextSetBit(0); d >= 0; d = matched.nextSetBit(d + 1)) top.offer(d, scores[d]);
+        }
+
+        // Fixed-size min-heap of (doc, score) on primitive arrays
+        private static final class TopK {
+            final int[] docs;
+            final float[] scores;
+            int size;
+
+            TopK(int k) {
+                docs = new int[k];
+                scores = new float[k];
+            }
+
+            // Ties go to the higher (newer) doc, so the order is total and a larger k only
+            // appends to a smaller one's results
+            private static boolean below(float score, int doc, float than, int thanDoc) {
+                return score < than || (score == than && doc < thanDoc);
+            }
+
+            void offer(int doc, float score) {
+                if (size < docs.length) {
+                    int i = size++;
+                    while (i > 0) {
+                        int parent = (i - 1) >>> 1;
+                        if (!below(score, doc, scores[parent], docs[parent])) break;
+                        docs[i] = docs[parent];
+                        scores[i] = scores[parent];
+                        i = parent;
+                    }
+                    docs[i] = doc;
+                    scores[i] = score;
+                } else if (below(scores[0], docs[0], score, doc)) {
+                    siftDown(doc, score, size);
+                }
+            }
+
+            private void siftDown(int doc, float score, int n) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= n) break;
+                    if (child + 1 < n && below(scores[child + 1], docs[child + 1], scores[child], docs[child])) child++;
+                    if (below(score, doc, scores[child], docs[child])) break;
+                    docs[i] = docs[child];
+                    scores[i] = scores[child];
+                    i = child;
+                }
+                docs[i] = doc;
+                scores[i] = score;
+            }
+
+            // Drains the heap, best match first
+            int[] sortedDocs() {
+                int[] out = new int[size];
+                for (int n = size; n > 0; n--) {
+                    out[n - 1] = docs[0];
+                    int lastDoc = docs[n - 1];
+                    float lastScore = scores[n - 1];
+                    siftDown(lastDoc, lastScore, n - 1);
+                }
+                size = 0;
+                return out;
+            }
+        }
+
+        // ORs into `out` every doc containing all terms, intersecting from the rarest list
+        private void matchAll(List<String> group, BitSet out) {
+            Postings[] lists = new Postings[group.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = terms.get(group.get(i));
+                if (lists[i] == null) return;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+            int[] cursor = new int[lists.length];
+            outer:
+            for (int i = 0; i < lists[0].size; i++) {
+                int d = lists[0].docs[i];
+                for (int l = 1; l < lists.length; l++) {
+                    Postings p = lists[l];
+                    int c = advance(p.docs, cursor[l], p.size, d);
+                    cursor[l] = c;
+                    if (c == p.size) break outer;
+                    if (p.docs[c] != d) continue outer;
+                }
+                out.set(d);
+            }
+        }
+
+        // Galloping search for the first position >= target
+        private static int advance(int[] docs, int from, int size, int target) {
+            if (from >= size || docs[from] >= target) return from;
+            int step = 1, lo = from, hi = from + 1;
+            while (hi < size && docs[hi] < target) {
+                lo = hi;
+                hi += step;
+                step <<= 1;
+            }
+            int idx = Arrays.binarySearch(docs, lo, Math.min(hi, size), target);
+            return idx >= 0 ? idx : -idx - 1;
+        }
+    }
+
+    // ====== SCHEMA MIGRATIONS ======
+    // Ordered, checksummed schema steps recorded in schema_version. Online steps (index
+    // builds, column changes that rebuild a table) are deferred to a background thread so
+    // they never hold up the first login; code that needs one checks isApplied first and
+    // falls back until it is.
+    // Every step must be safe to run again after an interrupted run: DDL left behind is
+    // tolerated by SchemaMigrator.apply, and a step that reads a column a later step drops is
+    // guarded with onlyWhileColumnExists.
+    static class Migration {
+        final int version;
+        final String description;
+        final boolean online;
+        final String[] statements;
+        private final Set<String> formerChecksums = new HashSet<>();
+        private String guardTable, guardColumn;
+
+        Migration(int version, String description, boolean online, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.online = online;
+            this.statements = statements;
+        }
+
+        // A checksum an earlier release of this step recorded; databases migrated by it still match
+        Migration formerly(String checksum) {
+            formerChecksums.add(checksum);
+            return this;
+        }
+
+        // Runs only while table.column exists, and is recorded as applied either way
+        Migration onlyWhileColumnExists(String table, String column) {
+            guardTable = table;
+            guardColumn = column;
+            return this;
+        }
+
+        boolean matches(String recorded) { return checksum().equals(recorded) || formerChecksums.contains(recorded); }
+
+        String checksum() {
+            try {
+                MessageDigest md = MessageDigest.getInstance("SHA-256");
+                md.update((version + "|" + description).getBytes(StandardCharsets.UTF_8));
+                for (String st : statements) md.update(("|" + st).getBytes(StandardCharsets.UTF_8));
+                StringBuilder hex = new StringBuilder();
+                for (byte b : md.digest()) hex.append(String.format("%02x", b));
+                return hex.toString();
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    static final List<Migration> MIGRATIONS = Arrays.asList(
+        new Migration(1, "baseline tables", false,
+            "CREATE TABLE IF NOT EXISTS users (" +
+                "id INT AUTO_INCREMENT PRIMARY KEY," +
+                "name VARCHAR(255) NOT NULL," +
+                "email VARCHAR(255) NOT NULL UNIQUE," +
+                "password VARCHAR(255) NOT NULL," +
+                "role VARCHAR(50) NOT NULL," +
+                "company VARCHAR(255)," +
+                "resume TEXT" +
+            ") ENGINE=InnoDB",
+            "CREATE TABLE IF NOT EXISTS jobs (" +
+                "id INT AUTO_INCREMENT PRIMARY KEY," +
+                "title VARCHAR(255) NOT NULL," +
+                "description TEXT," +
+                "location VARCHAR(255)," +
+                "salary DOUBLE," +
+                "employer_id INT," +
+                "FOREIGN KEY (employer_id) REFERENCES users(id) ON DELETE SET NULL" +
+            ") ENGINE=InnoDB",
+            "CREATE TABLE IF NOT EXISTS applications (" +
+                "id INT AUTO_INCREMENT PRIMARY KEY," +
+                "job_id INT," +
+                "seeker_id INT," +
+                "status VARCHAR(50)," +
+                "FOREIGN KEY (job_id) REFERENCES jobs(id) ON DELETE CASCADE," +
+                "FOREIGN KEY (seeker_id) REFERENCES users(id) ON DELETE CASCADE" +
+            ") ENGINE=InnoDB"),
+        // findUserByEmail is already served by the UNIQUE key on users.email
+        new Migration(2, "indexes for application and employer listings", true,
+            "ALTER TABLE applications ADD INDEX idx_applications_seeker_job (seeker_id, job_id), ALGORITHM=INPLACE, LOCK=NONE",
+            "ALTER TABLE applications ADD INDEX idx_applications_job_status (job_id, status), ALGORITHM=INPLACE, LOCK=NONE",
+            "ALTER TABLE jobs ADD INDEX idx_jobs_employer_id (employer_id, id), ALGORITHM=INPLACE, LOCK=NONE"),
+        // InnoDB cannot add a FULLTEXT index with LOCK=NONE; SHARED still lets readers through
+        new Migration(3, "full-text index for job search", true,
+            "ALTER TABLE jobs ADD FULLTEXT INDEX ft_jobs_title_description (title, description), ALGORITHM=INPLACE, LOCK=SHARED"),
+        // One application per seeker and job. Existing duplicates keep their oldest row;
+        // the key leads with job_id, so it also covers the job_id foreign key.
+        new Migration(4, "unique application per job and seeker", false,
+            "DELETE a FROM applications a JOIN applications b " +
+                "ON a.job_id = b.job_id AND a.seeker_id = b.seeker_id AND a.id > b.id",
+            "ALTER TABLE applications ADD UNIQUE INDEX uq_applications_job_seeker (job_id, seeker_id), ALGORITHM=INPLACE, LOCK=NONE"),
+        // Resumes leave the users rows for the document store. The backfill stores them
+        // uncompressed (codec 0) under the same SHA-256 DocumentStore computes in Java, which
+        // is over UTF-8: the column is converted first, since it may be latin1 or another
+        // charset. Bodies written from now on are deflated. The old column is dropped later,
+        // by V10. The first release dropped it here, as the last step: a database it stopped
+        // after the drop has everything else, so the step is skipped there.
+        new Migration(5, "resumes move to the document store", false,
+            "CREATE TABLE IF NOT EXISTS documents (" +
+                "hash BINARY(32) PRIMARY KEY," +
+                "codec TINYINT NOT NULL," +
+                "raw_length INT NOT NULL," +
+                "body MEDIUMBLOB NOT NULL," +
+                "touched_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP" +
+            ") ENGINE=InnoDB",
+            "ALTER TABLE users ADD COLUMN resume_doc BINARY(32) NULL",
+            "ALTER TABLE users ADD INDEX idx_users_resume_doc (resume_doc)",
+            "INSERT IGNORE INTO documents (hash, codec, raw_length, body) " +
+                "SELECT UNHEX(SHA2(CONVERT(resume USING utf8mb4), 256)), 0, OCTET_LENGTH(CONVERT(resume USING utf8mb4)), " +
+                "CONVERT(resume USING utf8mb4) FROM users WHERE resume IS NOT NULL",
+            "UPDATE users SET resume_doc = UNHEX(SHA2(CONVERT(resume USING utf8mb4), 256)) WHERE resume IS NOT NULL AND resume_doc IS NULL")
+            .onlyWhileColumnExists("users", "resume")
+            .formerly("8d98730f251791bee62da3322ebcf244d33cc33a15aa35bc65ebceee53cec7c6")
+            .formerly("e0d39f4ae20ece0caf87995e05d09618ef7ab66e326e5c04a8fd55a1a28f156d"),
+        // Delta refresh: deletes leave a tombstone, written by the DAO in the deleting
+        // transaction (foreign key cascades skip triggers). The DAOs write it from the start, so
+        // this part is offline; it is one small CREATE. (The first release also added the
+        // updated_at columns here, now V7.)
+        new Migration(6, "row tombstones", false,
+            "CREATE TABLE IF NOT EXISTS row_tombstones (" +
+                "entity CHAR(1) NOT NULL," +
+                "row_id INT NOT NULL," +
+                "deleted_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6)," +
+                "PRIMARY KEY (entity, row_id)," +
+                "INDEX idx_row_tombstones_deleted (entity, deleted_at)" +
+            ") ENGINE=InnoDB")
+            .formerly("5685a83ab49ae911fe46471737a074a567cddddb10f509a2e1430f7cc5526358"),
+        // MySQL stamps every insert and update. A non-constant default rebuilds each table, so
+        // this runs online; until it is applied the delta reads answer "resync" and callers
+        // reload in full. Existing rows all get the migration time. (The first release had
+        // only the indexes here.)
+        new Migration(7, "row change times for delta refresh", true,
+            "ALTER TABLE users ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6), ALGORITHM=INPLACE, LOCK=NONE",
+            "ALTER TABLE jobs ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6), ALGORITHM=INPLACE, LOCK=NONE",
+            "ALTER TABLE applications ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6), ALGORITHM=INPLACE, LOCK=NONE",
+            "ALTER TABLE users ADD INDEX idx_users_updated_at (updated_at), ALGORITHM=INPLACE, LOCK=NONE",
+            "ALTER TABLE jobs ADD INDEX idx_jobs_updated_at (updated_at), ALGORITHM=INPLACE, LOCK=NONE",
+            "ALTER TABLE applications ADD INDEX idx_applications_updated_at (updated_at), ALGORITHM=INPLACE, LOCK=NONE")
+            .formerly("541b070d3f76734dd00717933144019420d40dc6c608af2fbbc84dcdaed0b27a"),
+        // Users per role, kept by insertUser / deleteUserById in their transactions, so the
+        // admin user browser's totals are a read of a handful of rows
+        new Migration(8, "user counts per role", false,
+            "CREATE TABLE IF NOT EXISTS user_counts (" +
+                "role VARCHAR(50) PRIMARY KEY," +
+                "n BIGINT NOT NULL" +
+            ") ENGINE=InnoDB",
+            "REPLACE INTO user_counts (role, n) SELECT role, COUNT(*) FROM users GROUP BY role"),
+        // One index per admin user browser sort, with and without a role filter; email and id
+        // are covered by the unique key and the primary key
+        new Migration(9, "indexes for the admin user browser", true,
+            "ALTER TABLE users ADD INDEX idx_users_name (name, id), ALGORITHM=INPLACE, LOCK=NONE",
+            "ALTER TABLE users ADD INDEX idx_users_role_id (role, id), ALGORITHM=INPLACE, LOCK=NONE",
+            "ALTER TABLE users ADD INDEX idx_users_role_name (role, name, id), ALGORITHM=INPLACE, LOCK=NONE",
+            "ALTER TABLE users ADD INDEX idx_users_role_email (role, email), ALGORITHM=INPLACE, LOCK=NONE"),
+        // Retires users.resume after V5. Resumes an instance still on the old code saved in the
+        // meantime are backfilled first, converted to UTF-8 as in V5. So are the rows the first
+        // V5 backfill hashed in the column's own charset: their resume_doc is still the hash of
+        // those raw bytes, which differs from the UTF-8 one only where a latin1 (or similar)
+        // resume has non-ASCII text. A resume saved since then has a UTF-8 hash and is left
+        // alone; the documents nothing points to any more go with the orphan purge. The drop
+        // is the last step, so a run it interrupts is either repeated whole or, once the column
+        // is gone, just recorded.
+        new Migration(10, "drop the legacy resume column", true,
+            "INSERT IGNORE INTO documents (hash, codec, raw_length, body) " +
+                "SELECT UNHEX(SHA2(CONVERT(resume USING utf8mb4), 256)), 0, OCTET_LENGTH(CONVERT(resume USING utf8mb4)), " +
+                "CONVERT(resume USING utf8mb4) FROM users " +
+                "WHERE resume IS NOT NULL AND (resume_doc IS NULL OR resume_doc = UNHEX(SHA2(resume, 256)))",
+            "UPDATE users SET resume_doc = UNHEX(SHA2(CONVERT(resume USING utf8mb4), 256)) " +
+                "WHERE resume IS NOT NULL AND (resume_doc IS NULL OR resume_doc = UNHEX(SHA2(resume, 256)))",
+            "ALTER TABLE users DROP COLUMN resume, ALGORITHM=INPLACE, LOCK=NONE")
+            .onlyWhileColumnExists("users", "resume")
+            .formerly("d536e92bc4a6531abb751c0eea8471bd8e31422970d130fd3a70e99f091d6953")
+    );
+
+    static class SchemaMigrator {
+        private static final int ER_DUP_KEYNAME = 1061;
+        private static final int ER_DUP_FIELDNAME = 1060;
+        private static final int ER_CANT_DROP_FIELD_OR_KEY = 1091;
+        private static final String LOCK_NAME = "job_portal_schema_migrations";
+
+        private final DatabaseManager dbm;
+        private final List<Migration> migrations;
+        private final Set<Integer> applied = ConcurrentHashMap.newKeySet();
+        private final List<Migration> pendingOnline = new ArrayList<>();
+
+        SchemaMigrator(DatabaseManager dbm, List<Migration> migrations) {
+            this.dbm = dbm;
+            this.migrations = migrations;
+        }
+
+        // Applies pending offline steps in order and queues the online ones
+        void migrate() throws SQLException {
+            try (Connection c = dbm.getConnection()) {
+                if (isCurrent(c)) return;
+                try (Statement st = c.createStatement()) {
+                    st.executeUpdate(
+                        "CREATE TABLE IF NOT EXISTS schema_version (" +
+                            "version INT PRIMARY KEY," +
+                            "description VARCHAR(255) NOT NULL," +
+                            "checksum CHAR(64) NOT NULL," +
+                            "execution_ms BIGINT NOT NULL," +
+                            "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP" +
+                        ") ENGINE=InnoDB"
+                    );
+                }
+                withLock(c, () -> {
+                    Map<Integer, String> recorded = readApplied(c);
+                    for (Migration m : migrations) {
+                        String sum = recorded.get(m.version);
+                        if (sum != null) {
+                            if (!m.matches(sum)) {
+                                throw new SQLException("Checksum mismatch for applied migration V" + m.version + " (" + m.description + ")");
+                            }
+                            applied.add(m.version);
+                        } else if (m.online) {
+                            pendingOnline.add(m);
+                        } else {
+                            apply(c, m);
+                        }
+                    }
+                });
+            }
+        }
+
+        // Runs the deferred index builds; safe to call from a background thread
+        void completeOnline() throws SQLException {
+            if (pendingOnline.isEmpty()) return;
+            try (Connection c = dbm.getConnection()) {
+                withLock(c, () -> {
+                    Map<Integer, String> recorded = readApplied(c);
+                    for (Migration m : pendingOnline) {
+                        if (recorded.containsKey(m.version)) applied.add(m.version); // another instance got there first
+                        else apply(c, m);
+                    }
+                });
+            }
+            pendingOnline.clear();
+        }
+
+        boolean isApplied(int version) { return applied.contains(version); }
+
+        // Every step already recorded with a matching checksum: one SELECT, no DDL, no lock.
+        // Anything else (a missing schema_version table included) takes the full path.
+        private boolean isCurrent(Connection c) {
+            Map<Integer, String> recorded;
+            try {
+                recorded = readApplied(c);
+            } catch (SQLException ex) {
+                return false;
+            }
+            for (Migration m : migrations) {
+                if (!m.matches(recorded.get(m.version))) return false;
+            }
+            for (Migration m : migrations) applied.add(m.version);
+            return true;
+        }
+
+        private void apply(Connection c, Migration m) throws SQLException {
+            long start = System.nanoTime();
+            boolean skip = m.guardTable != null && !columnExists(c, m.guardTable, m.guardColumn);
+            try (Statement st = c.createStatement()) {
+                for (String sql : skip ? new String[0] : m.statements) {
+                    try {
+                        st.executeUpdate(sql);
+                    } catch (SQLException ex) {
+                        // an index or column change left behind by an interrupted earlier run counts as done
+                        int code = ex.getErrorCode();
+                        if (code != ER_DUP_KEYNAME && code != ER_DUP_FIELDNAME && code != ER_CANT_DROP_FIELD_OR_KEY) throw ex;
+                    }
+                }
+            }
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            try (PreparedStatement ps = c.prepareStatement(
+                    "INSERT INTO schema_version (version, description, checksum, execution_ms) VALUES (?,?,?,?)")) {
+                ps.setInt(1, m.version);
+                ps.setString(2, m.description);
+                ps.setString(3, m.checksum());
+                ps.setLong(4, ms);
+                ps.executeUpdate();
+            }
+            applied.add(m.version);
+            System.out.println(skip ? "Recorded schema migration V" + m.version + " (" + m.description + "): " + m.guardTable + "." + m.guardColumn + " is gone"
+                                    : "Applied schema migration V" + m.version + " (" + m.description + ") in " + ms + "ms");
+        }
+
+        private static boolean columnExists(Connection c, String table, String column) throws SQLException {
+            try (PreparedStatement ps = c.prepareStatement(
+                    "SELECT 1 FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?")) {
+                ps.setString(1, table);
+                ps.setString(2, column);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next();
+                }
+            }
+        }
+
+        private static Map<Integer, String> readApplied(Connection c) throws SQLException {
+            Map<Integer, String> out = new HashMap<>();
+            try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("SELECT version, checksum FROM schema_version")) {
+                while (rs.next()) out.put(rs.getInt(1), rs.getString(2));
+            }
+            return out;
+        }
+
+        private interface SqlBlock { void run() throws SQLException; }
+
+        // Serialises migrations across app instances sharing the database
+        private static void withLock(Connection c, SqlBlock body) throws SQLException {
+            try (PreparedStatement ps = c.prepareStatement("SELECT GET_LOCK(?, 60)")) {
+                ps.setString(1, LOCK_NAME);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next() || rs.getInt(1) != 1) throw new SQLException("Could not acquire schema migration lock");
+                }
+            }
+            try {
+                body.run();
+            } finally {
+                try (PreparedStatement ps = c.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    ps.setString(1, LOCK_NAME);
+                    ps.executeQuery().close();
+                }
+            }
+        }
+    }
+
+    // ====== OPERATION METRICS ======
+    // Log-linear latency histogram in microseconds, HdrHistogram-style: 16 sub-buckets per
+    // power of two, so a reported percentile is within 1/16 (6.25%) of the true value, from
+    // 1 microsecond up to ~19 hours. Recording is a handful of atomic adds into preallocated
+    // arrays and never allocates; readers take a snapshot.
+    static class LatencyHistogram {
+        private static final int SUB_BITS = 4;
+        private static final int SUB_COUNT = 1 << SUB_BITS;
+        private static final int MAX_EXP = 36;
+        static final long MAX_VALUE = (1L << (MAX_EXP + 1)) - 1;
+        static final int BUCKETS = (MAX_EXP - SUB_BITS + 2) * SUB_COUNT;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long micros) {
+            long v = Math.max(0, Math.min(micros, MAX_VALUE));
+            counts.incrementAndGet(index(v));
+            total.incrementAndGet();
+            sum.addAndGet(v);
+            long m;
+            while (v > (m = max.get()) && !max.compareAndSet(m, v)) { }
+        }
+
+        static int index(long v) {
+            if (v < 2 * SUB_COUNT) return (int) v;
+            int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+            return (shift + 1) * SUB_COUNT + (int) (v >>> shift) - SUB_COUNT;
+        }
+
+        // Largest value that lands in the bucket
+        static long highestValue(int index) {
+            if (index < 2 * SUB_COUNT) return index;
+            int shift = index / SUB_COUNT - 1;
+            return ((long) (index % SUB_COUNT + SUB_COUNT + 1) << shift) - 1;
+        }
+
+        long count() { return total.get(); }
+
+        long max() { return max.get(); }
+
+        Snapshot snapshot() {
+            long[] c = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) c[i] = counts.get(i);
+            return new Snapshot(c, total.get(), sum.get(), max.get());
+        }
+
+        static class Snapshot {
+            final long[] counts;
+            final long count, sum, max;
+
+            Snapshot(long[] counts, long count, long sum, long max) {
+                this.counts = counts;
+                this.count = count;
+                this.sum = sum;
+                this.max = max;
+            }
+
+            double mean() { return count == 0 ? 0 : (double) sum / count; }
+
+            // Upper bound of the bucket holding the q-quantile, capped at the recorded max
+            long percentile(double q) {
+                long seen = 0, rank = Math.max(1, (long) Math.ceil(q * count));
+                for (int i = 0; i < counts.length; i++) {
+                    seen += counts[i];
+                    if (seen >= rank) return Math.min(highestValue(i), max);
+                }
+                return max;
+            }
+        }
+    }
+
+    // JMX view of one storage operation, registered as jobportal:type=StoreOperation,name=<op>
+    public interface StoreOperationMXBean {
+        String getOperation();
+        long getCalls();
+        long getErrors();
+        long getRows();
+        double getMeanMillis();
+        double getP50Millis();
+        double getP99Millis();
+        double getMaxMillis();
+    }
+
+    static class OperationStats implements StoreOperationMXBean {
+        final int id;
+        final String name;
+        final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong rows = new AtomicLong();
+
+        OperationStats(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        // rowCount < 0 means the call threw: timed, and counted as an error
+        void record(long startNanos, long rowCount) {
+            latency.record((System.nanoTime() - startNanos) / 1_000);
+            if (rowCount < 0) errors.incrementAndGet();
+            else if (rowCount > 0) rows.addAndGet(rowCount);
+        }
+
+        void recordError() { errors.incrementAndGet(); }
+
+        OperationSnapshot snapshot() {
+            LatencyHistogram.Snapshot h = latency.snapshot();
+            return new OperationSnapshot(id, name, h.count, errors.get(), rows.get(),
+                    h.mean() / 1_000.0, h.percentile(0.50) / 1_000.0, h.percentile(0.99) / 1_000.0, h.max / 1_000.0);
+        }
+
+        public String getOperation() { return name; }
+        public long getCalls() { return latency.count(); }
+        public long getErrors() { return errors.get(); }
+        public long getRows() { return rows.get(); }
+        public double getMeanMillis() { return latency.snapshot().mean() / 1_000.0; }
+        public double getP50Millis() { return latency.snapshot().percentile(0.50) / 1_000.0; }
+        public double getP99Millis() { return latency.snapshot().percentile(0.99) / 1_000.0; }
+        public double getMaxMillis() { return latency.max() / 1_000.0; }
+    }
+
+    // Point-in-time numbers for one operation, latencies in milliseconds
+    static class OperationSnapshot {
+        final int id;
+        final String operation;
+        final long calls, errors, rows;
+        final double meanMillis, p50Millis, p99Millis, maxMillis;
+
+        OperationSnapshot(int id, String operation, long calls, long errors, long rows,
+                          double meanMillis, double p50Millis, double p99Millis, double maxMillis) {
+            this.id = id;
+            this.operation = operation;
+            this.calls = calls;
+            this.errors = errors;
+            this.rows = rows;
+            this.meanMillis = meanMillis;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+    }
+
+    // One entry per PortalStore operation, plus DatabaseManager's background purges;
+    // InstrumentedStore times the store operations and DatabaseManager counts the failures
+    // it reports instead of throwing
+    enum StoreOp {
+        FIND_USER_BY_EMAIL("findUserByEmail", QueryClass.LOOKUP),
+        FIND_USER_BY_ID("findUserById", QueryClass.LOOKUP),
+        FIND_RESUME("findResume", QueryClass.LOOKUP),
+        INSERT_USER("insertUser", QueryClass.WRITE),
+        UPDATE_USER("updateUser", QueryClass.WRITE),
+        DELETE_USER_BY_ID("deleteUserById", QueryClass.WRITE),
+        GET_ALL_USERS("getAllUsers", QueryClass.LISTING),
+        COUNT_USERS("countUsers", QueryClass.LISTING),
+        GET_USERS_BLOCK("getUsersBlock", QueryClass.LISTING),
+        INSERT_JOB("insertJob", QueryClass.WRITE),
+        INSERT_JOBS_BATCH("insertJobsBatch", QueryClass.WRITE),
+        DELETE_JOB_BY_ID("deleteJobById", QueryClass.WRITE),
+        FIND_JOB_BY_ID("findJobById", QueryClass.LOOKUP),
+        FIND_JOB_DESCRIPTION("findJobDescription", QueryClass.LOOKUP),
+        GET_ALL_JOBS("getAllJobs", QueryClass.LISTING),
+        GET_ALL_JOB_DOCUMENTS("getAllJobDocuments", QueryClass.LISTING),
+        COUNT_JOBS("countJobs", QueryClass.LISTING),
+        GET_JOBS_BLOCK("getJobsBlock", QueryClass.LISTING),
+        SEARCH_JOBS("searchJobs", QueryClass.LISTING),
+        GET_JOBS_BY_EMPLOYER("getJobsByEmployer", QueryClass.LISTING),
+        APPLY_TO_JOB("applyToJob", QueryClass.WRITE),
+        GET_APPLICATIONS_FOR_EMPLOYER("getApplicationsForEmployer", QueryClass.LISTING),
+        GET_APPLICATIONS_FOR_SEEKER("getApplicationsForSeeker", QueryClass.LISTING),
+        FIND_APPLICATION_VIEW("findApplicationView", QueryClass.LOOKUP),
+        UPDATE_APPLICATION_STATUS("updateApplicationStatus", QueryClass.WRITE),
+        FLUSH_WRITES("flushWrites", QueryClass.WRITE),
+        CHANGE_WATERMARK("changeWatermark", QueryClass.LOOKUP),
+        GET_JOB_CHANGES("getJobChanges", QueryClass.LISTING),
+        GET_APPLICATION_CHANGES_FOR_EMPLOYER("getApplicationChangesForEmployer", QueryClass.LISTING),
+        EXPORT_JOBS("exportJobs", QueryClass.LISTING),
+        EXPORT_EMPLOYER_JOBS("exportEmployerJobs", QueryClass.LISTING),
+        EXPORT_APPLICATIONS_FOR_SEEKER("exportApplicationsForSeeker", QueryClass.LISTING),
+        PURGE_DOCUMENTS("purgeOrphanDocuments", QueryClass.WRITE),
+        PURGE_TOMBSTONES("purgeTombstones", QueryClass.WRITE);
+
+        final OperationStats stats;
+        final QueryClass queryClass;
+
+        StoreOp(String name, QueryClass queryClass) {
+            this.stats = new OperationStats(ordinal(), name);
+            this.queryClass = queryClass;
+        }
+
+        static List<OperationSnapshot> snapshotAll() {
+            List<OperationSnapshot> out = new ArrayList<>();
+            for (StoreOp op : values()) out.add(op.stats.snapshot());
+            return out;
+        }
+
+        static void registerMBeans() {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            for (StoreOp op : values()) {
+                try {
+                    ObjectName name = new ObjectName("jobportal:type=StoreOperation,name=" + op.stats.name);
+                    if (!server.isRegistered(name)) server.registerMBean(op.stats, name);
+                } catch (JMException ex) {
+                    System.err.println("Could not register MBean for " + op.stats.name + ": " + ex.getMessage());
+                }
+            }
+        }
+    }
+
+    // ====== QUERY BUDGETS ======
+    // Every statement DatabaseManager runs gets the query timeout of its operation's class,
+    // so a stalled server costs a caller a bounded wait instead of a hung thread. Budgets are
+    // set per class with -Djobportal.timeout.lookup=5 (seconds), .listing and .write.
+    enum QueryClass {
+        LOOKUP(5), LISTING(30), WRITE(10);
+
+        final int timeoutSeconds;
+
+        QueryClass(int defaultSeconds) {
+            this.timeoutSeconds = Integer.getInteger("jobportal.timeout." + name().toLowerCase(Locale.ROOT), defaultSeconds);
+        }
+
+        static int longestSeconds() {
+            int max = 0;
+            for (QueryClass qc : values()) max = Math.max(max, qc.timeoutSeconds);
+            return max;
+        }
+    }
+
+    // A statement that ran out of its budget or was cancelled by its caller. Thrown through
+    // the store instead of the usual null/-1 so callers can tell "no row" from "no answer";
+    // neither is a database error, so no stack trace and no error dialog.
+    static class QueryAbortedException extends RuntimeException {
+        enum Reason { TIMEOUT, CANCELLED }
+
+        final Reason reason;
+        final StoreOp op;
+
+        QueryAbortedException(Reason reason, StoreOp op, Throwable cause) {
+            super(op.stats.name + (reason == Reason.TIMEOUT ? " timed out after " + op.queryClass.timeoutSeconds + "s" : " was cancelled"), cause);
+            this.reason = reason;
+            this.op = op;
+        }
+
+        // The typed form of a statement failure, or null when it is an ordinary error
+        static QueryAbortedException of(StoreOp op, SQLException ex) {
+            if (QueryCancel.isCancelled()) return new QueryAbortedException(Reason.CANCELLED, op, ex);
+            for (Throwable t = ex; t != null; t = t.getCause()) {
+                // server-side timeout (KILL QUERY), or the socket timeout backstop when even that got no answer
+                if (t instanceof SQLTimeoutException || t instanceof SocketTimeoutException) return new QueryAbortedException(Reason.TIMEOUT, op, ex);
+            }
+            return null;
+        }
+    }
+
+    // Lets another thread stop the statement a task is running. AsyncPortalService binds
+    // one to each task's worker thread; DatabaseManager registers every statement it
+    // executes there, and cancelling the task's future calls Statement.cancel() on it.
+    static class QueryCancel {
+        private static final ThreadLocal<QueryCancel> CURRENT = new ThreadLocal<>();
+        // The driver ignores a cancel that arrives before the statement reaches the server,
+        // so it is repeated while the same statement is still the one running
+        private static final int CANCEL_ATTEMPTS = 20;
+        private static final long CANCEL_RETRY_MILLIS = 50;
+        private volatile Statement running;
+        private volatile boolean cancelled;
+
+        <T> T call(Supplier<T> task) {
+            CURRENT.set(this);
+            try {
+                return task.get();
+            } finally {
+                CURRENT.remove();
+                running = null;
+            }
+        }
+
+        // Blocks on the server round trip (KILL QUERY on a second connection): not for the EDT
+        void cancel() {
+            cancelled = true;
+            for (int i = 0; i < CANCEL_ATTEMPTS; i++) {
+                Statement st = running;
+                if (st == null) return;
+                try { st.cancel(); } catch (SQLException ignored) {} // already finished or closed
+                try {
+                    Thread.sleep(CANCEL_RETRY_MILLIS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (running != st) return;
+            }
+        }
+
+        // Under a token the statement comes back wrapped, so that `running` is the statement
+        // whose execute call is in progress (a query stays running while its rows are read,
+        // until the statement is closed). `running` is set before `cancelled` is checked and
+        // cancel() does the reverse, so a cancel between prepare and execute is never lost.
+        static PreparedStatement track(PreparedStatement ps) {
+            QueryCancel token = CURRENT.get();
+            if (token == null) return ps;
+            InvocationHandler handler = (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "equals": return proxy == args[0];
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "executeQuery":
+                    case "executeUpdate":
+                    case "executeLargeUpdate":
+                    case "executeBatch":
+                    case "executeLargeBatch":
+                    case "execute": {
+                        token.running = ps;
+                        boolean done = false;
+                        try {
+                            if (token.cancelled) throw new SQLException("Cancelled before execution");
+                            Object result = m.invoke(ps, args);
+                            done = !m.getName().equals("executeQuery");
+                            return result;
+                        } catch (InvocationTargetException ex) {
+                            done = true;
+                            throw ex.getCause();
+                        } catch (SQLException ex) {
+                            done = true;
+                            throw ex;
+                        } finally {
+                            if (done && token.running == ps) token.running = null;
+                        }
+                    }
+                    case "close":
+                        if (token.running == ps) token.running = null;
+                        break;
+                    default:
+                        break;
+                }
+                try {
+                    return m.invoke(ps, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            };
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, handler);
+        }
+
+        static boolean isCancelled() {
+            QueryCancel token = CURRENT.get();
+            return token != null && token.cancelled;
+        }
+    }
+
+    // ====== STORAGE ENGINE ======
+    // Everything the service needs from persistence. DatabaseManager is the MySQL engine,
+    // InMemoryStore the embedded one (no server; load tests, benchmarks, latency baseline).
+    // Single-row methods report failures themselves and return -1 / null / false; batch
+    // inserts and exports throw so callers can report the failed chunk or file.
+    interface PortalStore {
+        void init() throws SQLException;
+        void shutdown();
+
+        // User reads return the account row without the resume; findResume loads it
+        User findUserByEmail(String email);
+        User findUserById(int id);
+        String findResume(int userId);
+        int insertUser(User u);
+        // The writes return false when nothing was written: no such row, or the store failed
+        boolean updateUser(User u); // leaves the stored resume alone unless u.resumeLoaded
+        boolean deleteUserById(int id);
+        List<UserSummary> getAllUsers();
+        // Admin user browser: `after` is the last row of the previous block (keyset on the
+        // sort key), else the block starts `offset` rows in
+        int countUsers(UserQuery query);
+        List<UserSummary> getUsersBlock(UserQuery query, int offset, UserSummary after, int limit);
+
+        int insertJob(Job j);
+        int[] insertJobsBatch(List<Job> jobs) throws SQLException;
+        boolean deleteJobById(int id);
+        JobSummary findJobById(int id);
+        String findJobDescription(int jobId);
+        List<JobSummary> getAllJobs();
+        List<Job> getAllJobDocuments(); // full rows, description included, for the search index
+        int countJobs();
+        List<JobSummary> getJobsBlock(int offset, int beforeId, int limit);
+        JobPage searchJobs(JobSearchCriteria criteria, int afterId, int limit);
+        JobPage getJobsByEmployer(int employerId, int afterId, int limit);
+
+        ApplyResult applyToJob(int jobId, int seekerId); // null when the job does not exist
+        ApplicationPage getApplicationsForEmployer(int employerId, int afterId, int limit);
+        ApplicationPage getApplicationsForSeeker(int seekerId, int afterId, int limit);
+        ApplicationView findApplicationView(int appId);
+        boolean updateApplicationStatus(int appId, String status);
+        // Write-behind drain: applies every write in the batch and fills in its outcome; throws
+        // (nothing applied) so the journal keeps the batch for a retry
+        void flushWrites(List<PendingWrite> writes) throws SQLException;
+
+        // Delta refresh. Take a watermark before the full read it goes with (-1 when the store
+        // could not answer); the change reads return null when the store could not answer
+        long changeWatermark();
+        ChangeSet<JobSummary> getJobChanges(long since);
+        ChangeSet<ApplicationView> getApplicationChangesForEmployer(int employerId, long since);
+
+        long exportJobs(JobSearchCriteria criteria, CsvExport out) throws SQLException, IOException;
+        long exportJobsById(int[] ids, CsvExport out) throws SQLException, IOException; // in the given order
+        long exportEmployerJobs(int employerId, CsvExport out) throws SQLException, IOException;
+        long exportApplicationsForSeeker(int seekerId, CsvExport out) throws SQLException, IOException;
+    }
+
+    // ====== DOCUMENT STORE ======
+    // Large text kept out of the hot rows. Bodies live in the documents table keyed by the
+    // SHA-256 of their UTF-8 bytes, so identical text is stored once and rows only carry the
+    // 32-byte hash. Bodies are deflated on the way in and inflated on the way out as streams.
+    // Documents no row points at any more are purged in the background after a grace period,
+    // which covers the gap between writing a document and the row that references it.
+    static class DocumentStore {
+        static final int CODEC_PLAIN = 0;
+        static final int CODEC_DEFLATE = 1;
+        static final int MIN_DEFLATE_BYTES = 256; // shorter text does not pay for the zlib header
+        static final int ORPHAN_GRACE_MINUTES = 60;
+
+        private DocumentStore() {}
+
+        static byte[] hash(byte[] utf8) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(utf8);
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        // Stores the text unless it is already there and returns its hash (null for null text).
+        // A repeat only refreshes touched_at, which keeps the document out of the next purge.
+        static byte[] put(Connection c, String text, StoreOp op) throws SQLException {
+            if (text == null) return null;
+            byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+            byte[] hash = hash(raw);
+            boolean deflate = raw.length >= MIN_DEFLATE_BYTES;
+            String sql = "INSERT INTO documents (hash, codec, raw_length, body) VALUES (?,?,?,?) " +
+                         "ON DUPLICATE KEY UPDATE touched_at = CURRENT_TIMESTAMP";
+            try (PreparedStatement ps = DatabaseManager.budget(c.prepareStatement(sql), op);
+                 InputStream body = deflate ? new DeflaterInputStream(new ByteArrayInputStream(raw)) : new ByteArrayInputStream(raw)) {
+                ps.setBytes(1, hash);
+                ps.setInt(2, deflate ? CODEC_DEFLATE : CODEC_PLAIN);
+                ps.setInt(3, raw.length);
+                ps.setBinaryStream(4, body);
+                ps.executeUpdate();
+            } catch (IOException ex) {
+                throw new SQLException("Could not compress document", ex);
+            }
+            return hash;
+        }
+
+        // Streams one document's text from a row holding its codec and body columns;
+        // false when the body is SQL NULL
+        static boolean copy(ResultSet rs, String codecColumn, String bodyColumn, Writer out) throws SQLException, IOException {
+            InputStream in = rs.getBinaryStream(bodyColumn);
+            if (in == null) return false;
+            if (rs.getInt(codecColumn) == CODEC_DEFLATE) in = new InflaterInputStream(in);
+            try (Reader r = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                r.transferTo(out);
+            }
+            return true;
+        }
+
+        static String text(ResultSet rs, String codecColumn, String bodyColumn) throws SQLException {
+            StringWriter out = new StringWriter();
+            try {
+                return copy(rs, codecColumn, bodyColumn, out) ? out.toString() : null;
+            } catch (IOException ex) {
+                throw new SQLException("Corrupt document body", ex);
+            }
+        }
+
+        // Removes documents no user references any more, in batches that each fit the write
+        // budget; returns how many went
+        static int purgeOrphans(Connection c) throws SQLException {
+            String sql = "DELETE FROM documents WHERE touched_at < NOW() - INTERVAL " + ORPHAN_GRACE_MINUTES + " MINUTE " +
+                         "AND NOT EXISTS (SELECT 1 FROM users u WHERE u.resume_doc = documents.hash) LIMIT " + DatabaseManager.PURGE_BATCH;
+            try (PreparedStatement ps = DatabaseManager.budget(c.prepareStatement(sql), StoreOp.PURGE_DOCUMENTS)) {
+                int total = 0, n;
+                do {
+                    n = ps.executeUpdate();
+                    total += n;
+                } while (n == DatabaseManager.PURGE_BATCH);
+                return total;
+            }
+        }
+    }
+
+    // ====== DATABASE MANAGER ======
+    static class DatabaseManager implements PortalStore {
+        private final String jdbcUrl;
+        private final String user;
+        private final String pass;
+        private volatile ConnectionPool pool;
+        private volatile SlowQueryLog slowLog;
+        private static final int FULLTEXT_MIGRATION = 3;
+        private static final int CHANGE_TIMES_MIGRATION = 7;
+        private static final int ER_DUP_ENTRY = 1062;
+        static final int PURGE_BATCH = 10_000; // rows per background purge statement
+        static final int EXPORT_ID_CHUNK = 1_000; // ids per lookup when exporting search matches
+        private final SchemaMigrator migrator = new SchemaMigrator(this, MIGRATIONS);
+
+        public DatabaseManager(String jdbcUrl, String user, String pass) {
+            this.jdbcUrl = jdbcUrl;
+            this.user = user;
+            this.pass = pass;
+        }
+
+        // Switch to pooled connections; getConnection() then borrows instead of dialing
+        public synchronized void enablePooling(PoolConfig cfg) {
+            if (pool != null) pool.close();
+            pool = new ConnectionPool(jdbcUrl, user, pass, cfg);
+        }
+
+        public PoolStats getPoolStats() {
+            ConnectionPool p = pool;
+            return p == null ? null : p.stats();
+        }
+
+        // Opens the pool's minimum connections now instead of on first use
+        public void warmUpPool() {
+            ConnectionPool p = pool;
+            if (p != null) p.topUp();
+        }
+
+        // Time every statement from here on; EXPLAIN runs on its own unwrapped connection
+        public synchronized void enableSlowQueryLog(long thresholdMillis, Path file) {
+            if (slowLog != null) slowLog.close();
+            slowLog = new SlowQueryLog(file, thresholdMillis, this::openConnection);
+        }
+
+        public synchronized void shutdown() {
+            if (pool != null) {
+                pool.close();
+                pool = null;
+            }
+            if (slowLog != null) {
+                slowLog.close();
+                slowLog = null;
+            }
+        }
+
+        // Bring the schema up to date; index builds are left for completeOnlineMigrations()
+        public void init() throws SQLException {
+            migrator.migrate();
+        }
+
+        public void completeOnlineMigrations() throws SQLException {
+            migrator.completeOnline();
+        }
+
+        public int purgeOrphanDocuments() throws SQLException {
+            try (Connection c = getConnection()) {
+                return DocumentStore.purgeOrphans(c);
+            }
+        }
+
+        public Connection getConnection() throws SQLException {
+            SlowQueryLog log = slowLog;
+            Connection c = openConnection();
+            return log == null ? c : log.wrap(c);
+        }
+
+        private Connection openConnection() throws SQLException {
+            ConnectionPool p = pool;
+            if (p != null) return p.borrow();
+            return DriverManager.getConnection(jdbcUrl, user, pass);
+        }
+
+        // USER CRUD
+        // Login / session projection: everything but the resume document
+        private static final String USER_ACCOUNT_COLUMNS = "id, name, email, password, role, company";
+
+        public User findUserByEmail(String email) {
+            String sql = "SELECT " + USER_ACCOUNT_COLUMNS + " FROM users WHERE email = ?";
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), StoreOp.FIND_USER_BY_EMAIL)) {
+                ps.setString(1, email);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        return rowToUser(rs);
+                    }
+                }
+            } catch (SQLException ex) {
+                QueryAbortedException aborted = QueryAbortedException.of(StoreOp.FIND_USER_BY_EMAIL, ex);
+                if (aborted != null) throw aborted;
+                StoreOp.FIND_USER_BY_EMAIL.stats.recordError();
+                ex.printStackTrace();
+            }
+            return null;
+        }
+
+        public User findUserById(int id) {
+            String sql = "SELECT " + USER_ACCOUNT_COLUMNS + " FROM users WHERE id = ?";
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), StoreOp.FIND_USER_BY_ID)) {
+                ps.setInt(1, id);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) return rowToUser(rs);
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.FIND_USER_BY_ID, ex);
+            }
+
+            return null;
+        }
+
+        public String findResume(int userId) {
+            String sql = "SELECT d.codec, d.body FROM users u JOIN documents d ON d.hash = u.resume_doc WHERE u.id = ?";
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), StoreOp.FIND_RESUME)) {
+                ps.setInt(1, userId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) return DocumentStore.text(rs, "codec", "body");
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.FIND_RESUME, ex);
+            }
+            return null;
+        }
+
+        // The per-role total in user_counts moves in the same transaction as the row
+        public int insertUser(User u) {
+            String sql = "INSERT INTO users (name,email,password,role,company,resume_doc) VALUES (?,?,?,?,?,?)";
+            String tally = "INSERT INTO user_counts (role, n) VALUES (?, 1) ON DUPLICATE KEY UPDATE n = n + 1";
+            try (Connection c = getConnection()) {
+                byte[] resume = DocumentStore.put(c, u.resume, StoreOp.INSERT_USER);
+                c.setAutoCommit(false);
+                try (PreparedStatement ps = budget(c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS), StoreOp.INSERT_USER);
+                     PreparedStatement ts = budget(c.prepareStatement(tally), StoreOp.INSERT_USER)) {
+                    ps.setString(1, u.name);
+                    ps.setString(2, u.email);
+                    ps.setString(3, u.password);
+                    ps.setString(4, u.role);
+                    ps.setString(5, u.company);
+                    ps.setBytes(6, resume);
+                    ps.executeUpdate();
+                    int id = -1;
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        if (rs.next()) id = rs.getInt(1);
+                    }
+                    ts.setString(1, u.role);
+                    ts.executeUpdate();
+                    c.commit();
+                    return id;
+                } catch (SQLException ex) {
+                    c.rollback();
+                    throw ex;
+                } finally {
+                    c.setAutoCommit(true);
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.INSERT_USER, ex);
+            }
+
+            return -1;
+        }
+
+        public List<UserSummary> getAllUsers() {
+            List<UserSummary> out = new ArrayList<>();
+            String sql = "SELECT id, name, email, role FROM users";
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), StoreOp.GET_ALL_USERS);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) out.add(rowToUserSummary(rs));
+            } catch (SQLException ex) {
+                reportError(StoreOp.GET_ALL_USERS, ex);
+            }
+
+            return out;
+        }
+
+        // ---- block reads for the admin tables: keyset when the previous block's last row is known, else OFFSET
+        // Unfiltered and per-role totals are read from user_counts; a prefix search counts its
+        // index range, stopping one past the cap
+        public int countUsers(UserQuery q) {
+            List<Object> params = new ArrayList<>();
+            if (q.prefix.isEmpty()) {
+                if (!q.role.isEmpty()) params.add(q.role);
+                return count(StoreOp.COUNT_USERS, "SELECT COALESCE(SUM(n), 0) FROM user_counts" + (q.role.isEmpty() ? "" : " WHERE role = ?"), params);
+            }
+            StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM (SELECT 1 FROM users");
+            appendUserFilters(q, sql, params);
+            sql.append(" LIMIT ").append(UserQuery.COUNT_CAP + 1).append(") matches");
+            return count(StoreOp.COUNT_USERS, sql.toString(), params);
+        }
+
+        public int countJobs() { return count(StoreOp.COUNT_JOBS, "SELECT COUNT(*) FROM jobs", Collections.emptyList()); }
+
+        private int count(StoreOp op, String sql, List<Object> params) {
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), op)) {
+                for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) return rs.getInt(1);
+                }
+            } catch (SQLException ex) {
+                reportError(op, ex);
+            }
+            return 0;
+        }
+
+        // Each sort walks one index (see migration 9): the filters narrow it to a range and
+        // the keyset continues from the previous block's last row, so a block costs the same
+        // at any table size. Only a jump (no previous row) pays for its OFFSET.
+        public List<UserSummary> getUsersBlock(UserQuery q, int offset, UserSummary after, int limit) {
+            StringBuilder sql = new StringBuilder("SELECT id, name, email, role FROM users");
+            List<Object> params = new ArrayList<>();
+            appendUserFilters(q, sql, params);
+            String cmp = q.descending ? " < ?" : " > ?";
+            String dir = q.descending ? " DESC" : "";
+            if (after != null) {
+                switch (q.sort) {
+                    case ID:
+                        sql.append(" AND id").append(cmp);
+                        params.add(after.id);
+                        break;
+                    case EMAIL: // unique on its own
+                        sql.append(" AND email").append(cmp);
+                        params.add(after.email);
+                        break;
+                    case NAME:
+                        sql.append(" AND (name").append(cmp).append(" OR (name = ? AND id").append(cmp).append("))");
+                        params.add(after.name);
+                        params.add(after.name);
+                        params.add(after.id);
+                        break;
+                }
+            }
+            switch (q.sort) {
+                case ID: sql.append(" ORDER BY id").append(dir); break;
+                case EMAIL: sql.append(" ORDER BY email").append(dir); break;
+                case NAME: sql.append(" ORDER BY name").append(dir).append(", id").append(dir); break;
+            }
+            sql.append(" LIMIT ?");
+            params.add(limit);
+            if (after == null && offset > 0) {
+                sql.append(" OFFSET ?");
+                params.add(offset);
+            }
+            List<UserSummary> out = new ArrayList<>();
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql.toString()), StoreOp.GET_USERS_BLOCK)) {
+                for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) out.add(rowToUserSummary(rs));
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.GET_USERS_BLOCK, ex);
+            }
+            return out;
+        }
+
+        private static void appendUserFilters(UserQuery q, StringBuilder sql, List<Object> params) {
+            sql.append(" WHERE 1=1");
+            if (!q.role.isEmpty()) {
+                sql.append(" AND role = ?");
+                params.add(q.role);
+            }
+            if (q.prefix.isEmpty()) return;
+            if (q.sort == UserQuery.Sort.ID) {
+                sql.append(" AND id = ?");
+                params.add(q.prefixId());
+            } else {
+                sql.append(q.sort == UserQuery.Sort.NAME ? " AND name LIKE ?" : " AND email LIKE ?");
+                params.add(prefixPattern(q.prefix));
+            }
+        }
+
+        public List<JobSummary> getJobsBlock(int offset, int beforeId, int limit) {
+            List<JobSummary> out = new ArrayList<>();
+            String sql = beforeId > 0
+                ? JOB_SUMMARY_SELECT + "WHERE j.id < ? ORDER BY j.id DESC LIMIT ?"
+                : JOB_SUMMARY_SELECT + "ORDER BY j.id DESC LIMIT ? OFFSET ?";
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), StoreOp.GET_JOBS_BLOCK)) {
+                if (beforeId > 0) {
+                    ps.setInt(1, beforeId);
+                    ps.setInt(2, limit);
+                } else {
+                    ps.setInt(1, limit);
+                    ps.setInt(2, offset);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) out.add(rowToJobSummary(rs));
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.GET_JOBS_BLOCK, ex);
+            }
+            return out;
+        }
+
+        // Does the foreign keys' work itself first, so the changes are stamped: tombstones for
+        // the user and their cascaded applications, and the SET NULL on their jobs as an UPDATE.
+        // The user's role total in user_counts drops in the same transaction.
+        public boolean deleteUserById(int id) {
+            String tombstones = "REPLACE INTO row_tombstones (entity, row_id) " +
+                                "SELECT 'U', ? UNION ALL SELECT 'A', id FROM applications WHERE seeker_id = ?";
+            String untally = "UPDATE user_counts c JOIN users u ON u.role = c.role SET c.n = c.n - 1 WHERE u.id = ?";
+            String detach = "UPDATE jobs SET employer_id = NULL WHERE employer_id = ?";
+            String delete = "DELETE FROM users WHERE id = ?";
+            try (Connection c = getConnection()) {
+                c.setAutoCommit(false);
+                try (PreparedStatement ts = budget(c.prepareStatement(tombstones), StoreOp.DELETE_USER_BY_ID);
+                     PreparedStatement ut = budget(c.prepareStatement(untally), StoreOp.DELETE_USER_BY_ID);
+                     PreparedStatement dt = budget(c.prepareStatement(detach), StoreOp.DELETE_USER_BY_ID);
+                     PreparedStatement ps = budget(c.prepareStatement(delete), StoreOp.DELETE_USER_BY_ID)) {
+                    ts.setInt(1, id);
+                    ts.setInt(2, id);
+                    ts.executeUpdate();
+                    ut.setInt(1, id);
+                    ut.executeUpdate();
+                    dt.setInt(1, id);
+                    dt.executeUpdate();
+                    ps.setInt(1, id);
+                    boolean deleted = ps.executeUpdate() > 0;
+                    c.commit();
+                    return deleted;
+                } catch (SQLException ex) {
+                    c.rollback();
+                    throw ex;
+                } finally {
+                    c.setAutoCommit(true);
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.DELETE_USER_BY_ID, ex);
+            }
+
+            return false;
+        }
+
+        public boolean updateUser(User u) {
+            String sql = u.resumeLoaded
+                ? "UPDATE users SET name=?, email=?, password=?, company=?, resume_doc=? WHERE id=?"
+                : "UPDATE users SET name=?, email=?, password=?, company=? WHERE id=?";
+            try (Connection c = getConnection()) {
+                byte[] resume = u.resumeLoaded ? DocumentStore.put(c, u.resume, StoreOp.UPDATE_USER) : null;
+                try (PreparedStatement ps = budget(c.prepareStatement(sql), StoreOp.UPDATE_USER)) {
+                    int i = 1;
+                    ps.setString(i++, u.name);
+                    ps.setString(i++, u.email);
+                    ps.setString(i++, u.password);
+                    ps.setString(i++, u.company);
+                    if (u.resumeLoaded) ps.setBytes(i++, resume);
+                    ps.setInt(i, u.id);
+                    return ps.executeUpdate() > 0;
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.UPDATE_USER, ex);
+            }
+
+            return false;
+        }
+
+        // JOB CRUD
+        public int insertJob(Job j) {
+            String sql = "INSERT INTO jobs (title,description,location,salary,employer_id) VALUES (?,?,?,?,?)";
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS), StoreOp.INSERT_JOB)) {
+                ps.setString(1, j.title);
+                ps.setString(2, j.description);
+                ps.setString(3, j.location);
+                ps.setDouble(4, j.salary);
+                if (j.employerId > 0) ps.setInt(5, j.employerId);
+                else ps.setNull(5, Types.INTEGER);
+                ps.executeUpdate();
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    if (rs.next()) return rs.getInt(1);
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.INSERT_JOB, ex);
+            }
+
+            return -1;
+        }
+
+        // Table / cache projection of jobs: no description
+        private static final String JOB_SUMMARY_SELECT =
+            "SELECT j.id, j.title, j.location, j.salary, j.employer_id, u.name AS employer_name " +
+            "FROM jobs j LEFT JOIN users u ON j.employer_id = u.id ";
+
+        public List<JobSummary> getAllJobs() {
+            List<JobSummary> out = new ArrayList<>();
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(JOB_SUMMARY_SELECT + "ORDER BY j.id DESC"), StoreOp.GET_ALL_JOBS);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) out.add(rowToJobSummary(rs));
+            } catch (SQLException ex) {
+                reportError(StoreOp.GET_ALL_JOBS, ex);
+            }
+
+            return out;
+        }
+
+        public List<Job> getAllJobDocuments() {
+            List<Job> out = new ArrayList<>();
+            String sql = "SELECT j.id, j.title, j.description, j.location, j.salary, j.employer_id, u.name AS employer_name " +
+                         "FROM jobs j LEFT JOIN users u ON j.employer_id = u.id ORDER BY j.id DESC";
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), StoreOp.GET_ALL_JOB_DOCUMENTS);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Job j = new Job();
+                    j.id = rs.getInt("id");
+                    j.title = rs.getString("title");
+                    j.description = rs.getString("description");
+                    j.location = rs.getString("location");
+                    j.salary = rs.getDouble("salary");
+                    j.employerId = rs.getInt("employer_id");
+                    j.employerName = rs.getString("employer_name");
+                    out.add(j);
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.GET_ALL_JOB_DOCUMENTS, ex);
+            }
+
+            return out;
+        }
+
+        // Keyset-paged search with the filters pushed into SQL. afterId <= 0 starts from the newest job.
+        // The description is only used in the WHERE clause and never shipped back.
+        public JobPage searchJobs(JobSearchCriteria criteria, int afterId, int limit) {
+            StringBuilder sql = new StringBuilder(JOB_SUMMARY_SELECT + "WHERE 1=1");
+            List<Object> params = new ArrayList<>();
+            if (afterId > 0) {
+                sql.append(" AND j.id < ?");
+                params.add(afterId);
+            }
+            appendJobFilters(criteria, sql, params);
+            sql.append(" ORDER BY j.id DESC LIMIT ?");
+            params.add(limit + 1); // one extra row tells us whether another page exists
+
+            List<JobSummary> out = new ArrayList<>();
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql.toString()), StoreOp.SEARCH_JOBS)) {
+                for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) out.add(rowToJobSummary(rs));
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.SEARCH_JOBS, ex);
+            }
+            if (out.size() > limit) {
+                out.remove(limit);
+                return new JobPage(out, out.get(limit - 1).id);
+            }
+            return new JobPage(out, 0);
+        }
+
+        // One employer's postings, newest first, keyset-paged over the employer_id index.
+        // Only the columns the "My Jobs" table shows are fetched.
+        public JobPage getJobsByEmployer(int employerId, int afterId, int limit) {
+            String sql = "SELECT id, title, location, salary FROM jobs WHERE employer_id = ? AND id < ? ORDER BY id DESC LIMIT ?";
+            List<JobSummary> out = new ArrayList<>();
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), StoreOp.GET_JOBS_BY_EMPLOYER)) {
+                ps.setInt(1, employerId);
+                ps.setInt(2, afterId > 0 ? afterId : Integer.MAX_VALUE);
+                ps.setInt(3, limit + 1);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        JobSummary j = new JobSummary();
+                        j.id = rs.getInt("id");
+                        j.title = rs.getString("title");
+                        j.location = rs.getString("location");
+                        j.salary = rs.getDouble("salary");
+                        j.employerId = employerId;
+                        out.add(j);
+                    }
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.GET_JOBS_BY_EMPLOYER, ex);
+            }
+            if (out.size() > limit) {
+                out.remove(limit);
+                return new JobPage(out, out.get(limit - 1).id);
+            }
+            return new JobPage(out, 0);
+        }
+
+        public JobSummary findJobById(int id) {
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(JOB_SUMMARY_SELECT + "WHERE j.id = ?"), StoreOp.FIND_JOB_BY_ID)) {
+                ps.setInt(1, id);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) return rowToJobSummary(rs);
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.FIND_JOB_BY_ID, ex);
+            }
+
+            return null;
+        }
+
+        public String findJobDescription(int jobId) {
+            return findText(StoreOp.FIND_JOB_DESCRIPTION, "SELECT description FROM jobs WHERE id = ?", jobId);
+        }
+
+        private String findText(StoreOp op, String sql, int id) {
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), op)) {
+                ps.setInt(1, id);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) return rs.getString(1);
+                }
+            } catch (SQLException ex) {
+                reportError(op, ex);
+            }
+            return null;
+        }
+
+        // Inserts all rows in one transaction as a single batch (multi-row INSERTs once
+        // rewriteBatchedStatements is on) and returns the generated ids in input order.
+        // Unlike the single-row methods this throws, so importers can report the failed chunk.
+        public int[] insertJobsBatch(List<Job> jobs) throws SQLException {
+            String sql = "INSERT INTO jobs (title,description,location,salary,employer_id) VALUES (?,?,?,?,?)";
+            int[] ids = new int[jobs.size()];
+            try (Connection c = getConnection()) {
+                c.setAutoCommit(false);
+                try (PreparedStatement ps = budget(c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS), StoreOp.INSERT_JOBS_BATCH)) {
+                    for (Job j : jobs) {
+                        ps.setString(1, j.title);
+                        ps.setString(2, j.description);
+                        ps.setString(3, j.location);
+                        ps.setDouble(4, j.salary);
+                        if (j.employerId > 0) ps.setInt(5, j.employerId);
+                        else ps.setNull(5, Types.INTEGER);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        for (int i = 0; i < ids.length && rs.next(); i++) ids[i] = rs.getInt(1);
+                    }
+                    c.commit();
+                } catch (SQLException ex) {
+                    c.rollback();
+                    throw ex;
+                } finally {
+                    c.setAutoCommit(true);
+                }
+            }
+            return ids;
+        }
+
+        // Tombstones for the job and the applications the delete cascades to, in the same transaction
+        public boolean deleteJobById(int id) {
+            String tombstones = "REPLACE INTO row_tombstones (entity, row_id) " +
+                                "SELECT 'J', ? UNION ALL SELECT 'A', id FROM applications WHERE job_id = ?";
+            String delete = "DELETE FROM jobs WHERE id = ?";
+            try (Connection c = getConnection()) {
+                c.setAutoCommit(false);
+                try (PreparedStatement ts = budget(c.prepareStatement(tombstones), StoreOp.DELETE_JOB_BY_ID);
+                     PreparedStatement ps = budget(c.prepareStatement(delete), StoreOp.DELETE_JOB_BY_ID)) {
+                    ts.setInt(1, id);
+                    ts.setInt(2, id);
+                    ts.executeUpdate();
+                    ps.setInt(1, id);
+                    boolean deleted = ps.executeUpdate() > 0;
+                    c.commit();
+                    return deleted;
+                } catch (SQLException ex) {
+                    c.rollback();
+                    throw ex;
+                } finally {
+                    c.setAutoCommit(true);
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.DELETE_JOB_BY_ID, ex);
+            }
+
+            return false;
+        }
+
+        // APPLICATIONS
+        // One round trip on the normal path: the insert only selects a row when the job exists,
+        // and the unique (job_id, seeker_id) key turns a repeat into a no-op (IGNORE). Only when
+        // nothing was inserted is the existing row read back over that same key; if there is
+        // none, the job does not exist and the result is null.
+        public ApplyResult applyToJob(int jobId, int seekerId) {
+            String insert = "INSERT INTO applications (job_id, seeker_id, status) " +
+                            "SELECT ?, ?, 'APPLIED' FROM DUAL WHERE EXISTS (SELECT 1 FROM jobs WHERE id = ?)";
+            String existing = "SELECT id, status FROM applications WHERE job_id = ? AND seeker_id = ?";
+            try (Connection c = getConnection()) {
+                try (PreparedStatement ps = budget(c.prepareStatement(insert, Statement.RETURN_GENERATED_KEYS), StoreOp.APPLY_TO_JOB)) {
+                    ps.setInt(1, jobId);
+                    ps.setInt(2, seekerId);
+                    ps.setInt(3, jobId);
+                    if (ps.executeUpdate() > 0) {
+                        try (ResultSet rs = ps.getGeneratedKeys()) {
+                            if (rs.next()) return new ApplyResult(application(rs.getInt(1), jobId, seekerId, "APPLIED"), true);
+                        }
+                    }
+                } catch (SQLException ex) {
+                    // only the (job_id, seeker_id) key means "already applied"; a missing seeker
+                    // (FK) or bad data is an error, not a repeat
+                    if (ex.getErrorCode() != ER_DUP_ENTRY) throw ex;
+                }
+                try (PreparedStatement ps = budget(c.prepareStatement(existing), StoreOp.APPLY_TO_JOB)) {
+                    ps.setInt(1, jobId);
+                    ps.setInt(2, seekerId);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (rs.next()) return new ApplyResult(application(rs.getInt(1), jobId, seekerId, rs.getString(2)), false);
+                    }
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.APPLY_TO_JOB, ex);
+            }
+
+            return null;
+        }
+
+        private static ApplicationModel application(int id, int jobId, int seekerId, String status) {
+            ApplicationModel a = new ApplicationModel();
+            a.id = id; a.jobId = jobId; a.seekerId = seekerId; a.status = status;
+            return a;
+        }
+
+        // ---- application listings: one joined query per page, newest first, keyset on a.id
+        private static final String APPLICATION_VIEW_SELECT =
+            "SELECT a.id, a.job_id, a.seeker_id, a.status, j.title, s.name AS seeker_name, e.company " +
+            "FROM applications a JOIN jobs j ON a.job_id = j.id JOIN users s ON a.seeker_id = s.id " +
+            "LEFT JOIN users e ON j.employer_id = e.id ";
+
+        public ApplicationPage getApplicationsForEmployer(int employerId, int afterId, int limit) {
+            return applicationPage(StoreOp.GET_APPLICATIONS_FOR_EMPLOYER, "WHERE j.employer_id = ? AND a.id < ?", employerId, afterId, limit);
+        }
+
+        public ApplicationPage getApplicationsForSeeker(int seekerId, int afterId, int limit) {
+            return applicationPage(StoreOp.GET_APPLICATIONS_FOR_SEEKER, "WHERE a.seeker_id = ? AND a.id < ?", seekerId, afterId, limit);
+        }
+
+        private ApplicationPage applicationPage(StoreOp op, String where, int ownerId, int afterId, int limit) {
+            String sql = APPLICATION_VIEW_SELECT + where + " ORDER BY a.id DESC LIMIT ?";
+            List<ApplicationView> out = new ArrayList<>();
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), op)) {
+                ps.setInt(1, ownerId);
+                ps.setInt(2, afterId > 0 ? afterId : Integer.MAX_VALUE);
+                ps.setInt(3, limit + 1);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) out.add(rowToApplicationView(rs));
+                }
+            } catch (SQLException ex) {
+                reportError(op, ex);
+            }
+            if (out.size() > limit) {
+                out.remove(limit);
+                return new ApplicationPage(out, out.get(limit - 1).id);
+            }
+            return new ApplicationPage(out, 0);
+        }
+
+        public ApplicationView findApplicationView(int appId) {
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(APPLICATION_VIEW_SELECT + "WHERE a.id = ?"), StoreOp.FIND_APPLICATION_VIEW)) {
+                ps.setInt(1, appId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) return rowToApplicationView(rs);
+                }
+            } catch (SQLException ex) {
+                reportError(StoreOp.FIND_APPLICATION_VIEW, ex);
+            }
+            return null;
+        }
+
+        private static ApplicationView rowToApplicationView(ResultSet rs) throws SQLException {
+            ApplicationView a = new ApplicationView();
+            a.id = rs.getInt("id");
+            a.jobId = rs.getInt("job_id");
+            a.seekerId = rs.getInt("seeker_id");
+            a.status = rs.getString("status");
+            a.jobTitle = rs.getString("title");
+            a.seekerName = rs.getString("seeker_name");
+            a.company = rs.getString("company");
+            return a;
+        }
+
+        public boolean updateApplicationStatus(int appId, String status) {
+            String sql = "UPDATE applications SET status = ? WHERE id = ?";
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), StoreOp.UPDATE_APPLICATION_STATUS)) {
+                ps.setString(1, status);
+                ps.setInt(2, appId);
+                return ps.executeUpdate() > 0;
+            } catch (SQLException ex) {
+                reportError(StoreOp.UPDATE_APPLICATION_STATUS, ex);
+            }
+
+            return false;
+        }
+
+        // One transaction and four round trips for the whole batch: existing pairs, the
+        // INSERT IGNOREs, the resulting rows, and the status updates, each batched
+        public void flushWrites(List<PendingWrite> writes) throws SQLException {
+            List<PendingWrite> applies = new ArrayList<>();
+            List<PendingWrite> statuses = new ArrayList<>();
+            for (PendingWrite w : writes) (w.kind == PendingWrite.Kind.APPLY ? applies : statuses).add(w);
+            try (Connection c = getConnection()) {
+                c.setAutoCommit(false);
+                try {
+                    if (!applies.isEmpty()) flushApplies(c, applies);
+                    if (!statuses.isEmpty()) flushStatuses(c, statuses);
+                    c.commit();
+                } catch (SQLException ex) {
+                    c.rollback();
+                    throw ex;
+                } finally {
+                    c.setAutoCommit(true);
+                }
+            }
+        }
+
+        private void flushApplies(Connection c, List<PendingWrite> applies) throws SQLException {
+            Map<Long, ApplicationModel> before = applicationsFor(c, applies);
+            String insert = "INSERT IGNORE INTO applications (job_id, seeker_id, status) " +
+                            "SELECT ?, ?, 'APPLIED' FROM DUAL WHERE EXISTS (SELECT 1 FROM jobs WHERE id = ?)";
+            try (PreparedStatement ps = budget(c.prepareStatement(insert), StoreOp.FLUSH_WRITES)) {
+                for (PendingWrite w : applies) {
+                    ps.setInt(1, w.jobId);
+                    ps.setInt(2, w.seekerId);
+                    ps.setInt(3, w.jobId);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            Map<Long, ApplicationModel> after = applicationsFor(c, applies);
+            for (PendingWrite w : applies) {
+                w.application = after.get(w.pairKey());
+                w.created = w.application != null && !before.containsKey(w.pairKey());
+            }
+        }
+
+        // Applications for the batch's job/seeker pairs, by PendingWrite.pairKey
+        private Map<Long, ApplicationModel> applicationsFor(Connection c, List<PendingWrite> applies) throws SQLException {
+            StringBuilder sql = new StringBuilder("SELECT id, job_id, seeker_id, status FROM applications WHERE (job_id, seeker_id) IN (");
+            for (int i = 0; i < applies.size(); i++) sql.append(i > 0 ? ",(?,?)" : "(?,?)");
+            sql.append(')');
+            Map<Long, ApplicationModel> out = new HashMap<>();
+            try (PreparedStatement ps = budget(c.prepareStatement(sql.toString()), StoreOp.FLUSH_WRITES)) {
+                int i = 1;
+                for (PendingWrite w : applies) {
+                    ps.setInt(i++, w.jobId);
+                    ps.setInt(i++, w.seekerId);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        ApplicationModel a = application(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getString(4));
+                        out.put(PendingWrite.pairKey(a.jobId, a.seekerId), a);
+                    }
+                }
+            }
+            return out;
+        }
+
+        private void flushStatuses(Connection c, List<PendingWrite> statuses) throws SQLException {
+            String sql = "UPDATE applications SET status = ? WHERE id = ?";
+            try (PreparedStatement ps = budget(c.prepareStatement(sql), StoreOp.FLUSH_WRITES)) {
+                for (PendingWrite w : statuses) {
+                    ps.setString(1, w.status);
+                    ps.setInt(2, w.appId);
+                    ps.addBatch();
+                }
+                int[] counts = ps.executeBatch();
+                for (int i = 0; i < counts.length; i++) statuses.get(i).found = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+            }
+        }
+
+        // ---- CSV exports: forward-only, Integer.MIN_VALUE fetch size = row-by-row streaming in Connector/J
+        // ---- delta refresh. updated_at is stamped by MySQL, deletes leave row_tombstones rows, so
+        // "what changed since" is a range scan of those indexes, and one statement answers it:
+        // 'C' rows are changed rows, 'D' rows deleted ids and the one 'W' row the server clock.
+        // updated_at is the time a statement ran, not when it committed, so watermarks are held
+        // CHANGE_LAG_SECONDS behind the clock; rows near the edge come back once more, which is
+        // harmless. Tombstones are purged after TOMBSTONE_RETENTION_DAYS; an older watermark resyncs.
+        static final int CHANGE_LAG_SECONDS = 30;
+        static final int TOMBSTONE_RETENTION_DAYS = 7;
+        private static final long MICROS_PER_SECOND = 1_000_000L;
+
+        private interface RowReader<T> { T read(ResultSet rs) throws SQLException; }
+
+        public long changeWatermark() {
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement("SELECT UNIX_TIMESTAMP(NOW(6))"), StoreOp.CHANGE_WATERMARK);
+                 ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getBigDecimal(1).movePointRight(6).longValue() - CHANGE_LAG_SECONDS * MICROS_PER_SECOND;
+            } catch (SQLException ex) {
+                reportError(StoreOp.CHANGE_WATERMARK, ex);
+            }
+            return -1;
+        }
+
+        public ChangeSet<JobSummary> getJobChanges(long since) {
+            String sql =
+                "SELECT 'C' AS kind, j.id, j.title, j.location, j.salary, j.employer_id, u.name AS employer_name, NULL AS clock " +
+                "FROM jobs j LEFT JOIN users u ON j.employer_id = u.id WHERE j.updated_at > FROM_UNIXTIME(?) " +
+                // an employer rename changes every one of their job rows
+                "UNION ALL SELECT 'C', j.id, j.title, j.location, j.salary, j.employer_id, u.name, NULL " +
+                "FROM users u JOIN jobs j ON j.employer_id = u.id WHERE u.updated_at > FROM_UNIXTIME(?) " +
+                "UNION ALL SELECT 'D', row_id, NULL, NULL, NULL, NULL, NULL, NULL FROM row_tombstones WHERE entity = 'J' AND deleted_at > FROM_UNIXTIME(?) " +
+                "UNION ALL SELECT 'W', 0, NULL, NULL, NULL, NULL, NULL, UNIX_TIMESTAMP(NOW(6))";
+            BigDecimal at = BigDecimal.valueOf(since, 6);
+            return changes(StoreOp.GET_JOB_CHANGES, sql, Arrays.asList(at, at, at), since, DatabaseManager::rowToJobSummary, j -> j.id);
+        }
+
+        // Application tombstones are not kept per employer: the ids of every deleted application
+        // come back, and the caller drops the ones it holds
+        public ChangeSet<ApplicationView> getApplicationChangesForEmployer(int employerId, long since) {
+            String sql =
+                "SELECT 'C' AS kind, a.id, a.job_id, a.seeker_id, a.status, j.title, s.name AS seeker_name, e.company, NULL AS clock " +
+                "FROM applications a JOIN jobs j ON a.job_id = j.id JOIN users s ON a.seeker_id = s.id LEFT JOIN users e ON j.employer_id = e.id " +
+                "WHERE a.updated_at > FROM_UNIXTIME(?) AND j.employer_id = ? " +
+                // a seeker rename changes the rows of their applications
+                "UNION ALL SELECT 'C', a.id, a.job_id, a.seeker_id, a.status, j.title, s.name, e.company, NULL " +
+                "FROM users s JOIN applications a ON a.seeker_id = s.id JOIN jobs j ON a.job_id = j.id LEFT JOIN users e ON j.employer_id = e.id " +
+                "WHERE s.updated_at > FROM_UNIXTIME(?) AND j.employer_id = ? " +
+                "UNION ALL SELECT 'D', row_id, NULL, NULL, NULL, NULL, NULL, NULL, NULL FROM row_tombstones WHERE entity = 'A' AND deleted_at > FROM_UNIXTIME(?) " +
+                "UNION ALL SELECT 'W', 0, NULL, NULL, NULL, NULL, NULL, NULL, UNIX_TIMESTAMP(NOW(6))";
+            BigDecimal at = BigDecimal.valueOf(since, 6);
+            return changes(StoreOp.GET_APPLICATION_CHANGES_FOR_EMPLOYER, sql, Arrays.asList(at, employerId, at, employerId, at),
+                           since, DatabaseManager::rowToApplicationView, a -> a.id);
+        }
+
+        // Without the updated_at columns (V7 still building) every caller is told to resync
+        private <T> ChangeSet<T> changes(StoreOp op, String sql, List<Object> params, long since, RowReader<T> reader, ToIntFunction<T> idOf) {
+            if (!migrator.isApplied(CHANGE_TIMES_MIGRATION)) return new ChangeSet<>(Collections.emptyList(), new int[0], since, true);
+            Map<Integer, T> changed = new HashMap<>();
+            SortedIntList deleted = new SortedIntList(16);
+            long clock = -1;
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), op)) {
+                for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String kind = rs.getString("kind");
+                        if (kind.equals("C")) {
+                            T row = reader.read(rs);
+                            changed.put(idOf.applyAsInt(row), row); // a row can match more than one branch
+                        } else if (kind.equals("D")) {
+                            deleted.add(rs.getInt("id"));
+                        } else {
+                            clock = rs.getBigDecimal("clock").movePointRight(6).longValue();
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                reportError(op, ex);
+                return null;
+            }
+            if (clock < 0) return null;
+            List<T> rows = new ArrayList<>(changed.values());
+            rows.sort((x, y) -> Integer.compare(idOf.applyAsInt(y), idOf.applyAsInt(x)));
+            boolean resync = since < clock - TOMBSTONE_RETENTION_DAYS * 86_400L * MICROS_PER_SECOND;
+            return new ChangeSet<>(rows, deleted.toArray(), Math.max(since, clock - CHANGE_LAG_SECONDS * MICROS_PER_SECOND), resync);
+        }
+
+        public int purgeTombstones() throws SQLException {
+            String sql = "DELETE FROM row_tombstones WHERE deleted_at < NOW(6) - INTERVAL " + TOMBSTONE_RETENTION_DAYS + " DAY LIMIT " + PURGE_BATCH;
+            try (Connection c = getConnection(); PreparedStatement ps = budget(c.prepareStatement(sql), StoreOp.PURGE_TOMBSTONES)) {
+                int total = 0, n;
+                do {
+                    n = ps.executeUpdate();
+                    total += n;
+                } while (n == PURGE_BATCH);
+                return total;
+            }
+        }
+
+        public long exportJobs(JobSearchCriteria criteria, CsvExport out) throws SQLException, IOException {
+            StringBuilder sql = new StringBuilder(
+                "SELECT j.id, j.title, u.name AS company, j.location, j.salary, j.description " +
+                "FROM jobs j LEFT JOIN users u ON j.employer_id = u.id WHERE 1=1");
+            List<Object> params = new ArrayList<>();
+            appendJobFilters(criteria, sql, params);
+            sql.append(" ORDER BY j.id DESC");
+            return streamCsv(StoreOp.EXPORT_JOBS, sql.toString(), params, out);
+        }
+
+        // Rows for ids chosen elsewhere (the search index), in their order: one primary key
+        // lookup per EXPORT_ID_CHUNK ids. Jobs deleted since they matched are left out.
+        public long exportJobsById(int[] ids, CsvExport out) throws SQLException, IOException {
+            String[] header = {"id", "title", "company", "location", "salary", "description"};
+            try (Connection c = getConnection()) {
+                Map<Integer, String[]> chunk = new HashMap<>();
+                int[] next = {0, 0}; // next id to write, end of the loaded chunk
+                return out.write(header, row -> {
+                    while (next[0] < ids.length) {
+                        if (next[0] == next[1]) {
+                            next[1] = Math.min(ids.length, next[0] + EXPORT_ID_CHUNK);
+                            loadExportChunk(c, ids, next[0], next[1], header.length, chunk, out);
+                        }
+                        String[] r = chunk.remove(ids[next[0]++]);
+                        if (r == null) continue;
+                        System.arraycopy(r, 0, row, 0, row.length);
+                        return true;
+                    }
+                    return false;
+                });
+            }
+        }
+
+        private void loadExportChunk(Connection c, int[] ids, int from, int to, int columns, Map<Integer, String[]> into, CsvExport out) throws SQLException {
+            StringBuilder sql = new StringBuilder(
+                "SELECT j.id, j.title, u.name AS company, j.location, j.salary, j.description " +
+                "FROM jobs j LEFT JOIN users u ON j.employer_id = u.id WHERE j.id IN (");
+            for (int i = from; i < to; i++) sql.append(i > from ? ",?" : "?");
+            sql.append(')');
+            try (PreparedStatement ps = budget(c.prepareStatement(sql.toString()), StoreOp.EXPORT_JOBS)) {
+                for (int i = from; i < to; i++) ps.setInt(i - from + 1, ids[i]);
+                out.attach(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String[] r = new String[columns];
+                        for (int i = 0; i < columns; i++) r[i] = rs.getString(i + 1);
+                        into.put(rs.getInt(1), r);
+                    }
+                }
+            }
+        }
+
+        public long exportEmployerJobs(int employerId, CsvExport out) throws SQLException, IOException {
+            String sql = "SELECT id, title, location, salary, description FROM jobs WHERE employer_id = ? ORDER BY id DESC";
+            return streamCsv(StoreOp.EXPORT_EMPLOYER_JOBS, sql, Collections.singletonList(employerId), out);
+        }
+
+        public long exportApplicationsForSeeker(int seekerId, CsvExport out) throws SQLException, IOException {
+            String sql = "SELECT a.id AS application_id, a.job_id, j.title, u.name AS company, a.status " +
+                         "FROM applications a JOIN jobs j ON a.job_id = j.id LEFT JOIN users u ON j.employer_id = u.id " +
+                         "WHERE a.seeker_id = ? ORDER BY a.id DESC";
+            return streamCsv(StoreOp.EXPORT_APPLICATIONS_FOR_SEEKER, sql, Collections.singletonList(seekerId), out);
+        }
+
+        private long streamCsv(StoreOp op, String sql, List<Object> params, CsvExport out) throws SQLException, IOException {
+            try (Connection c = getConnection();
+                 PreparedStatement ps = budget(c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY), op)) {
+                ps.setFetchSize(Integer.MIN_VALUE);
+                for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+                out.attach(ps);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return out.write(rs);
+                }
+            }
+        }
+
+        // Keyword / location / salary predicates shared by search and export (jobs aliased as j)
+        private void appendJobFilters(JobSearchCriteria criteria, StringBuilder sql, List<Object> params) {
+            if (!criteria.keyword.isEmpty()) {
+                String fullText = fullTextQuery(criteria.keyword);
+                if (fullText != null) {
+                    sql.append(" AND MATCH(j.title, j.description) AGAINST (? IN BOOLEAN MODE)");
+                    params.add(fullText);
+                } else {
+                    sql.append(" AND (j.title LIKE ? OR j.description LIKE ?)");
+                    String pattern = likePattern(criteria.keyword);
+                    params.add(pattern);
+                    params.add(pattern);
+                }
+            }
+            if (!criteria.location.isEmpty()) {
+                sql.append(" AND j.location LIKE ?");
+                params.add(likePattern(criteria.location));
+            }
+            if (criteria.minSalary > 0) {
+                sql.append(" AND j.salary >= ?");
+                params.add(criteria.minSalary);
+            }
+        }
+
+        // Boolean-mode query with the same AND/OR grouping as JobSearchIndex ("(+java* +spring*) (+kotlin*)"),
+        // or null when the FULLTEXT index is not built yet or a term is below InnoDB's minimum token size.
+        private String fullTextQuery(String keyword) {
+            if (!migrator.isApplied(FULLTEXT_MIGRATION)) return null;
+            StringBuilder out = new StringBuilder();
+            StringBuilder group = new StringBuilder();
+            for (String raw : (keyword.trim() + " OR").split("\\s+")) {
+                if (raw.equals("OR")) {
+                    if (group.length() > 0) out.append(out.length() > 0 ? " " : "").append("(").append(group).append(")");
+                    group.setLength(0);
+                    continue;
+                }
+                for (String t : JobSearchIndex.tokenize(raw)) {
+                    if (t.length() < 3) return null;
+                    group.append(group.length() > 0 ? " " : "").append('+').append(t).append('*');
+                }
+            }
+            return out.length() > 0 ? out.toString() : null;
+        }
+
+        // Substring match for LIKE, with the wildcard characters in user input escaped
+        private static String likePattern(String text) {
+            return "%" + prefixPattern(text);
+        }
+
+        private static String prefixPattern(String text) {
+            return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        }
+
+        // Applies the operation's timeout and registers the statement with the caller's QueryCancel
+        static PreparedStatement budget(PreparedStatement ps, StoreOp op) throws SQLException {
+            try {
+                ps.setQueryTimeout(op.queryClass.timeoutSeconds);
+                return QueryCancel.track(ps);
+            } catch (SQLException ex) {
+                ps.close();
+                throw ex;
+            }
+        }
+
+        // DAO calls run on worker threads; the dialog itself has to be shown on the EDT
+        // Failures the single-row methods swallow still count against their operation.
+        // Timeouts and cancellations are thrown as QueryAbortedException instead; the
+        // metrics decorator counts those, since they leave the store as an exception.
+        private static void reportError(StoreOp op, SQLException ex) {
+            QueryAbortedException aborted = QueryAbortedException.of(op, ex);
+            if (aborted != null) throw aborted;
+            op.stats.recordError();
+            ex.printStackTrace();
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, "DB ERROR: " + ex.getMessage()));
+        }
+
+        private User rowToUser(ResultSet rs) throws SQLException {
+            User u = new User();
+            u.id = rs.getInt("id");
+            u.name = rs.getString("name");
+            u.email = rs.getString("email");
+            u.password = rs.getString("password");
+            u.role = rs.getString("role");
+            u.company = rs.getString("company");
+            u.resumeLoaded = false;
+            return u;
+        }
+
+        private static UserSummary rowToUserSummary(ResultSet rs) throws SQLException {
+            UserSummary u = new UserSummary();
+            u.id = rs.getInt("id");
+            u.name = rs.getString("name");
+            u.email = rs.getString("email");
+            u.role = rs.getString("role");
+            return u;
+        }
+
+        private static JobSummary rowToJobSummary(ResultSet rs) throws SQLException {
+            JobSummary j = new JobSummary();
+            j.id = rs.getInt("id");
+            j.title = rs.getString("title");
+            j.location = rs.getString("location");
+            j.salary = rs.getDouble("salary");
+            j.employerId = rs.getInt("employer_id");
+            j.employerName = rs.getString("employer_name");
+            return j;
+        }
+    }
+
+    // ====== IN-MEMORY STORE ======
+    // Embedded single-node engine with the same semantics as the MySQL schema: unique email,
+    // jobs.employer_id SET NULL and applications CASCADE on delete, ids from 1 upwards.
+    // Rows live in int-keyed maps split across lock stripes; the secondary indexes (jobs by
+    // employer, applications by job and by seeker) are sorted id lists, so keyset paging is a
+    // binary search. Multi-table writes lock users -> jobs -> applications, in that order.
+    // Rows are copied on the way in and out, so callers may mutate what they get back.
+    static class InMemoryStore implements PortalStore {
+        private static final int STRIPES = 64; // power of two
+
+        // One table: striped id -> row maps plus the id order for scans and paging
+        private static final class Table<V> {
+            private final IntObjectHashMap<V>[] rows;
+            private final ReentrantReadWriteLock[] locks = new ReentrantReadWriteLock[STRIPES];
+            private final SortedIntList order = new SortedIntList(1024);
+            private final ReentrantReadWriteLock orderLock = new ReentrantReadWriteLock();
+            private final AtomicInteger nextId = new AtomicInteger();
+
+            @SuppressWarnings("unchecked")
+            Table() {
+                rows = (IntObjectHashMap<V>[]) new IntObjectHashMap<?>[STRIPES];
+                for (int i = 0; i < STRIPES; i++) {
+                    rows[i] = new IntObjectHashMap<>(64);
+                    locks[i] = new ReentrantReadWriteLock();
+                }
+            }
+
+            ReentrantReadWriteLock lock(int id) { return locks[IntIntHashMap.mix(id) & (STRIPES - 1)]; }
+
+            // Reads a field or two of a row under its stripe lock
+            <R> R read(int id, Function<V, R> f) {
+                ReentrantReadWriteLock l = lock(id);
+                l.readLock().lock();
+                try {
+                    V v = rows[IntIntHashMap.mix(id) & (STRIPES - 1)].get(id);
+                    return v == null ? null : f.apply(v);
+                } finally {
+                    l.readLock().unlock();
+                }
+            }
+
+            // Caller holds lock(id) for writing
+            void putLocked(int id, V v) {
+                rows[IntIntHashMap.mix(id) & (STRIPES - 1)].put(id, v);
+                orderLock.writeLock().lock();
+                try {
+                    order.add(id);
+                } finally {
+                    orderLock.writeLock().unlock();
+                }
+            }
+
+            V getLocked(int id) { return rows[IntIntHashMap.mix(id) & (STRIPES - 1)].get(id); }
+
+            // Caller holds lock(id) for writing
+            V removeLocked(int id) {
+                V v = rows[IntIntHashMap.mix(id) & (STRIPES - 1)].remove(id);
+                if (v != null) {
+                    orderLock.writeLock().lock();
+                    try {
+                        order.remove(id);
+                    } finally {
+                        orderLock.writeLock().unlock();
+                    }
+                }
+                return v;
+            }
+
+            int size() {
+                orderLock.readLock().lock();
+                try {
+                    return order.size();
+                } finally {
+                    orderLock.readLock().unlock();
+                }
+            }
+
+            // Up to `limit` ids, ascending after `afterId` or descending before `beforeId`
+            // (0 = from the start), skipping `offset` ids first
+            int[] ids(boolean descending, int from, int offset, int limit) {
+                orderLock.readLock().lock();
+                try {
+                    int start;
+                    if (descending) start = (from > 0 ? order.ceilingIndex(from) : order.size()) - 1 - offset;
+                    else start = (from > 0 ? order.ceilingIndex(from + 1) : 0) + offset;
+                    int n = Math.max(0, Math.min(limit, descending ? start + 1 : order.size() - start));
+                    int[] out = new int[n];
+                    for (int i = 0; i < n; i++) out[i] = order.get(descending ? start - i : start + i);
+                    return out;
+                } finally {
+                    orderLock.readLock().unlock();
+                }
+            }
+        }
+
+        // owner id -> sorted child ids, striped by owner
+        private static final class Index {
+            private final IntObjectHashMap<SortedIntList>[] lists;
+            private final ReentrantReadWriteLock[] locks = new ReentrantReadWriteLock[STRIPES];
+
+            @SuppressWarnings("unchecked")
+            Index() {
+                lists = (IntObjectHashMap<SortedIntList>[]) new IntObjectHashMap<?>[STRIPES];
+                for (int i = 0; i < STRIPES; i++) {
+                    lists[i] = new IntObjectHashMap<>(64);
+                    locks[i] = new ReentrantReadWriteLock();
+                }
+            }
+
+            void add(int owner, int id) {
+                if (owner <= 0) return;
+                int s = IntIntHashMap.mix(owner) & (STRIPES - 1);
+                locks[s].writeLock().lock();
+                try {
+                    SortedIntList l = lists[s].get(owner);
+                    if (l == null) lists[s].put(owner, l = new SortedIntList(8));
+                    l.add(id);
+                } finally {
+                    locks[s].writeLock().unlock();
+                }
+            }
+
+            void remove(int owner, int id) {
+                if (owner <= 0) return;
+                int s = IntIntHashMap.mix(owner) & (STRIPES - 1);
+                locks[s].writeLock().lock();
+                try {
+                    SortedIntList l = lists[s].get(owner);
+                    if (l != null && l.remove(id) && l.size() == 0) lists[s].remove(owner);
+                } finally {
+                    locks[s].writeLock().unlock();
+                }
+            }
+
+            int[] removeAll(int owner) {
+                int s = IntIntHashMap.mix(owner) & (STRIPES - 1);
+                locks[s].writeLock().lock();
+                try {
+                    SortedIntList l = lists[s].remove(owner);
+                    return l == null ? new int[0] : l.toArray();
+                } finally {
+                    locks[s].writeLock().unlock();
+                }
+            }
+
+            int[] all(int owner) {
+                int s = IntIntHashMap.mix(owner) & (STRIPES - 1);
+                locks[s].readLock().lock();
+                try {
+                    SortedIntList l = lists[s].get(owner);
+                    return l == null ? new int[0] : l.toArray();
+                } finally {
+                    locks[s].readLock().unlock();
+                }
+            }
+
+            // Up to `limit` ids below `beforeId` (0 = newest), newest first
+            int[] before(int owner, int beforeId, int limit) {
+                int s = IntIntHashMap.mix(owner) & (STRIPES - 1);
+                locks[s].readLock().lock();
+                try {
+                    SortedIntList l = lists[s].get(owner);
+                    if (l == null) return new int[0];
+                    int start = (beforeId > 0 ? l.ceilingIndex(beforeId) : l.size()) - 1;
+                    int[] out = new int[Math.max(0, Math.min(limit, start + 1))];
+                    for (int i = 0; i < out.length; i++) out[i] = l.get(start - i);
+                    return out;
+                } finally {
+                    locks[s].readLock().unlock();
+                }
+            }
+        }
+
+        // Stands in for the updated_at columns and tombstones: every write appends (table, row id)
+        // under the next version, and a delta read re-reads the current state of the rows written
+        // after the caller's version (a row that is gone was deleted). Only the last LOG_CAPACITY
+        // writes are kept; a reader further behind than that has to resync.
+        private static final int LOG_CAPACITY = 1 << 16; // power of two
+        private static final int LOG_USER = 0, LOG_JOB = 1, LOG_APPLICATION = 2;
+
+        private static final class ChangeLog {
+            private final long[] keys = new long[LOG_CAPACITY];
+            private long version; // of the newest entry
+
+            // Called after the write, so whoever sees the version also sees the row
+            synchronized void record(int table, int id) {
+                keys[(int) (++version & (LOG_CAPACITY - 1))] = ((long) table << 32) | (id & 0xFFFFFFFFL);
+            }
+
+            synchronized long version() { return version; }
+
+            // Entries after `since` up to `upTo`; null when some of them were overwritten
+            synchronized long[] after(long since, long upTo) {
+                if (version - since > LOG_CAPACITY) return null;
+                long[] out = new long[(int) Math.max(0, upTo - since)];
+                for (int i = 0; i < out.length; i++) out[i] = keys[(int) ((since + 1 + i) & (LOG_CAPACITY - 1))];
+                return out;
+            }
+        }
+
+        // One entry of a sorted user index on (value, id); values are lower-cased to order and
+        // match the way the case-insensitive column collation does
+        private static final class UserKey implements Comparable<UserKey> {
+            final String value;
+            final int id;
+
+            UserKey(String value, int id) { this.value = value.toLowerCase(Locale.ROOT); this.id = id; }
+
+            public int compareTo(UserKey o) {
+                int c = value.compareTo(o.value);
+                return c != 0 ? c : Integer.compare(id, o.id);
+            }
+
+            @Override public boolean equals(Object o) { return o instanceof UserKey && compareTo((UserKey) o) == 0; }
+
+            @Override public int hashCode() { return 31 * value.hashCode() + id; }
+        }
+
+        private static final int SCAN_CHUNK = 1024;
+
+        private final ChangeLog changes = new ChangeLog();
+        private final Table<User> users = new Table<>();
+        private final Table<Job> jobs = new Table<>();
+        private final Table<ApplicationModel> apps = new Table<>();
+        private final Index jobsByEmployer = new Index();
+        private final Index appsByJob = new Index();
+        private final Index appsBySeeker = new Index();
+        // lower-cased email -> user id; the UNIQUE constraint (MySQL compares emails case-insensitively)
+        private final ConcurrentHashMap<String, Integer> idByEmail = new ConcurrentHashMap<>();
+        // (job_id, seeker_id) -> application id; the unique application key
+        private final ConcurrentHashMap<Long, Integer> appIdByPair = new ConcurrentHashMap<>();
+        // The admin browser's indexes and the user_counts table
+        private final ConcurrentSkipListSet<UserKey> usersByName = new ConcurrentSkipListSet<>();
+        private final ConcurrentSkipListSet<UserKey> usersByEmail = new ConcurrentSkipListSet<>();
+        private final ConcurrentHashMap<String, AtomicInteger> usersPerRole = new ConcurrentHashMap<>();
+
+        public void init() {}
+
+        public void shutdown() {}
+
+        // USERS
+        public User findUserByEmail(String email) {
+            Integer id = idByEmail.get(email.toLowerCase(Locale.ROOT));
+            return id == null ? null : findUserById(id);
+        }
+
+        public User findUserById(int id) { return users.read(id, InMemoryStore::account); }
+
+        public String findResume(int userId) { return users.read(userId, u -> u.resume); }
+
+        public int insertUser(User u) {
+            int id = users.nextId.incrementAndGet();
+            if (idByEmail.putIfAbsent(u.email.toLowerCase(Locale.ROOT), id) != null) return -1; // duplicate email
+            User row = copyUser(u);
+            row.id = id;
+            ReentrantReadWriteLock l = users.lock(id);
+            l.writeLock().lock();
+            try {
+                users.putLocked(id, row);
+                usersByName.add(new UserKey(row.name, id));
+                usersByEmail.add(new UserKey(row.email, id));
+                usersPerRole.computeIfAbsent(row.role, r -> new AtomicInteger()).incrementAndGet();
+            } finally {
+                l.writeLock().unlock();
+            }
+            changes.record(LOG_USER, id);
+            return id;
+        }
+
+        public boolean updateUser(User u) {
+            ReentrantReadWriteLock l = users.lock(u.id);
+            l.writeLock().lock();
+            try {
+                User row = users.getLocked(u.id);
+                if (row == null) return false;
+                String oldKey = row.email.toLowerCase(Locale.ROOT), newKey = u.email.toLowerCase(Locale.ROOT);
+                if (!oldKey.equals(newKey)) {
+                    if (idByEmail.putIfAbsent(newKey, u.id) != null) return false; // taken: the UPDATE would fail
+                    idByEmail.remove(oldKey, u.id);
+                }
+                if (!row.name.equals(u.name)) {
+                    usersByName.remove(new UserKey(row.name, u.id));
+                    usersByName.add(new UserKey(u.name, u.id));
+                }
+                if (!row.email.equals(u.email)) {
+                    usersByEmail.remove(new UserKey(row.email, u.id));
+                    usersByEmail.add(new UserKey(u.email, u.id));
+                }
+                row.name = u.name; row.email = u.email; row.password = u.password;
+                row.company = u.company;
+                if (u.resumeLoaded) row.resume = u.resume;
+                changes.record(LOG_USER, u.id);
+                return true;
+            } finally {
+                l.writeLock().unlock();
+            }
+        }
+
+        public boolean deleteUserById(int id) {
+            ReentrantReadWriteLock l = users.lock(id);
+            l.writeLock().lock();
+            try {
+                User row = users.removeLocked(id);
+                if (row == null) return false;
+                idByEmail.remove(row.email.toLowerCase(Locale.ROOT), id);
+                usersByName.remove(new UserKey(row.name, id));
+                usersByEmail.remove(new UserKey(row.email, id));
+                usersPerRole.get(row.role).decrementAndGet();
+                for (int jobId : jobsByEmployer.removeAll(id)) { // ON DELETE SET NULL
+                    ReentrantReadWriteLock jl = jobs.lock(jobId);
+                    jl.writeLock().lock();
+                    try {
+                        Job j = jobs.getLocked(jobId);
+                        if (j != null) {
+                            j.employerId = 0;
+                            changes.record(LOG_JOB, jobId);
+                        }
+                    } finally {
+                        jl.writeLock().unlock();
+                    }
+                }
+                for (int appId : appsBySeeker.removeAll(id)) deleteApplication(appId); // ON DELETE CASCADE
+                changes.record(LOG_USER, id);
+                return true;
+            } finally {
+                l.writeLock().unlock();
+            }
+        }
+
+        public List<UserSummary> getAllUsers() { return usersFor(users.ids(false, 0, 0, Integer.MAX_VALUE)); }
+
+        public int countUsers(UserQuery q) {
+            if (!q.prefix.isEmpty()) return scanUsers(q, 0, null, UserQuery.COUNT_CAP + 1).size();
+            if (q.role.isEmpty()) return users.size();
+            AtomicInteger n = usersPerRole.get(q.role);
+            return n == null ? 0 : n.get();
+        }
+
+        public List<UserSummary> getUsersBlock(UserQuery q, int offset, UserSummary after, int limit) {
+            if (q.isUnfiltered() && q.sort == UserQuery.Sort.ID) {
+                return usersFor(users.ids(q.descending, after == null ? 0 : after.id, after == null ? offset : 0, limit));
+            }
+            return scanUsers(q, after == null ? offset : 0, after, limit);
+        }
+
+        // Walks the sort's index from `after` (or the start of the prefix range), filtering on
+        // the role and stopping once past the prefix: the same range the SQL query reads
+        private List<UserSummary> scanUsers(UserQuery q, int offset, UserSummary after, int limit) {
+            List<UserSummary> out = new ArrayList<>();
+            String prefix = q.prefix.toLowerCase(Locale.ROOT);
+            PrimitiveIterator.OfInt walk;
+            if (q.sort == UserQuery.Sort.ID) {
+                if (!prefix.isEmpty()) {
+                    int id = q.prefixId();
+                    if (after != null || id <= 0) return out;
+                    walk = Arrays.stream(new int[] {id}).iterator();
+                } else {
+                    walk = idWalk(q.descending, after == null ? 0 : after.id);
+                }
+            } else {
+                boolean byName = q.sort == UserQuery.Sort.NAME;
+                NavigableSet<UserKey> index = byName ? usersByName : usersByEmail;
+                if (after != null) {
+                    UserKey from = new UserKey(byName ? after.name : after.email, after.id);
+                    index = q.descending ? index.headSet(from, false) : index.tailSet(from, false);
+                } else if (!prefix.isEmpty()) {
+                    index = q.descending ? index.headSet(new UserKey(prefix + Character.MAX_VALUE, Integer.MAX_VALUE), true)
+                                         : index.tailSet(new UserKey(prefix, Integer.MIN_VALUE), true);
+                }
+                Iterator<UserKey> keys = q.descending ? index.descendingIterator() : index.iterator();
+                walk = new PrimitiveIterator.OfInt() {
+                    private UserKey next = advance();
+
+                    private UserKey advance() {
+                        if (!keys.hasNext()) return null;
+                        UserKey k = keys.next();
+                        return k.value.startsWith(prefix) ? k : null;
+                    }
+
+                    public boolean hasNext() { return next != null; }
+
+                    public int nextInt() {
+                        if (next == null) throw new NoSuchElementException();
+                        int id = next.id;
+                        next = advance();
+                        return id;
+                    }
+                };
+            }
+            int skip = offset;
+            while (out.size() < limit && walk.hasNext()) {
+                UserSummary u = users.read(walk.nextInt(), InMemoryStore::userSummary);
+                if (u == null || (!q.role.isEmpty() && !q.role.equals(u.role))) continue;
+                if (skip > 0) skip--;
+                else out.add(u);
+            }
+            return out;
+        }
+
+        // The id order in chunks, ascending after `from` or descending before it (0 = from the start)
+        private PrimitiveIterator.OfInt idWalk(boolean descending, int from) {
+            return new PrimitiveIterator.OfInt() {
+                private int[] chunk = new int[0];
+                private int i, cursor = from;
+
+                public boolean hasNext() {
+                    if (i < chunk.length) return true;
+                    chunk = users.ids(descending, cursor, 0, SCAN_CHUNK);
+                    i = 0;
+                    if (chunk.length == 0) return false;
+                    cursor = chunk[chunk.length - 1];
+                    return true;
+                }
+
+                public int nextInt() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    return chunk[i++];
+                }
+            };
+        }
+
+        // JOBS
+        public int insertJob(Job j) {
+            Job row = copyJob(j);
+            row.employerName = null; // derived from users on read
+            return insertJobRow(row);
+        }
+
+        private int insertJobRow(Job row) {
+            if (row.employerId <= 0) {
+                row.employerId = 0;
+                return putJob(row);
+            }
+            // hold the employer's stripe so a concurrent delete cannot orphan the job
+            ReentrantReadWriteLock ul = users.lock(row.employerId);
+            ul.readLock().lock();
+            try {
+                if (users.getLocked(row.employerId) == null) return -1; // FK violation
+                int id = putJob(row);
+                jobsByEmployer.add(row.employerId, id);
+                return id;
+            } finally {
+                ul.readLock().unlock();
+            }
+        }
+
+        private int putJob(Job row) {
+            int id = jobs.nextId.incrementAndGet();
+            row.id = id;
+            ReentrantReadWriteLock l = jobs.lock(id);
+            l.writeLock().lock();
+            try {
+                jobs.putLocked(id, row);
+            } finally {
+                l.writeLock().unlock();
+            }
+            changes.record(LOG_JOB, id);
+            return id;
+        }
+
+        // All or nothing, like the JDBC transaction
+        public int[] insertJobsBatch(List<Job> batch) throws SQLException {
+            int[] ids = new int[batch.size()];
+            for (int i = 0; i < ids.length; i++) {
+                Job row = copyJob(batch.get(i));
+                row.employerName = null;
+                ids[i] = insertJobRow(row);
+                if (ids[i] < 0) {
+                    for (int k = 0; k < i; k++) deleteJobById(ids[k]);
+                    throw new SQLException("Cannot add job: employer " + batch.get(i).employerId + " does not exist", "23000");
+                }
+            }
+            return ids;
+        }
+
+        public boolean deleteJobById(int id) {
+            Integer employerId = jobs.read(id, j -> j.employerId);
+            if (employerId == null) return false;
+            ReentrantReadWriteLock ul = employerId > 0 ? users.lock(employerId) : null;
+            if (ul != null) ul.readLock().lock();
+            try {
+                ReentrantReadWriteLock l = jobs.lock(id);
+                l.writeLock().lock();
+                try {
+                    Job row = jobs.removeLocked(id);
+                    if (row == null) return false;
+                    jobsByEmployer.remove(row.employerId, id);
+                    for (int appId : appsByJob.removeAll(id)) deleteApplication(appId); // ON DELETE CASCADE
+                    changes.record(LOG_JOB, id);
+                    return true;
+                } finally {
+                    l.writeLock().unlock();
+                }
+            } finally {
+                if (ul != null) ul.readLock().unlock();
+            }
+        }
+
+        public JobSummary findJobById(int id) {
+            JobSummary j = jobs.read(id, InMemoryStore::jobSummary);
+            if (j != null) j.employerName = employerName(j.employerId);
+            return j;
+        }
+
+        public String findJobDescription(int jobId) { return jobs.read(jobId, j -> j.description); }
+
+        public List<JobSummary> getAllJobs() { return jobsFor(jobs.ids(true, 0, 0, Integer.MAX_VALUE), InMemoryStore::jobSummary); }
+
+        public List<Job> getAllJobDocuments() { return jobsFor(jobs.ids(true, 0, 0, Integer.MAX_VALUE), InMemoryStore::copyJob); }
+
+        public int countJobs() { return jobs.size(); }
+
+        public List<JobSummary> getJobsBlock(int offset, int beforeId, int limit) {
+            return jobsFor(jobs.ids(true, beforeId, beforeId > 0 ? 0 : offset, limit), InMemoryStore::jobSummary);
+        }
+
+        // Newest-first scan in chunks of the id order, filtering as it goes
+        public JobPage searchJobs(JobSearchCriteria criteria, int afterId, int limit) {
+            List<JobSummary> out = new ArrayList<>();
+            int cursor = afterId;
+            while (out.size() <= limit) {
+                int[] ids = jobs.ids(true, cursor, 0, SCAN_CHUNK);
+                if (ids.length == 0) break;
+                for (int i = 0; i < ids.length && out.size() <= limit; i++) {
+                    JobSummary j = jobs.read(ids[i], row -> matches(row, criteria) ? jobSummary(row) : null);
+                    if (j != null) {
+                        j.employerName = employerName(j.employerId);
+                        out.add(j);
+                    }
+                }
+                cursor = ids[ids.length - 1];
+            }
+            if (out.size() > limit) {
+                out.remove(limit);
+                return new JobPage(out, out.get(limit - 1).id);
+            }
+            return new JobPage(out, 0);
+        }
+
+        public JobPage getJobsByEmployer(int employerId, int afterId, int limit) {
+            int[] ids = jobsByEmployer.before(employerId, afterId, limit + 1);
+            List<JobSummary> out = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                JobSummary j = jobs.read(id, InMemoryStore::jobSummary);
+                if (j != null) out.add(j);
+            }
+            if (out.size() > limit) {
+                out.remove(limit);
+                return new JobPage(out, out.get(limit - 1).id);
+            }
+            return new JobPage(out, 0);
+        }
+
+        // APPLICATIONS
+        public ApplyResult applyToJob(int jobId, int seekerId) {
+            ReentrantReadWriteLock ul = users.lock(seekerId);
+            ul.readLock().lock();
+            try {
+                ReentrantReadWriteLock jl = jobs.lock(jobId);
+                jl.readLock().lock();
+                try {
+                    if (users.getLocked(seekerId) == null || jobs.getLocked(jobId) == null) return null; // FK violation
+                    int id = apps.nextId.incrementAndGet(); // burnt on a repeat, like AUTO_INCREMENT
+                    for (;;) {
+                        Integer existing = appIdByPair.putIfAbsent(pair(jobId, seekerId), id);
+                        if (existing == null) break;
+                        ApplicationModel a = apps.read(existing, InMemoryStore::copyApplication);
+                        if (a != null) return new ApplyResult(a, false);
+                        // lost a race with a cascade delete that has not released the key yet
+                        appIdByPair.remove(pair(jobId, seekerId), existing);
+                    }
+                    ApplicationModel a = new ApplicationModel();
+                    a.id = id;
+                    a.jobId = jobId;
+                    a.seekerId = seekerId;
+                    a.status = "APPLIED";
+                    ReentrantReadWriteLock l = apps.lock(id);
+                    l.writeLock().lock();
+                    try {
+                        apps.putLocked(id, a);
+                    } finally {
+                        l.writeLock().unlock();
+                    }
+                    appsByJob.add(jobId, id);
+                    appsBySeeker.add(seekerId, id);
+                    changes.record(LOG_APPLICATION, id);
+                    return new ApplyResult(copyApplication(a), true);
+                } finally {
+                    jl.readLock().unlock();
+                }
+            } finally {
+                ul.readLock().unlock();
+            }
+        }
+
+        private static long pair(int jobId, int seekerId) { return ((long) jobId << 32) | (seekerId & 0xFFFFFFFFL); }
+
+        // Cascade helper; the caller already detached the id from one of the indexes
+        private void deleteApplication(int appId) {
+            ReentrantReadWriteLock l = apps.lock(appId);
+            l.writeLock().lock();
+            try {
+                ApplicationModel a = apps.removeLocked(appId);
+                if (a == null) return;
+                appIdByPair.remove(pair(a.jobId, a.seekerId), appId);
+                appsByJob.remove(a.jobId, appId);
+                appsBySeeker.remove(a.seekerId, appId);
+                changes.record(LOG_APPLICATION, appId);
+            } finally {
+                l.writeLock().unlock();
+            }
+        }
+
+        // Merges the employer's per-job lists newest first. Each job starts with just its newest
+        // id below afterId and fetches more only once that is taken, so a page costs the
+        // employer's job count plus the page size, not their total applications.
+        public ApplicationPage getApplicationsForEmployer(int employerId, int afterId, int limit) {
+            int[] jobIds = jobsByEmployer.all(employerId);
+            int[][] runs = new int[jobIds.length][];
+            int[] pos = new int[jobIds.length];
+            PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, jobIds.length),
+                (x, y) -> Integer.compare(runs[y][pos[y]], runs[x][pos[x]]));
+            for (int i = 0; i < jobIds.length; i++) {
+                runs[i] = appsByJob.before(jobIds[i], afterId, 1);
+                if (runs[i].length > 0) heads.add(i);
+            }
+            int[] newest = new int[limit + 1];
+            int n = 0;
+            while (n < newest.length && !heads.isEmpty()) {
+                int i = heads.poll();
+                newest[n++] = runs[i][pos[i]++];
+                if (pos[i] == runs[i].length) { // the rest of the page could all come from this job
+                    runs[i] = appsByJob.before(jobIds[i], newest[n - 1], newest.length - n);
+                    pos[i] = 0;
+                }
+                if (pos[i] < runs[i].length) heads.add(i);
+            }
+            return applicationPage(Arrays.copyOf(newest, n), limit);
+        }
+
+        public ApplicationPage getApplicationsForSeeker(int seekerId, int afterId, int limit) {
+            return applicationPage(appsBySeeker.before(seekerId, afterId, limit + 1), limit);
+        }
+
+        private ApplicationPage applicationPage(int[] ids, int limit) {
+            List<ApplicationView> out = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                ApplicationView a = findApplicationView(id);
+                if (a != null) out.add(a);
+            }
+            if (out.size() > limit) {
+                out.remove(limit);
+                return new ApplicationPage(out, out.get(limit - 1).id);
+            }
+            return new ApplicationPage(out, 0);
+        }
+
+        public ApplicationView findApplicationView(int appId) {
+            ApplicationView v = apps.read(appId, a -> {
+                ApplicationView c = new ApplicationView();
+                c.id = a.id; c.jobId = a.jobId; c.seekerId = a.seekerId; c.status = a.status;
+                return c;
+            });
+            if (v == null) return null;
+            JobSummary j = jobs.read(v.jobId, InMemoryStore::jobSummary);
+            if (j == null) return null; // being cascaded away
+            v.jobTitle = j.title;
+            v.seekerName = users.read(v.seekerId, u -> u.name);
+            v.company = j.employerId > 0 ? users.read(j.employerId, u -> u.company) : null;
+            return v;
+        }
+
+        public boolean updateApplicationStatus(int appId, String status) {
+            ReentrantReadWriteLock l = apps.lock(appId);
+            l.writeLock().lock();
+            try {
+                ApplicationModel a = apps.getLocked(appId);
+                if (a == null) return false;
+                a.status = status;
+                changes.record(LOG_APPLICATION, appId);
+                return true;
+            } finally {
+                l.writeLock().unlock();
+            }
+        }
+
+        public void flushWrites(List<PendingWrite> writes) {
+            for (PendingWrite w : writes) {
+                if (w.kind == PendingWrite.Kind.APPLY) {
+                    ApplyResult r = applyToJob(w.jobId, w.seekerId);
+                    w.application = r != null ? r.application : null;
+                    w.created = r != null && r.created;
+                } else {
+                    w.found = updateApplicationStatus(w.appId, w.status);
+                }
+            }
+        }
+
+        // DELTA REFRESH: the watermark is a ChangeLog version
+        public long changeWatermark() { return changes.version(); }
+
+        public ChangeSet<JobSummary> getJobChanges(long since) {
+            long upTo = changes.version();
+            long[] keys = changes.after(since, upTo);
+            if (keys == null) return new ChangeSet<>(Collections.emptyList(), new int[0], upTo, true);
+            SortedIntList ids = new SortedIntList(keys.length);
+            for (long k : keys) {
+                int table = (int) (k >>> 32), id = (int) k;
+                if (table == LOG_JOB) ids.add(id);
+                else if (table == LOG_USER) for (int jobId : jobsByEmployer.all(id)) ids.add(jobId); // employer renames
+            }
+            List<JobSummary> changed = new ArrayList<>();
+            SortedIntList deleted = new SortedIntList(8);
+            for (int i = ids.size() - 1; i >= 0; i--) {
+                JobSummary j = findJobById(ids.get(i));
+                if (j != null) changed.add(j);
+                else deleted.add(ids.get(i));
+            }
+            return new ChangeSet<>(changed, deleted.toArray(), upTo, false);
+        }
+
+        public ChangeSet<ApplicationView> getApplicationChangesForEmployer(int employerId, long since) {
+            long upTo = changes.version();
+            long[] keys = changes.after(since, upTo);
+            if (keys == null) return new ChangeSet<>(Collections.emptyList(), new int[0], upTo, true);
+            SortedIntList ids = new SortedIntList(keys.length);
+            for (long k : keys) {
+                int table = (int) (k >>> 32), id = (int) k;
+                if (table == LOG_APPLICATION) ids.add(id);
+                else if (table == LOG_USER) for (int appId : appsBySeeker.all(id)) ids.add(appId); // seeker renames
+            }
+            List<ApplicationView> changed = new ArrayList<>();
+            SortedIntList deleted = new SortedIntList(8);
+            for (int i = ids.size() - 1; i >= 0; i--) {
+                ApplicationView a = findApplicationView(ids.get(i));
+                if (a == null) {
+                    deleted.add(ids.get(i));
+                    continue;
+                }
+                Integer owner = jobs.read(a.jobId, j -> j.employerId);
+                if (owner != null && owner == employerId) changed.add(a);
+            }
+            return new ChangeSet<>(changed, deleted.toArray(), upTo, false);
+        }
+
+        // EXPORTS: same columns as the SQL versions
+        public long exportJobs(JobSearchCriteria criteria, CsvExport out) throws SQLException, IOException {
+            return exportJobIds(new String[]{"id", "title", "company", "location", "salary", "description"},
+                                jobs.ids(true, 0, 0, Integer.MAX_VALUE), criteria, true, out);
+        }
+
+        public long exportJobsById(int[] ids, CsvExport out) throws SQLException, IOException {
+            return exportJobIds(new String[]{"id", "title", "company", "location", "salary", "description"},
+                                ids, new JobSearchCriteria(), true, out);
+        }
+
+        public long exportEmployerJobs(int employerId, CsvExport out) throws SQLException, IOException {
+            return exportJobIds(new String[]{"id", "title", "location", "salary", "description"},
+                                jobsByEmployer.before(employerId, 0, Integer.MAX_VALUE), new JobSearchCriteria(), false, out);
+        }
+
+        private long exportJobIds(String[] header, int[] ids, JobSearchCriteria criteria, boolean withCompany, CsvExport out) throws SQLException, IOException {
+            int[] next = {0};
+            return out.write(header, row -> {
+                while (next[0] < ids.length) {
+                    Job j = jobs.read(ids[next[0]++], r -> matches(r, criteria) ? copyJob(r) : null);
+                    if (j == null) continue;
+                    int c = 0;
+                    row[c++] = String.valueOf(j.id);
+                    row[c++] = j.title;
+                    if (withCompany) row[c++] = employerName(j.employerId);
+                    row[c++] = j.location;
+                    row[c++] = salaryText(j.salary);
+                    row[c] = j.description;
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        public long exportApplicationsForSeeker(int seekerId, CsvExport out) throws SQLException, IOException {
+            int[] ids = appsBySeeker.all(seekerId);
+            int[] next = {ids.length - 1};
+            return out.write(new String[]{"application_id", "job_id", "title", "company", "status"}, row -> {
+                while (next[0] >= 0) {
+                    ApplicationModel a = apps.read(ids[next[0]--], InMemoryStore::copyApplication);
+                    if (a == null) continue;
+                    JobSummary j = jobs.read(a.jobId, InMemoryStore::jobSummary);
+                    if (j == null) continue;
+                    row[0] = String.valueOf(a.id);
+                    row[1] = String.valueOf(a.jobId);
+                    row[2] = j.title;
+                    row[3] = employerName(j.employerId);
+                    row[4] = a.status;
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        // ---- helpers
+        private String employerName(int employerId) {
+            return employerId > 0 ? users.read(employerId, u -> u.name) : null;
+        }
+
+        private List<UserSummary> usersFor(int[] ids) {
+            List<UserSummary> out = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                UserSummary u = users.read(id, InMemoryStore::userSummary);
+                if (u != null) out.add(u);
+            }
+            return out;
+        }
+
+        private <T extends JobSummary> List<T> jobsFor(int[] ids, Function<Job, T> copy) {
+            List<T> out = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                T j = jobs.read(id, copy);
+                if (j != null) {
+                    j.employerName = employerName(j.employerId);
+                    out.add(j);
+                }
+            }
+            return out;
+        }
+
+        // Same predicates as appendJobFilters' LIKE fallback (case-insensitive substring)
+        private static boolean matches(Job j, JobSearchCriteria c) {
+            if (!c.keyword.isEmpty() && !containsIgnoreCase(j.title, c.keyword) && !containsIgnoreCase(j.description, c.keyword)) return false;
+            if (!c.location.isEmpty() && !containsIgnoreCase(j.location, c.location)) return false;
+            return c.minSalary <= 0 || j.salary >= c.minSalary;
+        }
+
+        private static boolean containsIgnoreCase(String text, String part) {
+            if (text == null) return false;
+            for (int i = 0, last = text.length() - part.length(); i <= last; i++) {
+                if (text.regionMatches(true, i, part, 0, part.length())) return true;
+            }
+            return false;
+        }
+
+        // MySQL renders whole DOUBLEs without a fraction
+        private static String salaryText(double salary) {
+            return salary == Math.rint(salary) && Math.abs(salary) < 1e15 ? Long.toString((long) salary) : Double.toString(salary);
+        }
+
+        private static User copyUser(User u) {
+            User c = new User();
+            c.id = u.id; c.name = u.name; c.email = u.email; c.password = u.password;
+            c.role = u.role; c.company = u.company; c.resume = u.resume;
+            return c;
+        }
+
+        // USER_ACCOUNT_COLUMNS: the row minus the resume
+        private static User account(User u) {
+            User c = new User();
+            c.id = u.id; c.name = u.name; c.email = u.email; c.password = u.password;
+            c.role = u.role; c.company = u.company; c.resumeLoaded = false;
+            return c;
+        }
+
+        // Columns of the admin block query: no password, company or resume
+        private static UserSummary userSummary(User u) {
+            UserSummary c = new UserSummary();
+            c.id = u.id; c.name = u.name; c.email = u.email; c.role = u.role;
+            return c;
+        }
+
+        private static Job copyJob(Job j) {
+            Job c = new Job();
+            c.id = j.id; c.title = j.title; c.description = j.description; c.location = j.location;
+            c.salary = j.salary; c.employerId = j.employerId; c.employerName = j.employerName;
+            return c;
+        }
+
+        // Listing columns: no description
+        private static JobSummary jobSummary(Job j) {
+            JobSummary c = new JobSummary();
+            c.id = j.id; c.title = j.title; c.location = j.location; c.salary = j.salary; c.employerId = j.employerId;
+            return c;
+        }
+
+        private static ApplicationModel copyApplication(ApplicationModel a) {
+            ApplicationModel c = new ApplicationModel();
+            c.id = a.id; c.jobId = a.jobId; c.seekerId = a.seekerId; c.status = a.status;
+            return c;
+        }
+    }
+
+    // ====== INSTRUMENTED STORE ======
+    // Decorator timing every PortalStore call into its StoreOp: latency, calls, rows returned
+    // and calls that threw. Plain try/finally and primitive locals, so nothing is allocated
+    // per call and it can stay on in production.
+    static class InstrumentedStore implements PortalStore {
+        private final PortalStore store;
+
+        InstrumentedStore(PortalStore store) {
+            this.store = store;
+        }
+
+        public void init() throws SQLException { store.init(); }
+
+        public void shutdown() { store.shutdown(); }
+
+        public User findUserByEmail(String email) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                User r = store.findUserByEmail(email);
+                rows = r != null ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.FIND_USER_BY_EMAIL.stats.record(t, rows);
+            }
+        }
+
+        public User findUserById(int id) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                User r = store.findUserById(id);
+                rows = r != null ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.FIND_USER_BY_ID.stats.record(t, rows);
+            }
+        }
+
+        public String findResume(int userId) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                String r = store.findResume(userId);
+                rows = r != null ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.FIND_RESUME.stats.record(t, rows);
+            }
+        }
+
+        public int insertUser(User u) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                int r = store.insertUser(u);
+                rows = r > 0 ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.INSERT_USER.stats.record(t, rows);
+            }
+        }
+
+        public boolean updateUser(User u) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                boolean r = store.updateUser(u);
+                rows = r ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.UPDATE_USER.stats.record(t, rows);
+            }
+        }
+
+        public boolean deleteUserById(int id) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                boolean r = store.deleteUserById(id);
+                rows = r ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.DELETE_USER_BY_ID.stats.record(t, rows);
+            }
+        }
+
+        public List<UserSummary> getAllUsers() {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                List<UserSummary> r = store.getAllUsers();
+                rows = r.size();
+                return r;
+            } finally {
+                StoreOp.GET_ALL_USERS.stats.record(t, rows);
+            }
+        }
+
+        public int countUsers(UserQuery query) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                int r = store.countUsers(query);
+                rows = 1;
+                return r;
+            } finally {
+                StoreOp.COUNT_USERS.stats.record(t, rows);
+            }
+        }
+
+        public List<UserSummary> getUsersBlock(UserQuery query, int offset, UserSummary after, int limit) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                List<UserSummary> r = store.getUsersBlock(query, offset, after, limit);
+                rows = r.size();
+                return r;
+            } finally {
+                StoreOp.GET_USERS_BLOCK.stats.record(t, rows);
+            }
+        }
+
+        public int insertJob(Job j) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                int r = store.insertJob(j);
+                rows = r > 0 ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.INSERT_JOB.stats.record(t, rows);
+            }
+        }
+
+        public int[] insertJobsBatch(List<Job> jobs) throws SQLException {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                int[] r = store.insertJobsBatch(jobs);
+                rows = r.length;
+                return r;
+            } finally {
+                StoreOp.INSERT_JOBS_BATCH.stats.record(t, rows);
+            }
+        }
+
+        public boolean deleteJobById(int id) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                boolean r = store.deleteJobById(id);
+                rows = r ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.DELETE_JOB_BY_ID.stats.record(t, rows);
+            }
+        }
+
+        public JobSummary findJobById(int id) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                JobSummary r = store.findJobById(id);
+                rows = r != null ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.FIND_JOB_BY_ID.stats.record(t, rows);
+            }
+        }
+
+        public String findJobDescription(int jobId) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                String r = store.findJobDescription(jobId);
+                rows = r != null ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.FIND_JOB_DESCRIPTION.stats.record(t, rows);
+            }
+        }
+
+        public List<JobSummary> getAllJobs() {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                List<JobSummary> r = store.getAllJobs();
+                rows = r.size();
+                return r;
+            } finally {
+                StoreOp.GET_ALL_JOBS.stats.record(t, rows);
+            }
+        }
+
+        public List<Job> getAllJobDocuments() {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                List<Job> r = store.getAllJobDocuments();
+                rows = r.size();
+                return r;
+            } finally {
+                StoreOp.GET_ALL_JOB_DOCUMENTS.stats.record(t, rows);
+            }
+        }
+
+        public int countJobs() {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                int r = store.countJobs();
+                rows = 1;
+                return r;
+            } finally {
+                StoreOp.COUNT_JOBS.stats.record(t, rows);
+            }
+        }
+
+        public List<JobSummary> getJobsBlock(int offset, int beforeId, int limit) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                List<JobSummary> r = store.getJobsBlock(offset, beforeId, limit);
+                rows = r.size();
+                return r;
+            } finally {
+                StoreOp.GET_JOBS_BLOCK.stats.record(t, rows);
+            }
+        }
+
+        public JobPage searchJobs(JobSearchCriteria criteria, int afterId, int limit) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                JobPage r = store.searchJobs(criteria, afterId, limit);
+                rows = r.jobs.size();
+                return r;
+            } finally {
+                StoreOp.SEARCH_JOBS.stats.record(t, rows);
+            }
+        }
+
+        public JobPage getJobsByEmployer(int employerId, int afterId, int limit) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                JobPage r = store.getJobsByEmployer(employerId, afterId, limit);
+                rows = r.jobs.size();
+                return r;
+            } finally {
+                StoreOp.GET_JOBS_BY_EMPLOYER.stats.record(t, rows);
+            }
+        }
+
+        public ApplyResult applyToJob(int jobId, int seekerId) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                ApplyResult r = store.applyToJob(jobId, seekerId);
+                rows = r != null ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.APPLY_TO_JOB.stats.record(t, rows);
+            }
+        }
+
+        public ApplicationPage getApplicationsForEmployer(int employerId, int afterId, int limit) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                ApplicationPage r = store.getApplicationsForEmployer(employerId, afterId, limit);
+                rows = r.apps.size();
+                return r;
+            } finally {
+                StoreOp.GET_APPLICATIONS_FOR_EMPLOYER.stats.record(t, rows);
+            }
+        }
+
+        public ApplicationPage getApplicationsForSeeker(int seekerId, int afterId, int limit) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                ApplicationPage r = store.getApplicationsForSeeker(seekerId, afterId, limit);
+                rows = r.apps.size();
+                return r;
+            } finally {
+                StoreOp.GET_APPLICATIONS_FOR_SEEKER.stats.record(t, rows);
+            }
+        }
+
+        public ApplicationView findApplicationView(int appId) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                ApplicationView r = store.findApplicationView(appId);
+                rows = r != null ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.FIND_APPLICATION_VIEW.stats.record(t, rows);
+            }
+        }
+
+        public boolean updateApplicationStatus(int appId, String status) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                boolean r = store.updateApplicationStatus(appId, status);
+                rows = r ? 1 : 0;
+                return r;
+            } finally {
+                StoreOp.UPDATE_APPLICATION_STATUS.stats.record(t, rows);
+            }
+        }
+
+        public void flushWrites(List<PendingWrite> writes) throws SQLException {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                store.flushWrites(writes);
+                rows = writes.size();
+            } finally {
+                StoreOp.FLUSH_WRITES.stats.record(t, rows);
+            }
+        }
+
+        public long changeWatermark() {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                long r = store.changeWatermark();
+                rows = r >= 0 ? 1 : -1;
+                return r;
+            } finally {
+                StoreOp.CHANGE_WATERMARK.stats.record(t, rows);
+            }
+        }
+
+        public ChangeSet<JobSummary> getJobChanges(long since) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                ChangeSet<JobSummary> r = store.getJobChanges(since);
+                rows = r != null ? r.changed.size() + r.deleted.length : -1;
+                return r;
+            } finally {
+                StoreOp.GET_JOB_CHANGES.stats.record(t, rows);
+            }
+        }
+
+        public ChangeSet<ApplicationView> getApplicationChangesForEmployer(int employerId, long since) {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                ChangeSet<ApplicationView> r = store.getApplicationChangesForEmployer(employerId, since);
+                rows = r != null ? r.changed.size() + r.deleted.length : -1;
+                return r;
+            } finally {
+                StoreOp.GET_APPLICATION_CHANGES_FOR_EMPLOYER.stats.record(t, rows);
+            }
+        }
+
+        public long exportJobs(JobSearchCriteria criteria, CsvExport out) throws SQLException, IOException {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                long r = store.exportJobs(criteria, out);
+                rows = r;
+                return r;
+            } finally {
+                StoreOp.EXPORT_JOBS.stats.record(t, rows);
+            }
+        }
+
+        public long exportJobsById(int[] ids, CsvExport out) throws SQLException, IOException {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                long r = store.exportJobsById(ids, out);
+                rows = r;
+                return r;
+            } finally {
+                StoreOp.EXPORT_JOBS.stats.record(t, rows);
+            }
+        }
+
+        public long exportEmployerJobs(int employerId, CsvExport out) throws SQLException, IOException {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                long r = store.exportEmployerJobs(employerId, out);
+                rows = r;
+                return r;
+            } finally {
+                StoreOp.EXPORT_EMPLOYER_JOBS.stats.record(t, rows);
+            }
+        }
+
+        public long exportApplicationsForSeeker(int seekerId, CsvExport out) throws SQLException, IOException {
+            long t = System.nanoTime(), rows = -1;
+            try {
+                long r = store.exportApplicationsForSeeker(seekerId, out);
+                rows = r;
+                return r;
+            } finally {
+                StoreOp.EXPORT_APPLICATIONS_FOR_SEEKER.stats.record(t, rows);
+            }
+        }
+    }
+
+    // ====== WRITE-BEHIND JOURNAL ======
+    // Local append-only log of application writes (applies, status changes) waiting for the
+    // database, for deployments on a slow or flaky link to a remote MySQL host. A write is
+    // durable once its line is forced to disk; the service's drainer marks it committed after
+    // the store has applied it. On open, lines without a commit mark are pending again. The
+    // store side is idempotent (INSERT IGNORE on job + seeker, status set to a value), so a
+    // write replayed twice after a crash still lands once. A write the store turns down (job
+    // or seeker gone, application gone) is committed too, and the service publishes it as
+    // REJECTED so the row that showed it as pending says so.
+    // One line per record: "A seq jobId seekerId", "S seq appId status", "C seq".
+    static class PendingWrite {
+        enum Kind { APPLY, STATUS }
+
+        final long seq;
+        final Kind kind;
+        final int jobId;
+        final int seekerId;
+        final int appId;
+        final String status;
+        // set by PortalStore.flushWrites
+        ApplicationModel application; // APPLY: the row after the flush, null when the job does not exist
+        boolean created;              // APPLY: this flush inserted it
+        boolean found;                // STATUS: the application exists
+
+        PendingWrite(long seq, Kind kind, int jobId, int seekerId, int appId, String status) {
+            this.seq = seq;
+            this.kind = kind;
+            this.jobId = jobId;
+            this.seekerId = seekerId;
+            this.appId = appId;
+            this.status = status;
+        }
+
+        long pairKey() { return pairKey(jobId, seekerId); }
+
+        static long pairKey(int jobId, int seekerId) { return ((long) jobId << 32) | (seekerId & 0xFFFFFFFFL); }
+    }
+
+    static class WriteJournal implements AutoCloseable {
+        private final FileChannel channel;
+        private final Map<Long, PendingWrite> pending = new LinkedHashMap<>(); // seq order; guarded by this
+        private long nextSeq = 1;
+
+        WriteJournal(Path file) throws IOException {
+            byte[] existing = Files.exists(file) ? Files.readAllBytes(file) : new byte[0];
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            String text = new String(existing, StandardCharsets.US_ASCII);
+            int end = text.lastIndexOf('\n') + 1; // a torn last line (crash mid-append) never got its fsync: drop it
+            for (String line : text.substring(0, end).split("\n")) replay(line);
+            channel.truncate(end);
+            channel.position(end);
+        }
+
+        private void replay(String line) {
+            if (line.isEmpty()) return;
+            String[] f = line.split(" ");
+            try {
+                long seq = Long.parseLong(f[1]);
+                nextSeq = Math.max(nextSeq, seq + 1);
+                switch (f[0]) {
+                    case "A": pending.put(seq, new PendingWrite(seq, PendingWrite.Kind.APPLY, Integer.parseInt(f[2]), Integer.parseInt(f[3]), 0, null)); break;
+                    case "S": pending.put(seq, new PendingWrite(seq, PendingWrite.Kind.STATUS, 0, 0, Integer.parseInt(f[2]), f[3])); break;
+                    case "C": pending.remove(seq); break;
+                    default: break;
+                }
+            } catch (RuntimeException ex) {
+                System.err.println("Skipping unreadable journal line: " + line);
+            }
+        }
+
+        synchronized PendingWrite apply(int jobId, int seekerId) throws IOException {
+            return append(new PendingWrite(nextSeq, PendingWrite.Kind.APPLY, jobId, seekerId, 0, null));
+        }
+
+        synchronized PendingWrite status(int appId, String status) throws IOException {
+            return append(new PendingWrite(nextSeq, PendingWrite.Kind.STATUS, 0, 0, appId, status));
+        }
+
+        private PendingWrite append(PendingWrite w) throws IOException {
+            write(w.kind == PendingWrite.Kind.APPLY
+                ? "A " + w.seq + " " + w.jobId + " " + w.seekerId + "\n"
+                : "S " + w.seq + " " + w.appId + " " + w.status + "\n");
+            nextSeq++;
+            pending.put(w.seq, w);
+            return w;
+        }
+
+        synchronized List<PendingWrite> pending() { return new ArrayList<>(pending.values()); }
+
+        // The pending apply for this job and seeker, or null
+        synchronized PendingWrite pendingApply(int jobId, int seekerId) {
+            long key = PendingWrite.pairKey(jobId, seekerId);
+            for (PendingWrite w : pending.values()) {
+                if (w.kind == PendingWrite.Kind.APPLY && w.pairKey() == key) return w;
+            }
+            return null;
+        }
+
+        synchronized boolean hasPendingStatus(int appId) {
+            for (PendingWrite w : pending.values()) {
+                if (w.kind == PendingWrite.Kind.STATUS && w.appId == appId) return true;
+            }
+            return false;
+        }
+
+        // Once nothing is left to replay the file starts over, so it never grows past one backlog
+        synchronized void commit(List<PendingWrite> done) throws IOException {
+            StringBuilder marks = new StringBuilder();
+            for (PendingWrite w : done) {
+                if (pending.remove(w.seq) != null) marks.append("C ").append(w.seq).append('\n');
+            }
+            if (pending.isEmpty()) {
+                channel.truncate(0);
+                channel.force(false);
+            } else if (marks.length() > 0) {
+                write(marks.toString());
+            }
+        }
+
+        private void write(String lines) throws IOException {
+            ByteBuffer buf = ByteBuffer.wrap(lines.getBytes(StandardCharsets.US_ASCII));
+            while (buf.hasRemaining()) channel.write(buf);
+            channel.force(false);
+        }
+
+        @Override
+        public synchronized void close() throws IOException { channel.close(); }
+    }
+
+    // ====== JOB SNAPSHOT ======
+    // Job summaries kept on local disk so job lists render the moment a window opens,
+    // before any query. The file is memory-mapped and rows are decoded on demand, so opening
+    // it costs the same for a thousand jobs or a million. JobSnapshotCache brings it level
+    // with the store in the background from the store's change feed (PortalStore.getJobChanges):
+    // one small query when nothing changed, and only the changed rows when something did.
+    // Layout (big-endian): magic, format, watermark (long), count, the count row offsets, then
+    // the rows newest first: id, employerId, salary (double), title, location, employerName
+    // (each a short byte length, -1 for null, then UTF-8).
+    static class JobSnapshot {
+        static final int MAGIC = 0x4A505331; // "JPS1"
+        static final int FORMAT = 2;
+        private static final int HEADER_BYTES = 20;
+
+        private final ByteBuffer buf;
+        final long watermark;
+        final int count;
+
+        private JobSnapshot(ByteBuffer buf) {
+            this.buf = buf;
+            this.watermark = buf.getLong(8);
+            this.count = buf.getInt(16);
+        }
+
+        // null when there is no file or it is from another format or cut short
+        static JobSnapshot open(Path file) throws IOException {
+            if (!Files.exists(file)) return null;
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = ch.size();
+                if (size < HEADER_BYTES || size > Integer.MAX_VALUE) return null;
+                ByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, size); // stays valid after close
+                if (map.getInt(0) != MAGIC || map.getInt(4) != FORMAT) return null;
+                int count = map.getInt(16);
+                if (count < 0 || HEADER_BYTES + 4L * count > size) return null;
+                return new JobSnapshot(map);
+            }
+        }
+
+        // Merges `changed` (newest first) into the rows of `base` (null = none) minus `deleted`
+        // (ascending) in one walk down both lists. Rows of `base` that stay are copied as bytes
+        // instead of being decoded and encoded again.
+        static void write(Path file, long watermark, List<JobSummary> changed, int[] deleted, JobSnapshot base) throws IOException {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            int baseCount = base == null ? 0 : base.count;
+            int n = 0;
+            for (int i = 0, k = 0; i < baseCount || k < changed.size(); n++) { // first pass: the row count
+                int bid = i < baseCount ? base.idAt(i) : 0, cid = k < changed.size() ? changed.get(k).id : 0;
+                if (cid > 0 && cid >= bid) {
+                    if (cid == bid) i++;
+                    k++;
+                } else {
+                    i++;
+                    if (Arrays.binarySearch(deleted, bid) >= 0) n--;
+                }
+            }
+            int start = HEADER_BYTES + 4 * n;
+            ByteBuffer head = ByteBuffer.allocate(start);
+            head.putInt(MAGIC).putInt(FORMAT).putLong(watermark).putInt(n);
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ch.position(start);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(ch), 1 << 16));
+                byte[] row = new byte[256];
+                for (int i = 0, k = 0; i < baseCount || k < changed.size(); ) {
+                    int bid = i < baseCount ? base.idAt(i) : 0, cid = k < changed.size() ? changed.get(k).id : 0;
+                    if (cid > 0 && cid >= bid) {
+                        JobSummary j = changed.get(k++);
+                        if (cid == bid) i++;
+                        head.putInt(start + out.size());
+                        out.writeInt(j.id);
+                        out.writeInt(j.employerId);
+                        out.writeDouble(j.salary);
+                        writeString(out, j.title);
+                        writeString(out, j.location);
+                        writeString(out, j.employerName);
+                    } else {
+                        int from = base.offsetAt(i);
+                        int len = (i + 1 < baseCount ? base.offsetAt(i + 1) : base.buf.limit()) - from;
+                        i++;
+                        if (Arrays.binarySearch(deleted, bid) >= 0) continue;
+                        if (len > row.length) row = new byte[Math.max(len, row.length * 2)];
+                        base.buf.duplicate().position(from).get(row, 0, len);
+                        head.putInt(start + out.size());
+                        out.write(row, 0, len);
+                    }
+                }
+                out.flush();
+                head.flip();
+                for (long pos = 0; head.hasRemaining(); ) pos += ch.write(head, pos);
+                ch.force(false);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        private static void writeString(DataOutputStream out, String s) throws IOException {
+            if (s == null) {
+                out.writeShort(-1);
+                return;
+            }
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            int len = Math.min(b.length, Short.MAX_VALUE);
+            out.writeShort(len);
+            out.write(b, 0, len);
+        }
+
+        private static String readString(ByteBuffer b) {
+            int len = b.getShort();
+            if (len < 0) return null;
+            byte[] bytes = new byte[len];
+            b.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int offsetAt(int index) { return buf.getInt(HEADER_BYTES + 4 * index); }
+
+        JobSummary get(int index) {
+            ByteBuffer b = buf.duplicate(); // own position; the mapping is shared between threads
+            b.position(offsetAt(index));
+            JobSummary j = new JobSummary();
+            j.id = b.getInt();
+            j.employerId = b.getInt();
+            j.salary = b.getDouble();
+            j.title = readString(b);
+            j.location = readString(b);
+            j.employerName = readString(b);
+            return j;
+        }
+
+        int idAt(int index) { return buf.getInt(offsetAt(index)); }
+
+        // Index of the first row with id < beforeId (0 = from the top)
+        int indexBefore(int beforeId) {
+            if (beforeId <= 0) return 0;
+            int lo = 0, hi = count;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (idAt(mid) >= beforeId) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        boolean contains(int id) {
+            int i = indexBefore(id + 1);
+            return i < count && idAt(i) == id;
+        }
+
+        List<JobSummary> block(int offset, int limit) {
+            int end = Math.min(count, offset + limit);
+            List<JobSummary> out = new ArrayList<>(Math.max(0, end - offset));
+            for (int i = offset; i < end; i++) out.add(get(i));
+            return out;
+        }
+
+        // A keyset page with the same contract as PortalStore.searchJobs
+        JobPage page(int afterId, int limit) {
+            List<JobSummary> jobs = block(indexBefore(afterId), limit);
+            return new JobPage(jobs, jobs.size() == limit ? jobs.get(limit - 1).id : 0);
+        }
+    }
+
+    // Each version is written to its own file, <name>.<watermark>, and mapped from there. A
+    // mapped file cannot be replaced or deleted on Windows until the mapping is collected, so
+    // the version a new one supersedes is deleted afterwards, and again on later writes or at
+    // the next start for as long as that fails.
+    static class JobSnapshotCache {
+        private final Path file;
+        private volatile JobSnapshot current;
+        private Path currentFile;
+        // Moves ahead of current.watermark while catch-ups find nothing, so the file is not
+        // rewritten just to record that
+        private long watermark;
+
+        JobSnapshotCache(Path file) {
+            this.file = file.toAbsolutePath();
+            for (Path p : versions()) { // newest first; one that does not open is passed over
+                try {
+                    current = JobSnapshot.open(p);
+                } catch (IOException ex) {
+                    System.err.println("Ignoring unreadable job snapshot " + p + ": " + ex.getMessage());
+                }
+                if (current != null) {
+                    currentFile = p;
+                    watermark = current.watermark;
+                    break;
+                }
+            }
+            sweep();
+        }
+
+        JobSnapshot current() { return current; }
+
+        // Writes a new file only when the store has moved on; while the store cannot answer
+        // the old snapshot keeps being served
+        synchronized JobSnapshot reconcile(PortalStore store) {
+            JobSnapshot snap = current;
+            ChangeSet<JobSummary> changes = snap != null ? store.getJobChanges(watermark) : null;
+            if (snap != null && changes == null) return snap;
+            if (changes == null || changes.resync) {
+                // full read; the watermark is taken first so nothing written meanwhile is lost
+                long mark = store.changeWatermark();
+                if (mark < 0) return snap;
+                List<JobSummary> all = store.getAllJobs();
+                if (all.isEmpty() && store.countJobs() > 0) return snap; // the listing failed
+                changes = new ChangeSet<>(all, new int[0], mark, false);
+                snap = null;
+            } else if (changes.isEmpty()) {
+                watermark = changes.watermark;
+                return snap;
+            }
+            Path next = file.resolveSibling(file.getFileName() + "." + changes.watermark);
+            if (next.equals(currentFile)) { // a resync that found the store where the file is
+                watermark = changes.watermark;
+                return current;
+            }
+            try {
+                JobSnapshot.write(next, changes.watermark, changes.changed, changes.deleted, snap);
+                JobSnapshot written = JobSnapshot.open(next);
+                if (written != null) {
+                    current = written;
+                    currentFile = next;
+                    watermark = changes.watermark;
+                }
+            } catch (IOException ex) {
+                System.err.println("Could not write job snapshot " + next + ": " + ex.getMessage());
+            }
+            sweep();
+            return current;
+        }
+
+        // The version files, newest first, then the single file of the layout before versions
+        private List<Path> versions() {
+            List<Path> out = new ArrayList<>();
+            try (DirectoryStream<Path> dir = Files.newDirectoryStream(file.getParent(), p -> version(p) >= 0)) {
+                for (Path p : dir) out.add(p);
+            } catch (IOException ex) {
+                System.err.println("Could not list job snapshots next to " + file + ": " + ex.getMessage());
+            }
+            out.sort((a, b) -> Long.compare(version(b), version(a)));
+            if (Files.exists(file)) out.add(file);
+            return out;
+        }
+
+        // The watermark in a version file's name, -1 for any other file
+        private long version(Path p) {
+            String name = p.getFileName().toString(), prefix = file.getFileName() + ".";
+            if (!name.startsWith(prefix)) return -1;
+            try {
+                return Long.parseLong(name.substring(prefix.length()));
+            } catch (NumberFormatException ex) {
+                return -1;
+            }
+        }
+
+        // Deletes every version but the current one. Readers may still hold an older snapshot;
+        // where its mapping keeps the file from being deleted, the next sweep tries again.
+        private void sweep() {
+            for (Path p : versions()) {
+                if (p.equals(currentFile)) continue;
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException ex) {
+                    // still mapped
+                }
+            }
+        }
+    }
+
+    // ====== SERVICE LAYER (uses a PortalStore) ======
+    static class JobPortalService {
+        static final int USER_CACHE_SIZE = 10_000;
+        static final int KNOWN_APPLICATIONS_SIZE = 10_000;
+        static final int JOB_CACHE_SIZE = 10_000;
+        static final int DOCUMENT_CACHE_SIZE = 1_000;
+        static final long ENTITY_TTL_MINUTES = 5;
+
+        private final PortalStore store;
+        private final JobSearchIndex searchIndex = new JobSearchIndex();
+        private final EntityCache<User> userCache = new EntityCache<>(USER_CACHE_SIZE, ENTITY_TTL_MINUTES, TimeUnit.MINUTES);
+        private final EntityCache<JobSummary> jobCache = new EntityCache<>(JOB_CACHE_SIZE, ENTITY_TTL_MINUTES, TimeUnit.MINUTES);
+        // Large text for detail views, by user / job id; small because each entry can be many KB
+        private final EntityCache<String> resumeCache = new EntityCache<>(DOCUMENT_CACHE_SIZE, ENTITY_TTL_MINUTES, TimeUnit.MINUTES);
+        private final EntityCache<String> descriptionCache = new EntityCache<>(DOCUMENT_CACHE_SIZE, ENTITY_TTL_MINUTES, TimeUnit.MINUTES);
+        // email -> user id, so logins and registration checks can hit userCache; guarded by itself
+        private final Map<String, Integer> idByEmail = new LinkedHashMap<String, Integer>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) { return size() > USER_CACHE_SIZE; }
+        };
+
+        // (job, seeker) -> application this service has seen stored, so a write-behind apply
+        // can answer "already applied" without a query; guarded by itself
+        private final Map<Long, ApplicationModel> knownApplications = new LinkedHashMap<Long, ApplicationModel>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ApplicationModel> eldest) { return size() > KNOWN_APPLICATIONS_SIZE; }
+        };
+
+        private final List<Consumer<PortalEvent>> listeners = new CopyOnWriteArrayList<>();
+        private volatile JobSnapshotCache jobSnapshots; // null unless enableJobSnapshot was called
+
+        // Write-behind mode (off unless enableWriteBehind is called): applies and status changes
+        // go to the journal, are acknowledged as pending, and are flushed by one drainer thread
+        static final int DRAIN_BATCH = 500;
+        static final long DRAIN_DELAY_MILLIS = 200;  // lets a burst of writes share one flush
+        static final long MAX_RETRY_MILLIS = 60_000;
+        private volatile WriteJournal journal;
+        private ScheduledExecutorService drainer;
+        private final AtomicBoolean drainScheduled = new AtomicBoolean();
+        private long retryMillis; // drainer thread only
+
+        public JobPortalService(PortalStore store) {
+            this.store = store;
+        }
+
+        // Anything left in the journal by a previous run is flushed right away
+        public void enableWriteBehind(WriteJournal journal) {
+            drainer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "journal-drainer");
+                t.setDaemon(true);
+                return t;
+            });
+            this.journal = journal;
+            if (!journal.pending().isEmpty()) scheduleDrain(0);
+        }
+
+        private void scheduleDrain(long delayMillis) {
+            if (!drainScheduled.compareAndSet(false, true)) return; // the queued drain will pick this write up
+            drainer.schedule(() -> {
+                drainScheduled.set(false);
+                drain();
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        // One flush of the oldest pending writes, coalesced: one apply per job/seeker pair and
+        // only the latest status per application go to the store; the rest commit with them
+        private void drain() {
+            List<PendingWrite> pending = journal.pending();
+            if (pending.isEmpty()) return;
+            List<PendingWrite> taken = pending.subList(0, Math.min(DRAIN_BATCH, pending.size()));
+            Map<Long, PendingWrite> applies = new LinkedHashMap<>();
+            Map<Integer, PendingWrite> statuses = new LinkedHashMap<>();
+            for (PendingWrite w : taken) {
+                if (w.kind == PendingWrite.Kind.APPLY) applies.putIfAbsent(w.pairKey(), w);
+                else statuses.put(w.appId, w);
+            }
+            List<PendingWrite> batch = new ArrayList<>(applies.values());
+            batch.addAll(statuses.values());
+            try {
+                store.flushWrites(batch);
+            } catch (SQLException | RuntimeException ex) {
+                retryMillis = Math.min(Math.max(1_000, retryMillis * 2), MAX_RETRY_MILLIS);
+                System.err.println("Journal flush failed, retrying in " + retryMillis / 1000 + "s: " + ex.getMessage());
+                scheduleDrain(retryMillis);
+                return;
+            }
+            retryMillis = 0;
+            // known before the journal lets go of them, so a repeat apply in between is
+            // answered from here instead of being journaled again
+            for (PendingWrite w : applies.values()) {
+                if (w.application != null) remember(w.application);
+            }
+            try {
+                journal.commit(taken);
+            } catch (IOException ex) {
+                // the batch is in the database; a replay after restart re-applies it harmlessly
+                System.err.println("Could not mark journal entries committed: " + ex.getMessage());
+            }
+            for (PendingWrite w : taken) {
+                if (w.kind != PendingWrite.Kind.APPLY) continue;
+                PendingWrite done = applies.get(w.pairKey());
+                JobSummary job = jobCache.get(w.jobId);
+                int owner = job != null ? job.employerId : -1;
+                if (done == w && done.application == null) { // the pending row stays, marked failed
+                    ApplicationModel a = new ApplicationModel();
+                    a.id = -(int) w.seq; a.jobId = w.jobId; a.seekerId = w.seekerId; a.status = "APPLIED";
+                    a.rejection = "the job or the account no longer exists";
+                    publish(PortalEvent.Kind.REJECTED, PortalEvent.Entity.APPLICATION, a.id, a, owner);
+                    continue;
+                }
+                publish(PortalEvent.Kind.DELETED, PortalEvent.Entity.APPLICATION, -(int) w.seq, null, -1); // the pending row
+                if (done == w && done.created) {
+                    publish(PortalEvent.Kind.INSERTED, PortalEvent.Entity.APPLICATION, done.application.id, done.application, owner);
+                }
+            }
+            for (PendingWrite w : statuses.values()) {
+                if (journal.hasPendingStatus(w.appId)) continue; // a newer pending status is showing
+                ApplicationModel a = new ApplicationModel();
+                a.id = w.appId; a.status = w.status;
+                if (!w.found) {
+                    a.rejection = "the application no longer exists";
+                    publish(PortalEvent.Kind.REJECTED, PortalEvent.Entity.APPLICATION, w.appId, a, -1);
+                } else {
+                    rememberStatus(w.appId, w.status);
+                    publish(PortalEvent.Kind.UPDATED, PortalEvent.Entity.APPLICATION, w.appId, a, -1);
+                }
+            }
+            if (pending.size() > taken.size()) scheduleDrain(0);
+        }
+
+        // Listeners run on the writing thread; UI listeners hop to the EDT themselves
+        public void addListener(Consumer<PortalEvent> l) { listeners.add(l); }
+
+        public void removeListener(Consumer<PortalEvent> l) { listeners.remove(l); }
+
+        private void publish(PortalEvent.Kind kind, PortalEvent.Entity entity, int id, Object value, int ownerId) {
+            PortalEvent e = new PortalEvent(kind, entity, id, value, ownerId);
+            for (Consumer<PortalEvent> l : listeners) {
+                try {
+                    l.accept(e);
+                } catch (RuntimeException ex) {
+                    ex.printStackTrace(); // one bad listener must not fail the write
+                }
+            }
+        }
+
+        public User registerEmployer(String name, String email, String password, String company) {
+            User u = new User();
+            u.name = name; u.email = email; u.password = password; u.role = "EMPLOYER"; u.company = company;
+            int id = store.insertUser(u);
+            u.id = id;
+            if (id > 0) publish(PortalEvent.Kind.INSERTED, PortalEvent.Entity.USER, id, u, -1);
+            return u;
+        }
+
+        public User registerJobSeeker(String name, String email, String password, String resume) {
+            User u = new User();
+            u.name = name; u.email = email; u.password = password; u.role = "JOB_SEEKER"; u.resume = resume;
+            int id = store.insertUser(u);
+            u.id = id;
+            if (id > 0) publish(PortalEvent.Kind.INSERTED, PortalEvent.Entity.USER, id, u, -1);
+            return u;
+        }
+
+        public User createAdminIfNotExists(String name, String email, String password) {
+            User found = findUserByEmail(email);
+            if (found != null) return found;
+            User u = new User();
+            u.name = name; u.email = email; u.password = password; u.role = "ADMIN";
+            int id = store.insertUser(u);
+            u.id = id;
+            return u;
+        }
+
+        // Read-through: email -> id -> cached row. Misses (unknown emails) are not cached.
+        // The cache keeps its own copy and hands out copies, so a caller editing the user it
+        // got (a profile form before its save) changes nothing anyone else reads.
+        public User findUserByEmail(String email) {
+            Integer id;
+            synchronized (idByEmail) {
+                id = idByEmail.get(email);
+            }
+            if (id != null) {
+                User u = userCache.get(id);
+                if (u != null && email.equals(u.email)) return u.copy();
+            }
+            User u = store.findUserByEmail(email);
+            if (u != null) cacheUser(u);
+            return u;
+        }
+
+        public User findUserById(int id) {
+            User u = userCache.get(id);
+            if (u != null) return u.copy();
+            u = store.findUserById(id);
+            if (u != null) cacheUser(u);
+            return u;
+        }
+
+        // Cached and logged-in users come without the resume; the profile view fetches it once
+        public String loadResume(User u) {
+            if (!u.resumeLoaded) {
+                String resume = resumeCache.get(u.id);
+                if (resume == null) {
+                    resume = store.findResume(u.id);
+                    resumeCache.put(u.id, resume);
+                }
+                u.resume = resume;
+                u.resumeLoaded = true;
+            }
+            return u.resume;
+        }
+
+        private void cacheUser(User u) {
+            userCache.put(u.id, u.copy());
+            synchronized (idByEmail) {
+                idByEmail.put(u.email, u.id);
+            }
+        }
+
+        private void invalidateUser(int userId) {
+            userCache.invalidate(userId);
+            resumeCache.invalidate(userId);
+            synchronized (idByEmail) {
+                idByEmail.values().removeIf(id -> id == userId);
+            }
+            jobCache.invalidateIf(j -> j.employerId == userId); // cached employerName
+        }
+
+        public CacheStats userCacheStats() { return userCache.stats(); }
+
+        public CacheStats jobCacheStats() { return jobCache.stats(); }
+
+        // False when the store did not save it (no such user, email taken, or a failure);
+        // caches, the index and listeners then see nothing
+        public boolean updateUser(User u) {
+            if (!store.updateUser(u)) return false;
+            invalidateUser(u.id);
+            if ("EMPLOYER".equals(u.role)) searchIndex.updateEmployerName(u.id, u.name);
+            publish(PortalEvent.Kind.UPDATED, PortalEvent.Entity.USER, u.id, u, -1);
+            return true;
+        }
+
+        public void rebuildSearchIndex() {
+            searchIndex.rebuild(store.getAllJobDocuments());
+        }
+
+        public User login(String email, String password) {
+            User u = findUserByEmail(email);
+            if (u != null && u.password.equals(password)) return u;
+            return null;
+        }
+
+        public Job postJob(String title, String description, String location, double salary, User employer) {
+            Job j = new Job();
+            j.title = title; j.description = description; j.location = location; j.salary = salary; j.employerId = employer.id;
+            int id = store.insertJob(j);
+            j.id = id;
+            j.employerName = employer.name;
+            if (id > 0) {
+                searchIndex.add(j);
+                publish(PortalEvent.Kind.INSERTED, PortalEvent.Entity.JOB, id, j, employer.id);
+            }
+            return j;
+        }
+
+        public List<JobSummary> getAllJobs() { return store.getAllJobs(); }
+
+        // Keyword queries go to the in-memory index once it is built; everything else is a
+        // keyset-paged SQL query. Pass the previous page's cursor and `ranked` flag to continue:
+        // a search that started on SQL before the index was ready stays on SQL.
+        public JobPage searchJobs(JobSearchCriteria criteria, int cursor, boolean ranked, int limit) {
+            if (ranked || (cursor == 0 && !criteria.keyword.isEmpty() && searchIndex.isReady())) {
+                return searchIndex.page(criteria, cursor, limit);
+            }
+            return store.searchJobs(criteria, cursor, limit);
+        }
+
+        public JobPage searchJobs(JobSearchCriteria criteria, int afterId, int limit) { return searchJobs(criteria, afterId, false, limit); }
+
+        // One imported chunk; the new jobs become searchable straight away
+        public int[] importJobs(List<Job> jobs) throws SQLException {
+            int[] ids = store.insertJobsBatch(jobs);
+            for (int i = 0; i < ids.length; i++) {
+                Job j = jobs.get(i);
+                j.id = ids[i];
+                if (j.id > 0) searchIndex.add(j);
+            }
+            // one event per chunk: views reload once rather than patching thousands of rows
+            if (!jobs.isEmpty()) publish(PortalEvent.Kind.BULK_CHANGED, PortalEvent.Entity.JOB, 0, null, jobs.get(0).employerId);
+            return ids;
+        }
+
+        // Same matcher as searchJobs: a keyword export writes the index's matches in rank order
+        public long exportJobs(JobSearchCriteria criteria, CsvExport out) throws SQLException, IOException {
+            if (!criteria.keyword.isEmpty() && searchIndex.isReady()) return store.exportJobsById(searchIndex.matchingIds(criteria), out);
+            return store.exportJobs(criteria, out);
+        }
+
+        public long exportEmployerJobs(User employer, CsvExport out) throws SQLException, IOException { return store.exportEmployerJobs(employer.id, out); }
+
+        public long exportApplicationsForSeeker(User seeker, CsvExport out) throws SQLException, IOException { return store.exportApplicationsForSeeker(seeker.id, out); }
+
+        public JobSummary findJobById(int id) {
+            JobSummary j = jobCache.get(id);
+            if (j != null) return j;
+            j = store.findJobById(id);
+            jobCache.put(id, j);
+            return j;
+        }
+
+        public String findJobDescription(int jobId) {
+            String d = descriptionCache.get(jobId);
+            if (d != null) return d;
+            d = store.findJobDescription(jobId);
+            descriptionCache.put(jobId, d);
+            return d;
+        }
+
+        public JobPage getJobsByEmployer(User employer, int afterId, int limit) { return store.getJobsByEmployer(employer.id, afterId, limit); }
+
+        // Idempotent: a repeat returns the existing application. null when the job does not exist.
+        // In write-behind mode the result is a pending row (negative id) until the drainer
+        // replaces it. Repeats and unknown jobs are answered before anything is journaled, from
+        // the journal, known applications, and the job cache or snapshot (else one job lookup);
+        // a write the database still turns down is published as REJECTED.
+        public ApplyResult applyToJob(int jobId, User seeker) {
+            WriteJournal j = journal;
+            if (j != null) {
+                PendingWrite queued = j.pendingApply(jobId, seeker.id);
+                if (queued != null) return new ApplyResult(pendingApplication(queued), false);
+                ApplicationModel known = knownApplication(jobId, seeker.id);
+                if (known != null) return new ApplyResult(known, false);
+                if (!jobExists(jobId)) return null;
+                try {
+                    PendingWrite w = j.apply(jobId, seeker.id);
+                    ApplicationModel a = pendingApplication(w);
+                    JobSummary job = jobCache.get(jobId);
+                    publish(PortalEvent.Kind.INSERTED, PortalEvent.Entity.APPLICATION, a.id, a, job != null ? job.employerId : -1);
+                    scheduleDrain(DRAIN_DELAY_MILLIS);
+                    return new ApplyResult(a, true);
+                } catch (IOException ex) {
+                    System.err.println("Journal write failed, applying directly: " + ex.getMessage());
+                }
+            }
+            ApplyResult r = store.applyToJob(jobId, seeker.id);
+            if (r != null) remember(r.application);
+            if (r != null && r.created) {
+                JobSummary job = jobCache.get(jobId); // owner only if it is already cached; never a query
+                publish(PortalEvent.Kind.INSERTED, PortalEvent.Entity.APPLICATION, r.application.id, r.application, job != null ? job.employerId : -1);
+            }
+            return r;
+        }
+
+        private static ApplicationModel pendingApplication(PendingWrite w) {
+            ApplicationModel a = new ApplicationModel();
+            a.id = -(int) w.seq; a.jobId = w.jobId; a.seekerId = w.seekerId; a.status = "APPLIED"; a.pending = true;
+            return a;
+        }
+
+        // Cache, then the local snapshot, then one lookup; a lookup that cannot answer in
+        // time leaves it to the drainer
+        private boolean jobExists(int jobId) {
+            if (jobCache.get(jobId) != null) return true;
+            JobSnapshot snap = jobSnapshot();
+            if (snap != null && snap.contains(jobId)) return true;
+            try {
+                return findJobById(jobId) != null;
+            } catch (QueryAbortedException ex) {
+                return true;
+            }
+        }
+
+        private void remember(ApplicationModel a) {
+            if (a == null) return;
+            ApplicationModel copy = new ApplicationModel();
+            copy.id = a.id; copy.jobId = a.jobId; copy.seekerId = a.seekerId; copy.status = a.status;
+            synchronized (knownApplications) {
+                knownApplications.put(PendingWrite.pairKey(a.jobId, a.seekerId), copy);
+            }
+        }
+
+        private ApplicationModel knownApplication(int jobId, int seekerId) {
+            synchronized (knownApplications) {
+                ApplicationModel a = knownApplications.get(PendingWrite.pairKey(jobId, seekerId));
+                if (a == null) return null;
+                ApplicationModel copy = new ApplicationModel();
+                copy.id = a.id; copy.jobId = a.jobId; copy.seekerId = a.seekerId; copy.status = a.status;
+                return copy;
+            }
+        }
+
+        private void rememberStatus(int appId, String status) {
+            synchronized (knownApplications) {
+                for (ApplicationModel a : knownApplications.values()) {
+                    if (a.id == appId) a.status = status;
+                }
+            }
+        }
+
+        // Cascaded deletes take the applications with them
+        private void forgetApplications(Predicate<ApplicationModel> gone) {
+            synchronized (knownApplications) {
+                knownApplications.values().removeIf(gone);
+            }
+        }
+
+        public ApplicationPage getApplicationsForEmployer(User emp, int afterId, int limit) {
+            return store.getApplicationsForEmployer(emp.id, afterId, limit);
+        }
+
+        public long changeWatermark() { return store.changeWatermark(); }
+
+        public ChangeSet<ApplicationView> getApplicationChangesForEmployer(User emp, long since) {
+            return store.getApplicationChangesForEmployer(emp.id, since);
+        }
+
+        public ApplicationPage getApplicationsForJobSeeker(User seeker, int afterId, int limit) {
+            ApplicationPage page = store.getApplicationsForSeeker(seeker.id, afterId, limit);
+            if (journal != null) page.apps.forEach(this::remember);
+            return page;
+        }
+
+        public ApplicationView findApplicationView(int appId) { return store.findApplicationView(appId); }
+
+        // Applications are not cached, so a status change has nothing to invalidate.
+        // The event carries only id + status; views patch their row in place.
+        // In write-behind mode this acknowledges the journaled change (pending) without a query
+        public boolean updateApplicationStatus(int appId, String status) {
+            WriteJournal j = journal;
+            if (j != null && appId > 0) {
+                try {
+                    j.status(appId, status);
+                    ApplicationModel a = new ApplicationModel();
+                    a.id = appId; a.status = status; a.pending = true;
+                    publish(PortalEvent.Kind.UPDATED, PortalEvent.Entity.APPLICATION, appId, a, -1);
+                    scheduleDrain(DRAIN_DELAY_MILLIS);
+                    return true;
+                } catch (IOException ex) {
+                    System.err.println("Journal write failed, updating directly: " + ex.getMessage());
+                }
+            }
+            if (!store.updateApplicationStatus(appId, status)) return false;
+            rememberStatus(appId, status);
+            ApplicationModel a = new ApplicationModel();
+            a.id = appId; a.status = status;
+            publish(PortalEvent.Kind.UPDATED, PortalEvent.Entity.APPLICATION, appId, a, -1);
+            return true;
+        }
+
+        public List<UserSummary> getAllUsers() { return store.getAllUsers(); }
+
+        public int countUsers(UserQuery query) { return store.countUsers(query); }
+
+        public int countJobs() { return store.countJobs(); }
+
+        public List<UserSummary> getUsersBlock(UserQuery query, int offset, UserSummary previous, int limit) { return store.getUsersBlock(query, offset, previous, limit); }
+
+        public List<JobSummary> getJobsBlock(int offset, JobSummary previous, int limit) { return store.getJobsBlock(offset, previous != null ? previous.id : 0, limit); }
+
+        // Maps the snapshot file the previous run left behind; no query
+        public void enableJobSnapshot(Path file) { jobSnapshots = new JobSnapshotCache(file); }
+
+        public JobSnapshot jobSnapshot() {
+            JobSnapshotCache c = jobSnapshots;
+            return c != null ? c.current() : null;
+        }
+
+        public JobSnapshot reconcileJobSnapshot() {
+            JobSnapshotCache c = jobSnapshots;
+            return c != null ? c.reconcile(store) : null;
+        }
+
+        public boolean deleteUser(int userId) {
+            if (!store.deleteUserById(userId)) return false;
+            invalidateUser(userId);
+            forgetApplications(a -> a.seekerId == userId);
+            searchIndex.updateEmployerName(userId, null); // jobs.employer_id is SET NULL
+            publish(PortalEvent.Kind.DELETED, PortalEvent.Entity.USER, userId, null, -1);
+            return true;
+        }
+
+        public boolean deleteJob(int jobId) {
+            JobSummary cached = jobCache.get(jobId);
+            if (!store.deleteJobById(jobId)) return false;
+            jobCache.invalidate(jobId);
+            forgetApplications(a -> a.jobId == jobId);
+            descriptionCache.invalidate(jobId);
+            searchIndex.remove(jobId);
+            publish(PortalEvent.Kind.DELETED, PortalEvent.Entity.JOB, jobId, null, cached != null ? cached.employerId : -1);
+            return true;
+        }
+    }
+
+    // ====== BULK JOB IMPORT ======
+    // Streams jobs from a CSV (header: title,description,location,salary) or JSONL file
+    // and inserts them in batched, per-chunk transactions.
+    static class JobImporter {
+        interface Progress { void update(int rowsRead, int imported, int failed); }
+
+        static class RowError {
+            final int line;
+            final String message;
+
+            RowError(int line, String message) {
+                this.line = line;
+                this.message = message;
+            }
+
+            public String toString() { return "line " + line + ": " + message; }
+        }
+
+        static class Result {
+            int rowsRead;
+            int[] ids = new int[0];
+            final List<RowError> errors = new ArrayList<>();
+        }
+
+        private final JobPortalService service;
+        private final int chunkSize;
+
+        JobImporter(JobPortalService service, int chunkSize) {
+            if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be positive");
+            this.service = service;
+            this.chunkSize = chunkSize;
+        }
+
+        Result importFile(File file, User employer, Progress progress) throws IOException {
+            String name = file.getName().toLowerCase(Locale.ROOT);
+            boolean jsonl = name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json");
+            Result result = new Result();
+            int[] ids = new int[Math.max(1024, chunkSize)];
+            int imported = 0;
+            List<Job> chunk = new ArrayList<>(chunkSize);
+            List<Integer> chunkLines = new ArrayList<>(chunkSize);
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8), 1 << 16)) {
+                RecordReader records = jsonl ? new JsonLinesReader(in) : new CsvReader(in);
+                Map<String, String> rec;
+                while (true) {
+                    try {
+                        rec = records.next();
+                    } catch (IllegalArgumentException ex) {
+                        result.rowsRead++;
+                        result.errors.add(new RowError(records.line(), ex.getMessage()));
+                        continue;
+                    }
+                    if (rec == null) break;
+                    result.rowsRead++;
+                    String problem = validate(rec);
+                    if (problem != null) {
+                        result.errors.add(new RowError(records.line(), problem));
+                        continue;
+                    }
+                    Job j = new Job();
+                    j.title = rec.get("title").trim();
+                    j.description = rec.getOrDefault("description", "");
+                    j.location = rec.getOrDefault("location", "").trim();
+                    j.salary = Double.parseDouble(rec.get("salary").trim());
+                    j.employerId = employer.id;
+                    j.employerName = employer.name;
+                    chunk.add(j);
+                    chunkLines.add(records.line());
+                    if (chunk.size() == chunkSize) {
+                        imported = flush(chunk, chunkLines, result, ids, imported);
+                        if (imported > ids.length - chunkSize) ids = Arrays.copyOf(ids, Math.max(ids.length * 2, imported + chunkSize));
+                        if (progress != null) progress.update(result.rowsRead, imported, result.errors.size());
+                    }
+                }
+                imported = flush(chunk, chunkLines, result, ids, imported);
+            }
+            result.ids = Arrays.copyOf(ids, imported);
+            if (progress != null) progress.update(result.rowsRead, imported, result.errors.size());
+            return result;
+        }
+
+        // One transaction per chunk; a failed chunk is reported against each of its lines
+        private int flush(List<Job> chunk, List<Integer> lines, Result result, int[] ids, int imported) {
+            if (chunk.isEmpty()) return imported;
+            try {
+                int[] chunkIds = service.importJobs(chunk);
+                System.arraycopy(chunkIds, 0, ids, imported, chunkIds.length);
+                imported += chunkIds.length;
+            } catch (SQLException ex) {
+                for (int line : lines) result.errors.add(new RowError(line, "batch rolled back: " + ex.getMessage()));
+            }
+            chunk.clear();
+            lines.clear();
+            return imported;
+        }
+
+        private static String validate(Map<String, String> rec) {
+            String title = rec.get("title");
+            if (title == null || title.trim().isEmpty()) return "title is required";
+            if (title.length() > 255) return "title longer than 255 characters";
+            String loc = rec.get("location");
+            if (loc != null && loc.length() > 255) return "location longer than 255 characters";
+            String sal = rec.get("salary");
+            if (sal == null || sal.trim().isEmpty()) return "salary is required";
+            try {
+                double v = Double.parseDouble(sal.trim());
+                if (v < 0 || Double.isNaN(v) || Double.isInfinite(v)) return "salary must be a non-negative number";
+            } catch (NumberFormatException ex) {
+                return "salary is not a number: " + sal;
+            }
+            return null;
+        }
+
+        interface RecordReader {
+            Map<String, String> next() throws IOException; // null at end of input
+            int line();                                     // line where the last record started
+        }
+
+        // RFC 4180: quoted fields may contain commas, doubled quotes and line breaks
+        static class CsvReader implements RecordReader {
+            private final BufferedReader in;
+            private String[] header;
+            private int lineNo, recordLine;
+
+            CsvReader(BufferedReader in) { this.in = in; }
+
+            public int line() { return recordLine; }
+
+            public Map<String, String> next() throws IOException {
+                if (header == null) {
+                    List<String> h = readRecord();
+                    if (h == null) return null;
+                    header = new String[h.size()];
+                    for (int i = 0; i < header.length; i++) header[i] = h.get(i).trim().toLowerCase(Locale.ROOT);
+                }
+                List<String> fields;
+                do {
+                    fields = readRecord();
+                    if (fields == null) return null;
+                } while (fields.size() == 1 && fields.get(0).isEmpty()); // blank line
+                if (fields.size() != header.length) {
+                    throw new IllegalArgumentException("expected " + header.length + " fields, found " + fields.size());
+                }
+                Map<String, String> rec = new HashMap<>();
+                for (int i = 0; i < header.length; i++) rec.put(header[i], fields.get(i));
+                return rec;
+            }
+
+            private List<String> readRecord() throws IOException {
+                String line = in.readLine();
+                if (line == null) return null;
+                recordLine = ++lineNo;
+                List<String> out = new ArrayList<>();
+                StringBuilder field = new StringBuilder();
+                boolean quoted = false;
+                int i = 0;
+                while (true) {
+                    if (i == line.length()) {
+                        if (!quoted) break;
+                        line = in.readLine(); // newline inside a quoted field
+                        if (line == null) throw new IllegalArgumentException("unterminated quoted field");
+                        lineNo++;
+                        field.append('\n');
+                        i = 0;
+                        continue;
+                    }
+                    char ch = line.charAt(i++);
+                    if (quoted) {
+                        if (ch == '"') {
+                            if (i < line.length() && line.charAt(i) == '"') { field.append('"'); i++; }
+                            else quoted = false;
+                        } else {
+                            field.append(ch);
+                        }
+                    } else if (ch == '"') {
+                        quoted = true;
+                    } else if (ch == ',') {
+                        out.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(ch);
+                    }
+                }
+                out.add(field.toString());
+                return out;
+            }
+        }
+
+        // One flat JSON object per line; values are strings, numbers, booleans or null
+        static class JsonLinesReader implements RecordReader {
+            private final BufferedReader in;
+            private int lineNo;
+
+            JsonLinesReader(BufferedReader in) { this.in = in; }
+
+            public int line() { return lineNo; }
+
+            public Map<String, String> next() throws IOException {
+                String line;
+                do {
+                    line = in.readLine();
+                    if (line == null) return null;
+                    lineNo++;
+                } while (line.trim().isEmpty());
+                return parseObject(line);
+            }
+
+            static Map<String, String> parseObject(String s) {
+                Map<String, String> out = new HashMap<>();
+                int[] pos = {skipWs(s, 0)};
+                expect(s, pos, '{');
+                if (peek(s, pos) == '}') return out;
+                while (true) {
+                    String key = parseString(s, pos).toLowerCase(Locale.ROOT);
+                    expect(s, pos, ':');
+                    out.put(key, parseValue(s, pos));
+                    char c = peek(s, pos);
+                    pos[0]++;
+                    if (c == '}') break;
+                    if (c != ',') throw new IllegalArgumentException("expected ',' or '}' at column " + pos[0]);
+                }
+                return out;
+            }
+
+            private static String parseValue(String s, int[] pos) {
+                char c = peek(s, pos);
+                if (c == '"') return parseString(s, pos);
+                int start = pos[0];
+                while (pos[0] < s.length() && ",} \t".indexOf(s.charAt(pos[0])) < 0) pos[0]++;
+                String lit = s.substring(start, pos[0]);
+                if (lit.equals("null")) return null;
+                if (lit.isEmpty() || c == '{' || c == '[') throw new IllegalArgumentException("unsupported value at column " + start);
+                return lit;
+            }
+
+            private static String parseString(String s, int[] pos) {
+                expect(s, pos, '"');
+                StringBuilder sb = new StringBuilder();
+                while (true) {
+                    if (pos[0] >= s.length()) throw new IllegalArgumentException("unterminated string");
+                    char c = s.charAt(pos[0]++);
+                    if (c == '"') return sb.toString();
+                    if (c != '\\') { sb.append(c); continue; }
+                    char e = s.charAt(pos[0]++);
+                    switch (e) {
+                        case 'n': sb.append('\n'); break;
+                        case 't': sb.append('\t'); break;
+                        case 'r': sb.append('\r'); break;
+                        case 'b': sb.append('\b'); break;
+                        case 'f': sb.append('\f'); break;
+                        case 'u': sb.append((char) Integer.parseInt(s.substring(pos[0], pos[0] + 4), 16)); pos[0] += 4; break;
+                        default: sb.append(e);
+                    }
+                }
+            }
+
+            private static char peek(String s, int[] pos) {
+                pos[0] = skipWs(s, pos[0]);
+                if (pos[0] >= s.length()) throw new IllegalArgumentException("unexpected end of line");
+                return s.charAt(pos[0]);
+            }
+
+            private static void expect(String s, int[] pos, char c) {
+                if (peek(s, pos) != c) throw new IllegalArgumentException("expected '" + c + "' at column " + pos[0]);
+                pos[0]++;
+            }
+
+            private static int skipWs(String s, int i) {
+                while (i < s.length() && Character.isWhitespace(s.charAt(i))) i++;
+                return i;
+            }
+        }
+    }
+
+    // ====== CSV EXPORT ======
+    // Streams a ResultSet straight into a UTF-8 file channel, one row at a time, so memory
+    // stays flat regardless of row count. Writes go to a ".part" file that is moved into
+    // place only when the export completes; cancel() also aborts the running statement.
+    static class CsvExport {
+        interface Progress { void update(long rows); }
+        // Fills `row` with the next record's fields and returns true, or returns false at the end
+        interface Rows { boolean next(String[] row) throws SQLException; }
+        private static final int PROGRESS_EVERY = 5_000;
+
+        private final File target;
+        private final Progress progress;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile Statement running;
+
+        CsvExport(File target, Progress progress) {
+            this.target = target;
+            this.progress = progress;
+        }
+
+        void cancel() {
+            cancelled.set(true);
+            Statement st = running;
+            if (st != null) {
+                try { st.cancel(); } catch (SQLException ignored) {}
+            }
+        }
+
+        boolean isCancelled() { return cancelled.get(); }
+
+        void attach(Statement st) throws SQLException {
+            running = st;
+            if (cancelled.get()) throw new SQLException("Export cancelled");
+        }
+
+        long write(ResultSet rs) throws SQLException, IOException {
+            ResultSetMetaData md = rs.getMetaData();
+            String[] header = new String[md.getColumnCount()];
+            for (int i = 0; i < header.length; i++) header[i] = md.getColumnLabel(i + 1);
+            return write(header, row -> {
+                if (!rs.next()) return false;
+                for (int i = 0; i < row.length; i++) row[i] = rs.getString(i + 1);
+                return true;
+            });
+        }
+
+        long write(String[] header, Rows source) throws SQLException, IOException {
+            Path tmp = Paths.get(target.getPath() + ".part");
+            long rows = 0;
+            boolean done = false;
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 Writer w = new BufferedWriter(Channels.newWriter(ch, StandardCharsets.UTF_8.newEncoder(), 1 << 16), 1 << 16)) {
+                writeRow(w, header);
+                String[] row = new String[header.length];
+                while (source.next(row)) {
+                    writeRow(w, row);
+                    if (++rows % PROGRESS_EVERY == 0) {
+                        if (cancelled.get()) throw new SQLException("Export cancelled");
+                        if (progress != null) progress.update(rows);
+                    }
+                }
+                done = true;
+            } finally {
+                running = null;
+                if (!done) Files.deleteIfExists(tmp);
+            }
+            Files.move(tmp, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (progress != null) progress.update(rows);
+            return rows;
+        }
+
+        private static void writeRow(Writer w, String[] fields) throws IOException {
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) w.write(',');
+                writeField(w, fields[i]);
+            }
+            w.write("\r\n");
+        }
+
+        // RFC 4180 quoting; NULL becomes an empty field
+        private static void writeField(Writer w, String v) throws IOException {
+            if (v == null) return;
+            boolean quote = false;
+            for (int i = 0; i < v.length() && !quote; i++) {
+                char c = v.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                w.write(v);
+                return;
+            }
+            w.write('"');
+            for (int i = 0; i < v.length(); i++) {
+                char c = v.charAt(i);
+                if (c == '"') w.write('"');
+                w.write(c);
+            }
+            w.write('"');
+        }
+    }
+
+    // ====== ASYNC DATA ACCESS (keeps JDBC off the EDT) ======
+    static final Executor EDT = SwingUtilities::invokeLater;
+
+    static class AsyncPortalService {
+        private final JobPortalService service;
+        private final ExecutorService executor;
+        private final CompletableFuture<?> ready;
+
+        public AsyncPortalService(JobPortalService service) {
+            this(service, CompletableFuture.completedFuture(null));
+        }
+
+        // Calls made before `ready` completes wait for it (e.g. a login typed while the schema
+        // is still being checked); if it fails, they fail with its error
+        public AsyncPortalService(JobPortalService service, CompletableFuture<?> ready) {
+            this.service = service;
+            this.executor = newDbExecutor();
+            this.ready = ready;
+        }
+
+        // Virtual threads when the runtime has them (Java 21+), else a cached daemon pool
+        private static ExecutorService newDbExecutor() {
+            try {
+                Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) m.invoke(null);
+            } catch (ReflectiveOperationException ex) {
+                AtomicInteger seq = new AtomicInteger();
+                return Executors.newCachedThreadPool(r -> {
+                    Thread t = new Thread(r, "db-worker-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+        }
+
+        // Cancelling the returned future also stops the statement the task is running
+        // (Statement.cancel via QueryCancel); the cancel is sent from a worker, not the caller
+        public <T> CompletableFuture<T> submit(Supplier<T> call) {
+            QueryCancel token = new QueryCancel();
+            CompletableFuture<T> f = ready.isDone() && !ready.isCompletedExceptionally()
+                ? CompletableFuture.supplyAsync(() -> token.call(call), executor)
+                : ready.thenApplyAsync(x -> token.call(call), executor);
+            f.whenComplete((value, ex) -> {
+                if (ex instanceof CancellationException) executor.execute(token::cancel);
+            });
+            return f;
+        }
+
+        public CompletableFuture<Void> run(Runnable call) {
+            return submit(() -> {
+                call.run();
+                return null;
+            });
+        }
+
+        public CompletableFuture<User> login(String email, String password) { return submit(() -> service.login(email, password)); }
+
+        public CompletableFuture<User> registerEmployer(String name, String email, String password, String company) {
+            return submit(() -> service.findUserByEmail(email) != null ? null : service.registerEmployer(name, email, password, company));
+        }
+
+        public CompletableFuture<User> registerJobSeeker(String name, String email, String password, String resume) {
+            return submit(() -> service.findUserByEmail(email) != null ? null : service.registerJobSeeker(name, email, password, resume));
+        }
+
+        public CompletableFuture<Boolean> updateUser(User u) { return submit(() -> service.updateUser(u)); }
+
+        public CompletableFuture<String> loadResume(User u) { return submit(() -> service.loadResume(u)); }
+
+        public CompletableFuture<Job> postJob(String title, String description, String location, double salary, User employer) {
+            return submit(() -> service.postJob(title, description, location, salary, employer));
+        }
+
+        public CompletableFuture<JobImporter.Result> importJobs(File file, User employer, int chunkSize, JobImporter.Progress progress) {
+            return submit(() -> {
+                try {
+                    return new JobImporter(service, chunkSize).importFile(file, employer, progress);
+                } catch (IOException ex) {
+                    throw new CompletionException(ex);
+                }
+            });
+        }
+
+        interface ExportTask { long run(JobPortalService service, CsvExport out) throws SQLException, IOException; }
+
+        public CompletableFuture<Long> export(ExportTask task, CsvExport out) {
+            return submit(() -> {
+                try {
+                    return task.run(service, out);
+                } catch (SQLException | IOException ex) {
+                    throw new CompletionException(ex);
+                }
+            });
+        }
+
+        public CompletableFuture<List<JobSummary>> getAllJobs() { return submit(service::getAllJobs); }
+
+        public CompletableFuture<String> findJobDescription(int jobId) { return submit(() -> service.findJobDescription(jobId)); }
+
+        public CompletableFuture<JobPage> getJobsByEmployer(User employer, int afterId, int limit) { return submit(() -> service.getJobsByEmployer(employer, afterId, limit)); }
+
+        public CompletableFuture<JobPage> searchJobs(JobSearchCriteria criteria, int cursor, boolean ranked, int limit) { return submit(() -> service.searchJobs(criteria, cursor, ranked, limit)); }
+
+        // Completes with null when the job does not exist
+        public CompletableFuture<ApplyResult> applyToJob(int jobId, User seeker) { return submit(() -> service.applyToJob(jobId, seeker)); }
+
+        public CompletableFuture<ApplicationPage> getApplicationsForEmployer(User emp, int afterId, int limit) { return submit(() -> service.getApplicationsForEmployer(emp, afterId, limit)); }
+
+        public CompletableFuture<Long> changeWatermark() { return submit(service::changeWatermark); }
+
+        public CompletableFuture<ChangeSet<ApplicationView>> getApplicationChangesForEmployer(User emp, long since) { return submit(() -> service.getApplicationChangesForEmployer(emp, since)); }
+
+        public CompletableFuture<ApplicationPage> getApplicationsForJobSeeker(User seeker, int afterId, int limit) { return submit(() -> service.getApplicationsForJobSeeker(seeker, afterId, limit)); }
+
+        public CompletableFuture<ApplicationView> findApplicationView(int appId) { return submit(() -> service.findApplicationView(appId)); }
+
+        public CompletableFuture<Boolean> updateApplicationStatus(int appId, String status) { return submit(() -> service.updateApplicationStatus(appId, status)); }
+
+        public CompletableFuture<List<UserSummary>> getAllUsers() { return submit(service::getAllUsers); }
+
+        public CompletableFuture<Integer> countUsers(UserQuery query) { return submit(() -> service.countUsers(query)); }
+
+        public CompletableFuture<Integer> countJobs() { return submit(service::countJobs); }
+
+        public CompletableFuture<List<UserSummary>> getUsersBlock(UserQuery query, int offset, UserSummary previous, int limit) { return submit(() -> service.getUsersBlock(query, offset, previous, limit)); }
+
+        public CompletableFuture<List<JobSummary>> getJobsBlock(int offset, JobSummary previous, int limit) { return submit(() -> service.getJobsBlock(offset, previous, limit)); }
+
+        // The local job snapshot, if any: a mapped file, safe to read on the EDT
+        public JobSnapshot jobSnapshot() { return service.jobSnapshot(); }
+
+        public CompletableFuture<JobSnapshot> reconcileJobSnapshot() { return submit(service::reconcileJobSnapshot); }
+
+        // Source for the full job table: served from the snapshot without a query when there
+        // is one (the future is already complete), else from the store
+        public CompletableFuture<Integer> countListedJobs() {
+            JobSnapshot snap = jobSnapshot();
+            return snap != null ? CompletableFuture.completedFuture(snap.count) : countJobs();
+        }
+
+        public CompletableFuture<List<JobSummary>> getListedJobsBlock(int offset, JobSummary previous, int limit) {
+            JobSnapshot snap = jobSnapshot();
+            return snap != null ? CompletableFuture.completedFuture(snap.block(offset, limit)) : getJobsBlock(offset, previous, limit);
+        }
+
+        public CompletableFuture<Boolean> deleteUser(int userId) { return submit(() -> service.deleteUser(userId)); }
+
+        public CompletableFuture<Boolean> deleteJob(int jobId) { return submit(() -> service.deleteJob(jobId)); }
+
+        // Delivers change events on the EDT; run the returned handle to unsubscribe
+        public Runnable subscribe(Consumer<PortalEvent> onEdt) {
+            Consumer<PortalEvent> l = e -> SwingUtilities.invokeLater(() -> onEdt.accept(e));
+            service.addListener(l);
+            return () -> service.removeListener(l);
+        }
+    }
+
+    // One per view: starting a new load cancels the previous one, and a result that
+    // arrives after it was superseded is dropped. All methods are called on the EDT.
+    static class LatestLoad {
+        private CompletableFuture<?> current;
+
+        <T> void start(CompletableFuture<T> load, Consumer<T> onResult) {
+            start(load, onResult, LatestLoad::showFailure);
+        }
+
+        // A timed-out load gets a non-modal notice and a cancelled one none; real errors keep the dialog
+        static void showFailure(Throwable ex) {
+            if (ex instanceof QueryAbortedException) {
+                if (((QueryAbortedException) ex).reason == QueryAbortedException.Reason.TIMEOUT) {
+                    JDialog notice = new JOptionPane(ex.getMessage() + ". Try again or narrow the search.", JOptionPane.WARNING_MESSAGE).createDialog("Load timed out");
+                    notice.setModal(false);
+                    notice.setVisible(true);
+                }
+                return;
+            }
+            JOptionPane.showMessageDialog(null, "Load failed: " + ex.getMessage());
+        }
+
+        <T> void start(CompletableFuture<T> load, Consumer<T> onResult, Consumer<Throwable> onError) {
+            cancel();
+            current = load;
+            load.whenCompleteAsync((value, ex) -> {
+                if (current != load) return; // superseded
+                current = null;
+                if (ex == null) onResult.accept(value);
+                else if (!(ex instanceof CancellationException)) onError.accept(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            }, EDT);
+        }
+
+        boolean isBusy() { return current != null; }
+
+        void cancel() {
+            if (current != null) {
+                current.cancel(true);
+                current = null;
+            }
+        }
+    }
+
+    // New application from a change event: shown at the top straight away; the names are
+    // filled in by one single-row view read, since the apply itself does not join. A pending
+    // (journaled) row has nothing to read yet; the drainer replaces it with the stored one.
+    static void insertApplication(AsyncPortalService async, RowTableModel<ApplicationView> model, PortalEvent e) {
+        ApplicationModel a = (ApplicationModel) e.value;
+        ApplicationView v = new ApplicationView();
+        v.id = a.id; v.jobId = a.jobId; v.seekerId = a.seekerId; v.status = a.status; v.pending = a.pending;
+        model.insert(0, v);
+        if (a.pending) return;
+        async.findApplicationView(a.id).thenAcceptAsync(full -> {
+            if (full != null) model.patch(full.id, row -> { row.jobTitle = full.jobTitle; row.seekerName = full.seekerName; row.company = full.company; });
+        }, EDT);
+    }
+
+    static String applicationStatus(ApplicationModel a) {
+        if (a.rejection != null) return a.status + " (not saved: " + a.rejection + ")";
+        return a.pending ? a.status + " (pending)" : a.status;
+    }
+
+    // A journaled write the database turned down: the row that showed it as pending says so
+    static void rejectApplication(RowTableModel<ApplicationView> model, PortalEvent e) {
+        ApplicationModel r = (ApplicationModel) e.value;
+        model.patch(e.id, a -> { a.status = r.status; a.pending = false; a.rejection = r.rejection; });
+    }
+
+    // Runs loadMore whenever the viewport gets within a few rows of the bottom
+    static void onScrollNearBottom(JScrollPane scroll, JTable table, Runnable loadMore) {
+        scroll.getVerticalScrollBar().addAdjustmentListener(e -> {
+            BoundedRangeModel m = ((JScrollBar) e.getAdjustable()).getModel();
+            if (m.getValue() + m.getExtent() >= m.getMaximum() - table.getRowHeight() * 5) loadMore.run();
+        });
+    }
+
+    // Save dialog + non-modal progress window with Cancel; the export itself runs on a worker
+    static void exportToCsv(JFrame owner, AsyncPortalService async, String suggestedName, AsyncPortalService.ExportTask task) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File(suggestedName));
+        if (chooser.showSaveDialog(owner) != JFileChooser.APPROVE_OPTION) return;
+        File target = chooser.getSelectedFile();
+
+        JDialog dialog = new JDialog(owner, "Exporting " + target.getName(), false);
+        JLabel progressLabel = new JLabel("Starting export...");
+        progressLabel.setBorder(new EmptyBorder(10, 15, 10, 15));
+        JButton cancelButton = new JButton("Cancel");
+        dialog.setLayout(new BorderLayout());
+        dialog.add(progressLabel, BorderLayout.CENTER);
+        JPanel buttons = new JPanel();
+        buttons.add(cancelButton);
+        dialog.add(buttons, BorderLayout.SOUTH);
+        dialog.pack();
+        dialog.setLocationRelativeTo(owner);
+
+        CsvExport export = new CsvExport(target, rows -> SwingUtilities.invokeLater(() -> progressLabel.setText(rows + " rows written...")));
+        cancelButton.addActionListener(e -> {
+            cancelButton.setEnabled(false);
+            export.cancel();
+        });
+        dialog.setVisible(true);
+
+        async.export(task, export).whenCompleteAsync((rows, ex) -> {
+            dialog.dispose();
+            if (ex == null) JOptionPane.showMessageDialog(owner, "Exported " + rows + " rows to " + target.getName());
+            else if (export.isCancelled()) JOptionPane.showMessageDialog(owner, "Export cancelled.");
+            else JOptionPane.showMessageDialog(owner, "Export failed: " + (ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage()));
+        }, EDT);
+    }
+
+    // ====== ROW TABLE MODEL ======
+    // List-backed model for the paged/fully loaded tables. Change events are applied as
+    // single-row fire* calls so selection and scroll position survive a write.
+    // EDT-confined like every Swing model.
+    static class RowTableModel<T> extends AbstractTableModel {
+        private final String[] columns;
+        private final List<Function<T, Object>> getters;
+        private final ToIntFunction<T> keyOf;
+        private final List<T> rows = new ArrayList<>();
+        private boolean loading;
+
+        RowTableModel(String[] columns, List<Function<T, Object>> getters, ToIntFunction<T> keyOf) {
+            this.columns = columns;
+            this.getters = getters;
+            this.keyOf = keyOf;
+        }
+
+        @Override public int getRowCount() { return rows.isEmpty() && loading ? 1 : rows.size(); }
+        @Override public int getColumnCount() { return columns.length; }
+        @Override public String getColumnName(int col) { return columns[col]; }
+
+        @Override
+        public Object getValueAt(int row, int col) {
+            if (rows.isEmpty()) return col == 0 ? "Loading..." : "";
+            return getters.get(col).apply(rows.get(row));
+        }
+
+        T rowAt(int row) { return row < rows.size() ? rows.get(row) : null; }
+
+        // Placeholder row while the first load is in flight; existing rows stay visible
+        void setLoading(boolean loading) {
+            boolean shown = rows.isEmpty() && this.loading;
+            this.loading = loading;
+            if (rows.isEmpty() && shown != loading) fireTableDataChanged();
+        }
+
+        void setRows(List<T> list) {
+            loading = false;
+            rows.clear();
+            rows.addAll(list);
+            fireTableDataChanged();
+        }
+
+        void addRows(List<T> list) {
+            if (list.isEmpty()) return;
+            if (rows.isEmpty()) {
+                setRows(list);
+                return;
+            }
+            int from = rows.size();
+            rows.addAll(list);
+            fireTableRowsInserted(from, rows.size() - 1);
+        }
+
+        void insert(int index, T item) {
+            if (indexOf(keyOf.applyAsInt(item)) >= 0) return; // already loaded by a racing refresh
+            if (rows.isEmpty()) {
+                setRows(Collections.singletonList(item));
+                return;
+            }
+            rows.add(index, item);
+            fireTableRowsInserted(index, index);
+        }
+
+        void append(T item) { insert(rows.size(), item); }
+
+        int indexOf(int key) {
+            for (int i = 0; i < rows.size(); i++) {
+                if (keyOf.applyAsInt(rows.get(i)) == key) return i;
+            }
+            return -1;
+        }
+
+        boolean patch(int key, Consumer<T> change) {
+            int i = indexOf(key);
+            if (i < 0) return false;
+            change.accept(rows.get(i));
+            fireTableRowsUpdated(i, i);
+            return true;
+        }
+
+        void patchWhere(Predicate<T> match, Consumer<T> change) {
+            for (int i = 0; i < rows.size(); i++) {
+                if (match.test(rows.get(i))) {
+                    change.accept(rows.get(i));
+                    fireTableRowsUpdated(i, i);
+                }
+            }
+        }
+
+        boolean remove(int key) {
+            int i = indexOf(key);
+            if (i < 0) return false;
+            rows.remove(i);
+            if (rows.isEmpty() && loading) fireTableDataChanged();
+            else fireTableRowsDeleted(i, i);
+            return true;
+        }
+
+        void removeWhere(Predicate<T> match) {
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                if (match.test(rows.get(i))) {
+                    rows.remove(i);
+                    fireTableRowsDeleted(i, i);
+                }
+            }
+        }
+
+        // Folds a delta refresh into rows listed newest key first: changed rows replace their
+        // loaded copy or go in at their place, deleted keys go. Keys at or below `floor` (the
+        // paging cursor; 0 = everything is loaded) are left for paging to bring in.
+        void merge(ChangeSet<T> changes, int floor) {
+            for (int key : changes.deleted) remove(key);
+            for (T item : changes.changed) {
+                int key = keyOf.applyAsInt(item);
+                int i = indexOf(key);
+                if (i >= 0) {
+                    rows.set(i, item);
+                    fireTableRowsUpdated(i, i);
+                } else if (key > floor) {
+                    int at = 0;
+                    for (; at < rows.size(); at++) {
+                        int k = keyOf.applyAsInt(rows.get(at));
+                        if (k > 0 && k < key) break; // pending rows (negative keys) stay on top
+                    }
+                    insert(at, item);
+                }
+            }
+        }
+    }
+
+    // ====== LAZY TABLE MODEL ======
+    // Virtual table model: only the row count is known up front, rows are fetched in
+    // blocks as the viewport asks for them. Keeps a bounded LRU of blocks, prefetches the
+    // next block in the scroll direction, and on refresh keeps serving the old blocks
+    // until their replacements arrive so the view does not flicker or lose its place.
+    // EDT-confined like every Swing model.
+    static class LazyTableModel<T> extends AbstractTableModel {
+        interface BlockLoader<T> {
+            // `previous` is the last row of the block before `offset` when it is cached, for keyset paging
+            CompletableFuture<List<T>> load(int offset, T previous, int limit);
+        }
+
+        static final int BLOCK_SIZE = 200;
+        static final int MAX_BLOCKS = 16;
+
+        private final String[] columns;
+        private final List<Function<T, Object>> getters;
+        private final ToIntFunction<T> keyOf;
+        private final Supplier<CompletableFuture<Integer>> counter;
+        private final BlockLoader<T> loader;
+        private final Map<Integer, List<T>> blocks = new LinkedHashMap<Integer, List<T>>(32, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) { return size() > MAX_BLOCKS; }
+        };
+        private Map<Integer, List<T>> stale = new HashMap<>();
+        private final Set<Integer> inFlight = new HashSet<>();
+        private int rowCount;
+        private int generation;
+        private int shifts;
+        private int lastBlock;
+        private JTable table;
+        private int restoreKey = Integer.MIN_VALUE;
+
+        LazyTableModel(String[] columns, List<Function<T, Object>> getters, ToIntFunction<T> keyOf,
+                       Supplier<CompletableFuture<Integer>> counter, BlockLoader<T> loader) {
+            this.columns = columns;
+            this.getters = getters;
+            this.keyOf = keyOf;
+            this.counter = counter;
+            this.loader = loader;
+        }
+
+        void attach(JTable table) {
+            this.table = table;
+            table.setModel(this);
+        }
+
+        @Override public int getRowCount() { return rowCount; }
+        @Override public int getColumnCount() { return columns.length; }
+        @Override public String getColumnName(int col) { return columns[col]; }
+
+        @Override
+        public Object getValueAt(int row, int col) {
+            T item = rowAt(row);
+            if (item == null) return col == 0 ? "Loading..." : "";
+            return getters.get(col).apply(item);
+        }
+
+        T rowAt(int row) {
+            int b = row / BLOCK_SIZE;
+            if (b != lastBlock) {
+                request(b + Integer.signum(b - lastBlock)); // prefetch ahead of the scroll
+                lastBlock = b;
+            }
+            List<T> blk = blocks.get(b);
+            if (blk == null) {
+                request(b);
+                blk = stale.get(b);
+            }
+            int i = row - b * BLOCK_SIZE;
+            return blk != null && i < blk.size() ? blk.get(i) : null;
+        }
+
+        // Re-count and reload lazily; selection is restored by key once its row is back
+        void refresh() {
+            int gen = ++generation;
+            if (table != null && table.getSelectedRow() >= 0) {
+                T sel = rowAt(table.getSelectedRow());
+                if (sel != null) restoreKey = keyOf.applyAsInt(sel);
+            }
+            counter.get().whenCompleteAsync((count, ex) -> {
+                if (gen != generation || ex != null) return;
+                stale = new HashMap<>(blocks);
+                blocks.clear();
+                inFlight.clear();
+                if (count == rowCount) {
+                    if (rowCount > 0) fireTableRowsUpdated(0, rowCount - 1);
+                } else {
+                    rowCount = count;
+                    stale.clear(); // row positions moved, old blocks would show the wrong rows
+                    fireTableDataChanged();
+                }
+            }, EDT);
+        }
+
+        // ---- change events: shift cached blocks instead of reloading them
+
+        void insertAt(int row, T item) {
+            int b = row / BLOCK_SIZE;
+            List<T> carry = null;
+            for (; blocks.containsKey(b); b++) {
+                List<T> blk = new ArrayList<>(blocks.get(b));
+                if (carry == null) blk.add(Math.min(row - b * BLOCK_SIZE, blk.size()), item);
+                else blk.add(0, carry.get(0));
+                carry = blk.size() > BLOCK_SIZE ? Collections.singletonList(blk.remove(BLOCK_SIZE)) : null;
+                blocks.put(b, blk);
+                if (carry == null) break;
+            }
+            dropBlocksFrom(carry == null ? b + 1 : b); // later blocks are shifted by one row
+            stale.clear();
+            rowCount++;
+            fireTableRowsInserted(row, row);
+        }
+
+        void removeAt(int row) {
+            int b = row / BLOCK_SIZE;
+            List<T> blk = blocks.get(b);
+            if (blk != null) {
+                blk = new ArrayList<>(blk);
+                blk.remove(row - b * BLOCK_SIZE);
+                for (List<T> next; (next = blocks.get(b + 1)) != null && !next.isEmpty(); b++) {
+                    blk.add(next.get(0));
+                    blocks.put(b, blk);
+                    blk = new ArrayList<>(next.subList(1, next.size()));
+                }
+                // keep it only if it is complete; a short block is refetched on demand
+                if (blk.size() == Math.min(BLOCK_SIZE, rowCount - 1 - b * BLOCK_SIZE)) blocks.put(b, blk);
+                else blocks.remove(b);
+            }
+            dropBlocksFrom(b + 1);
+            stale.clear();
+            rowCount--;
+            fireTableRowsDeleted(row, row);
+        }
+
+        // Row index of a cached key, or -1 if it is not in any cached block
+        int indexOfKey(int key) {
+            for (Map.Entry<Integer, List<T>> e : blocks.entrySet()) {
+                List<T> blk = e.getValue();
+                for (int i = 0; i < blk.size(); i++) {
+                    if (keyOf.applyAsInt(blk.get(i)) == key) return e.getKey() * BLOCK_SIZE + i;
+                }
+            }
+            return -1;
+        }
+
+        void removeKey(int key) {
+            int row = indexOfKey(key);
+            if (row >= 0) removeAt(row);
+            else if (rowCount > 0) refresh(); // not cached: only the count (and positions) know it went
+        }
+
+        void patchWhere(Predicate<T> match, Consumer<T> change) {
+            for (Map.Entry<Integer, List<T>> e : blocks.entrySet()) {
+                List<T> blk = e.getValue();
+                for (int i = 0; i < blk.size(); i++) {
+                    if (match.test(blk.get(i))) {
+                        change.accept(blk.get(i));
+                        int row = e.getKey() * BLOCK_SIZE + i;
+                        fireTableRowsUpdated(row, row);
+                    }
+                }
+            }
+        }
+
+        private void dropBlocksFrom(int first) {
+            blocks.keySet().removeIf(k -> k >= first);
+            inFlight.clear();
+            shifts++; // loads already in flight were keyed on the old row positions
+        }
+
+        private void request(int b) {
+            if (b < 0 || b * BLOCK_SIZE >= rowCount || blocks.containsKey(b) || !inFlight.add(b)) return;
+            int gen = generation, shift = shifts;
+            List<T> before = blocks.get(b - 1);
+            T previous = before != null && before.size() == BLOCK_SIZE ? before.get(BLOCK_SIZE - 1) : null;
+            loader.load(b * BLOCK_SIZE, previous, BLOCK_SIZE).whenCompleteAsync((rows, ex) -> {
+                if (gen != generation || shift != shifts) return;
+                inFlight.remove(b);
+                if (ex != null) return;
+                blocks.put(b, rows);
+                stale.remove(b);
+                int from = b * BLOCK_SIZE;
+                int to = Math.min(rowCount, from + BLOCK_SIZE) - 1;
+                if (to >= from) fireTableRowsUpdated(from, to);
+                restoreSelection(from, rows);
+            }, EDT);
+        }
+
+        private void restoreSelection(int from, List<T> rows) {
+            if (restoreKey == Integer.MIN_VALUE || table == null) return;
+            for (int i = 0; i < rows.size(); i++) {
+                if (keyOf.applyAsInt(rows.get(i)) == restoreKey) {
+                    if (table.getSelectedRow() != from + i) table.setRowSelectionInterval(from + i, from + i);
+                    restoreKey = Integer.MIN_VALUE;
+                    return;
+                }
+            }
+        }
+    }
+
+    // ====== UI HELPERS (Rounded button, gradient panel) ======
+    static class GradientPanel extends JPanel {
+        private Color color1 = new Color(45, 45, 45);
+        private Color color2 = new Color(20, 20, 20);
+        public GradientPanel() { setOpaque(false); }
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            int w = getWidth(), h = getHeight();
+            GradientPaint gp = new GradientPaint(0, 0, color1, 0, h, color2);
+            g2.setPaint(gp);
+            g2.fillRect(0, 0, w, h);
+            g2.dispose();
+            super.paintComponent(g);
+        }
+    }
+
+    static class RoundedButton extends JButton {
+        public RoundedButton(String text) {
+            super(text);
+            setFocusPainted(false);
+            setContentAreaFilled(false);
+            setBorderPainted(false);
+            setOpaque(false);
+            setForeground(Color.WHITE);
+            setCursor(new Cursor(Cursor.HAND_CURSOR));
+            setFont(APP_FONT);
+            setMargin(new Insets(5, 15, 5, 15));
+        }
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            Color base = ACCENT;
+            Color hover = ACCENT.brighter();
+            Color press = ACCENT.darker();
+            if (getModel().isPressed()) g2.setColor(press);
+            else if (getModel().isRollover()) g2.setColor(hover);
+            else g2.setColor(base);
+            g2.fillRoundRect(0, 0, getWidth(), getHeight(), 20, 20);
+            g2.dispose();
+            super.paintComponent(g);
+        }
+    }
+
+    // ====== STARTUP PIPELINE ======
+    // The slow parts of startup run here while the login window is already up. A phase starts
+    // once the phases it depends on have succeeded, so independent ones overlap; a failed
+    // dependency fails everything downstream. Each phase's wall time is recorded.
+    static class StartupPipeline {
+        interface Step { void run() throws Exception; }
+
+        private final long origin = System.nanoTime();
+        private final ExecutorService executor;
+        private final Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>()); // phase -> ms
+        private final List<CompletableFuture<Void>> phases = new CopyOnWriteArrayList<>();
+
+        StartupPipeline() {
+            AtomicInteger seq = new AtomicInteger();
+            executor = Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "startup-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        CompletableFuture<Void> phase(String name, Step step, CompletableFuture<?>... after) {
+            CompletableFuture<Void> f = CompletableFuture.allOf(after).thenRunAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    step.run();
+                } catch (Exception ex) {
+                    throw new CompletionException(ex);
+                } finally {
+                    timings.put(name, (System.nanoTime() - start) / 1_000_000);
+                }
+            }, executor);
+            phases.add(f);
+            return f;
+        }
+
+        // A point in time rather than a phase, e.g. when the first window became visible
+        void mark(String name) { timings.put(name + " at", (System.nanoTime() - origin) / 1_000_000); }
+
+        // Completes normally once every phase has finished, whether or not it succeeded
+        CompletableFuture<Void> whenSettled() {
+            return CompletableFuture.allOf(phases.toArray(new CompletableFuture<?>[0]))
+                    .handle((v, ex) -> null)
+                    .thenRun(executor::shutdown);
+        }
+
+        String report() {
+            StringBuilder sb = new StringBuilder();
+            synchronized (timings) {
+                for (Map.Entry<String, Long> e : timings.entrySet()) {
+                    if (sb.length() > 0) sb.append(", ");
+                    sb.append(e.getKey()).append(' ').append(e.getValue()).append("ms");
+                }
+            }
+            return sb.append(", total ").append((System.nanoTime() - origin) / 1_000_000).append("ms").toString();
+        }
+
+        static Throwable cause(Throwable ex) {
+            while (ex instanceof CompletionException && ex.getCause() != null) ex = ex.getCause();
+            return ex;
+        }
+    }
+
+    // ====== STATIC singletons for this app ======
+    private static DatabaseManager dbm; // null when running on the in-memory store
+    private static JobPortalService service;
+    private static AsyncPortalService asyncService;
+
+    // ====== FIELDS FOR MAIN GUI APP ======
+    private JTextField loginEmailField;
+    private JPasswordField loginPasswordField;
+    private JLabel loginStatusLabel;
+    private JCheckBox rememberMeCheckBox;
+    private final LatestLoad loginLoad = new LatestLoad();
+
+    // remember me file
+    private static final String REMEMBER_FILE = "remember_me.txt";
+
+    // ====== CONSTRUCTOR ======
+    public JobPortalSQLGui() {
+        setTitle("Job Portal - SQL");
+        setSize(800, 520);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        getContentPane().setBackground(BG_DARK);
+        setLayout(new BorderLayout());
+
+        applyGlobalStyles();
+
+        // header
+        add(createHeaderBar("Job Portal"), BorderLayout.NORTH);
+
+        initUI();
+        loadRememberedUser();
+    }
+
+    private void initUI() {
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.setBackground(BG_PANEL);
+        tabs.setForeground(Color.WHITE);
+        tabs.setFont(TAB_FONT);
+        tabs.setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        tabs.addTab("Login", buildLoginPanel());
+        tabs.addTab("Register Employer", buildEmployerRegisterPanel());
+        tabs.addTab("Register Job Seeker", buildJobSeekerRegisterPanel());
+
+        add(tabs, BorderLayout.CENTER);
+    }
+
+    // ====== VALIDATION HELPERS ======
+    private static boolean isValidEmail(String email) {
+        if (email == null) return false;
+        return email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
+    }
+    private static boolean isValidPassword(String password) {
+        return password != null && password.length() >= 6;
+    }
+
+    // ====== REMEMBER me helpers ======
+    private void saveRememberMe(String email, String password) {
+        try {
+            File f = new File(REMEMBER_FILE);
+            if (rememberMeCheckBox != null && rememberMeCheckBox.isSelected()) {
+                try (FileWriter fw = new FileWriter(f)) {
+                    fw.write(email + "\n" + password);
+                }
+            } else {
+                if (f.exists()) {
+                    int res = JOptionPane.showConfirmDialog(this,
+                            "Clear saved login information?",
+                            "Confirm",
+                            JOptionPane.YES_NO_OPTION);
+                    if (res == JOptionPane.YES_OPTION) f.delete();
+                }
+            }
+        } catch (IOException e) { /* ignore */ }
+    }
+
+    private void loadRememberedUser() {
+        File f = new File(REMEMBER_FILE);
+        if (!f.exists()) return;
+        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
+            String email = br.readLine();
+            String pass = br.readLine();
+            if (email == null || pass == null) { f.delete(); return; }
+            if (loginEmailField != null && loginPasswordField != null) {
+                loginEmailField.setText(email);
+                loginPasswordField.setText(pass);
+                if (rememberMeCheckBox != null) rememberMeCheckBox.setSelected(true);
+                try { doLogin(); } catch (Exception ex) { f.delete(); }
+            }
+        } catch (IOException e) {}
+    }
+
+    // ====== LOGIN PANEL ======
+    private JPanel buildLoginPanel() {
+        GradientPanel panel = new GradientPanel();
+        panel.setLayout(new GridBagLayout());
+        panel.setBorder(new EmptyBorder(10, 20, 10, 20));
+        GridBagConstraints gbc = new GridBagConstraints();
+
+        JLabel bgLabel = new JLabel();
+        File bg = new File("bg.png");
+        if (bg.exists()) {
+            ImageIcon ic = new ImageIcon("bg.png");
+            Image img = ic.getImage().getScaledInstance(140, 80, Image.SCALE_SMOOTH);
+            bgLabel.setIcon(new ImageIcon(img));
+        } else {
+            bgLabel.setText(" ");
+        }
+
+        JLabel title = new JLabel("Login");
+        title.setFont(TITLE_FONT);
+        title.setForeground(Color.WHITE);
+
+        JLabel emailLabel = new JLabel("Email:");
+        JLabel passwordLabel = new JLabel("Password:");
+        emailLabel.setForeground(Color.WHITE);
+        passwordLabel.setForeground(Color.WHITE);
+
+        loginEmailField = new JTextField(20);
+        loginPasswordField = new JPasswordField(20);
+        RoundedButton loginButton = new RoundedButton("Login");
+        loginStatusLabel = new JLabel(" ");
+        loginStatusLabel.setForeground(Color.ORANGE);
+
+        rememberMeCheckBox = new JCheckBox("Remember me / auto-login");
+        rememberMeCheckBox.setOpaque(false);
+        rememberMeCheckBox.setForeground(Color.WHITE);
+
+        gbc.insets = new Insets(5, 5, 5, 5);
+
+        // Row 0: image
+        gbc.gridx = 0; gbc.gridy = 0; gbc.gridwidth = 2;
+        panel.add(bgLabel, gbc);
+
+        // Row 1: title
+        gbc.gridy = 1;
+        panel.add(title, gbc);
+
+        gbc.gridwidth = 1;
+
+        // Row 2: email
+        gbc.gridx = 0; gbc.gridy = 2;
+        panel.add(emailLabel, gbc);
+        gbc.gridx = 1;
+        panel.add(loginEmailField, gbc);
+
+        // Row 3: password
+        gbc.gridx = 0; gbc.gridy = 3;
+        panel.add(passwordLabel, gbc);
+        gbc.gridx = 1;
+        panel.add(loginPasswordField, gbc);
+
+        // Row 4: Remember me
+        gbc.gridx = 0; gbc.gridy = 4; gbc.gridwidth = 2;
+        panel.add(rememberMeCheckBox, gbc);
+
+        // Row 5: login button
+        gbc.gridy = 5;
+        gbc.fill = GridBagConstraints.NONE;
+        gbc.anchor = GridBagConstraints.CENTER;
+        panel.add(loginButton, gbc);
+
+        // Row 6: status
+        gbc.gridy = 6;
+        panel.add(loginStatusLabel, gbc);
+
+        loginButton.addActionListener(e -> doLogin());
+
+        return panel;
+    }
+
+    private void doLogin() {
+        String email = loginEmailField.getText().trim();
+        String password = new String(loginPasswordField.getPassword());
+
+        if (email.isEmpty() || password.isEmpty()) {
+            loginStatusLabel.setText("Please enter email and password.");
+            return;
+        }
+        if (!isValidEmail(email)) {
+            loginStatusLabel.setText("Invalid email format.");
+            return;
+        }
+
+        loginStatusLabel.setText("Signing in...");
+        loginLoad.start(asyncService.login(email, password), user -> {
+            if (user == null) {
+                loginStatusLabel.setText("Invalid credentials.");
+                return;
+            }
+            loginStatusLabel.setText("Login successful as " + user.role);
+            saveRememberMe(email, password);
+            openDashboard(user);
+        }, ex -> loginStatusLabel.setText("Login failed: " + ex.getMessage()));
+    }
+
+    private void openDashboard(User user) {
+        if ("EMPLOYER".equals(user.role)) {
+            new EmployerFrame(user, asyncService).setVisible(true);
+        } else if ("JOB_SEEKER".equals(user.role)) {
+            new JobSeekerFrame(user, asyncService).setVisible(true);
+        } else if ("ADMIN".equals(user.role)) {
+            new AdminFrame(user, asyncService).setVisible(true);
+        }
+    }
+
+    // ====== REGISTER PANELS ======
+    private JPanel buildEmployerRegisterPanel() {
+        GradientPanel panel = new GradientPanel();
+        panel.setLayout(new GridBagLayout());
+        panel.setBorder(new EmptyBorder(10, 20, 10, 20));
+        GridBagConstraints gbc = new GridBagConstraints();
+
+        JLabel title = new JLabel("Register Employer");
+        title.setFont(TITLE_FONT);
+        title.setForeground(Color.WHITE);
+
+        JLabel nameLabel = new JLabel("Name:");
+        JLabel emailLabel = new JLabel("Email:");
+        JLabel passwordLabel = new JLabel("Password:");
+        JLabel companyLabel = new JLabel("Company:");
+
+        nameLabel.setForeground(Color.WHITE);
+        emailLabel.setForeground(Color.WHITE);
+        passwordLabel.setForeground(Color.WHITE);
+        companyLabel.setForeground(Color.WHITE);
+
+        JTextField nameField = new JTextField(20);
+        JTextField emailField = new JTextField(20);
+        JPasswordField passwordField = new JPasswordField(20);
+        JTextField companyField = new JTextField(20);
+
+        RoundedButton registerButton = new RoundedButton("Register");
+        JLabel statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.ORANGE);
+
+        gbc.insets = new Insets(5,5,5,5);
+        gbc.gridx = 0; gbc.gridy = 0; gbc.gridwidth = 2;
+        panel.add(title, gbc);
+
+        gbc.gridwidth = 1;
+        gbc.gridx = 0; gbc.gridy = 1;
+        panel.add(nameLabel, gbc);
+        gbc.gridx = 1;
+        panel.add(nameField, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 2;
+        panel.add(emailLabel, gbc);
+        gbc.gridx = 1;
+        panel.add(emailField, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 3;
+        panel.add(passwordLabel, gbc);
+        gbc.gridx = 1;
+        panel.add(passwordField, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 4;
+        panel.add(companyLabel, gbc);
+        gbc.gridx = 1;
+        panel.add(companyField, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 5; gbc.gridwidth = 2;
+        panel.add(registerButton, gbc);
+
+        gbc.gridy = 6;
+        panel.add(statusLabel, gbc);
+
+        registerButton.addActionListener(e -> {
+            String name = nameField.getText().trim();
+            String email = emailField.getText().trim();
+            String pass = new String(passwordField.getPassword());
+            String company = companyField.getText().trim();
+
+            if (name.isEmpty() || email.isEmpty() || pass.isEmpty() || company.isEmpty()) {
+                statusLabel.setText("All fields are required.");
+                return;
+            }
+            if (!isValidEmail(email)) {
+                statusLabel.setText("Invalid email format.");
+                return;
+            }
+            if (!isValidPassword(pass)) {
+                statusLabel.setText("Password must be at least 6 characters.");
+                return;
+            }
+            statusLabel.setText("Registering...");
+            registerButton.setEnabled(false);
+            asyncService.registerEmployer(name, email, pass, company).whenCompleteAsync((u, ex) -> {
+                registerButton.setEnabled(true);
+                if (ex != null) statusLabel.setText("Registration failed.");
+                else if (u == null) statusLabel.setText("User already exists with this email.");
+                else if (u.id > 0) statusLabel.setText("Registered. Your ID: " + u.id);
+                else statusLabel.setText("Registration failed.");
+            }, EDT);
+        });
+
+        return panel;
+    }
+
+    private JPanel buildJobSeekerRegisterPanel() {
+        GradientPanel panel = new GradientPanel();
+        panel.setLayout(new GridBagLayout());
+        panel.setBorder(new EmptyBorder(10, 20, 10, 20));
+        GridBagConstraints gbc = new GridBagConstraints();
+
+        JLabel title = new JLabel("Register Job Seeker");
+        title.setFont(TITLE_FONT);
+        title.setForeground(Color.WHITE);
+
+        JLabel nameLabel = new JLabel("Name:");
+        JLabel emailLabel = new JLabel("Email:");
+        JLabel passwordLabel = new JLabel("Password:");
+        JLabel resumeLabel = new JLabel("Resume Summary:");
+
+        nameLabel.setForeground(Color.WHITE);
+        emailLabel.setForeground(Color.WHITE);
+        passwordLabel.setForeground(Color.WHITE);
+        resumeLabel.setForeground(Color.WHITE);
+
+        JTextField nameField = new JTextField(20);
+        JTextField emailField = new JTextField(20);
+        JPasswordField passwordField = new JPasswordField(20);
+        JTextArea resumeArea = new JTextArea(3, 20);
+        JScrollPane resumeScroll = new JScrollPane(resumeArea);
+
+        RoundedButton registerButton = new RoundedButton("Register");
+        JLabel statusLabel = new JLabel(" ");
+        statusLabel.setForeground(Color.ORANGE);
+
+        gbc.insets = new Insets(5,5,5,5);
+        gbc.gridx = 0; gbc.gridy = 0; gbc.gridwidth = 2;
+        panel.add(title, gbc);
+
+        gbc.gridwidth = 1;
+        gbc.gridx = 0; gbc.gridy = 1;
+        panel.add(nameLabel, gbc);
+        gbc.gridx = 1;
+        panel.add(nameField, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 2;
+        panel.add(emailLabel, gbc);
+        gbc.gridx = 1;
+        panel.add(emailField, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 3;
+        panel.add(passwordLabel, gbc);
+        gbc.gridx = 1;
+        panel.add(passwordField, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 4;
+        panel.add(resumeLabel, gbc);
+        gbc.gridx = 1;
+        panel.add(resumeScroll, gbc);
+
+        gbc.gridx = 0; gbc.gridy = 5; gbc.gridwidth = 2;
+        panel.add(registerButton, gbc);
+
+        gbc.gridy = 6;
+        panel.add(statusLabel, gbc);
+
+        registerButton.addActionListener(e -> {
+            String name = nameField.getText().trim();
+            String email = emailField.getText().trim();
+            String pass = new String(passwordField.getPassword());
+            String resume = resumeArea.getText().trim();
+
+            if (name.isEmpty() || email.isEmpty() || pass.isEmpty() || resume.isEmpty()) {
+                statusLabel.setText("All fields are required.");
+                return;
+            }
+            if (!isValidEmail(email)) {
+                statusLabel.setText("Invalid email format.");
+                return;
+            }
+            if (!isValidPassword(pass)) {
+                statusLabel.setText("Password must be at least 6 characters.");
+                return;
+            }
+            statusLabel.setText("Registering...");
+            registerButton.setEnabled(false);
+            asyncService.registerJobSeeker(name, email, pass, resume).whenCompleteAsync((u, ex) -> {
+                registerButton.setEnabled(true);
+                if (ex != null) statusLabel.setText("Registration failed.");
+                else if (u == null) statusLabel.setText("User already exists with this email.");
+                else if (u.id > 0) statusLabel.setText("Registered. Your ID: " + u.id);
+                else statusLabel.setText("Registration failed.");
+            }, EDT);
+        });
+
+        return panel;
+    }
+
+    // ====== DASHBOARD FRAMES ======
+    // EMPLOYER FRAME
+    static class EmployerFrame extends JFrame {
+        private final User employer;
+        private final AsyncPortalService service;
+        private final LatestLoad jobsLoad = new LatestLoad();
+        private final LatestLoad appsLoad = new LatestLoad();
+        private static final int JOBS_PAGE_SIZE = 100;
+        private static final int APPS_PAGE_SIZE = 100;
+        private static final int IMPORT_CHUNK_SIZE = 1000;
+        private JTable jobsTable;
+        private JTable appsTable;
+        private final RowTableModel<JobSummary> jobsModel = new RowTableModel<>(new String[]{"Job ID","Title","Location","Salary"},
+                Arrays.<Function<JobSummary, Object>>asList(j -> j.id, j -> j.title, j -> j.location, j -> j.salary), j -> j.id);
+        private final RowTableModel<ApplicationView> appsModel = new RowTableModel<>(new String[]{"App ID","Job ID","Job Title","Seeker","Status"},
+                Arrays.<Function<ApplicationView, Object>>asList(a -> a.id, a -> a.jobId, a -> a.jobTitle, a -> a.seekerName, JobPortalSQLGui::applicationStatus), a -> a.id);
+        private final Runnable unsubscribe;
+        private int jobsCursor;
+        private int appsCursor;
+        private long appsWatermark = -1; // of the last full load or delta; -1 = none yet
+
+        public EmployerFrame(User employer, AsyncPortalService service) {
+            this.employer = employer;
+            this.service = service;
+            this.unsubscribe = service.subscribe(this::onPortalEvent);
+
+            setTitle("Employer Dashboard - " + employer.name);
+            setSize(900, 550);
+            setLocationRelativeTo(null);
+            getContentPane().setBackground(BG_DARK);
+            setLayout(new BorderLayout());
+
+            JPanel header = createHeaderBar("Employer Dashboard");
+            RoundedButton backBtn = new RoundedButton("Back");
+            backBtn.addActionListener(e -> this.dispose());
+            JPanel right = new JPanel(new FlowLayout(FlowLayout.RIGHT,0,0));
+            right.setOpaque(false);
+            right.add(backBtn);
+            header.add(right, BorderLayout.EAST);
+            add(header, BorderLayout.NORTH);
+
+            initUI();
+        }
+
+        @Override
+        public void dispose() {
+            unsubscribe.run();
+            super.dispose();
+        }
+
+        // Writes from any window show up here as single-row patches; no re-query
+        private void onPortalEvent(PortalEvent e) {
+            switch (e.entity) {
+                case JOB:
+                    if (e.kind == PortalEvent.Kind.INSERTED && e.ownerId == employer.id) jobsModel.insert(0, (Job) e.value);
+                    else if (e.kind == PortalEvent.Kind.BULK_CHANGED && e.ownerId == employer.id) refreshJobsTable();
+                    else if (e.kind == PortalEvent.Kind.DELETED) {
+                        jobsModel.remove(e.id);
+                        appsModel.removeWhere(a -> a.jobId == e.id); // ON DELETE CASCADE
+                    }
+                    break;
+                case APPLICATION:
+                    if (e.kind == PortalEvent.Kind.INSERTED && isOwnJob(e.ownerId, ((ApplicationModel) e.value).jobId)) insertApplication(service, appsModel, e);
+                    else if (e.kind == PortalEvent.Kind.UPDATED) appsModel.patch(e.id, a -> { a.status = ((ApplicationModel) e.value).status; a.pending = ((ApplicationModel) e.value).pending; });
+                    else if (e.kind == PortalEvent.Kind.DELETED) appsModel.remove(e.id);
+                    else if (e.kind == PortalEvent.Kind.REJECTED && appsModel.indexOf(e.id) >= 0) {
+                        rejectApplication(appsModel, e);
+                        if (e.id > 0) { // a status change (applies have negative pending ids)
+                            JOptionPane.showMessageDialog(this, "Status change for application " + e.id + " was not saved: "
+                                    + ((ApplicationModel) e.value).rejection + ".");
+                        }
+                    }
+                    break;
+                case USER:
+                    if (e.kind == PortalEvent.Kind.UPDATED) appsModel.patchWhere(a -> a.seekerId == e.id, a -> a.seekerName = ((User) e.value).name);
+                    else if (e.kind == PortalEvent.Kind.DELETED) appsModel.removeWhere(a -> a.seekerId == e.id);
+                    break;
+            }
+        }
+
+        // Events may not know the job's owner (-1); then only a loaded job of ours counts
+        private boolean isOwnJob(int ownerId, int jobId) {
+            return ownerId == employer.id || (ownerId < 0 && jobsModel.indexOf(jobId) >= 0);
+        }
+
+        private void initUI() {
+            JTabbedPane tabs = new JTabbedPane();
+            tabs.setBackground(BG_PANEL);
+            tabs.setForeground(Color.WHITE);
+            tabs.setFont(TAB_FONT);
+            tabs.setBorder(new EmptyBorder(10,10,10,10));
+
+            tabs.addTab("Post Job", buildPostJobPanel());
+            tabs.addTab("My Jobs", buildJobsPanel());
+            tabs.addTab("Applications", buildApplicationsPanel());
+            tabs.addTab("Profile", buildProfilePanel());
+
+            add(tabs, BorderLayout.CENTER);
+        }
+
+        private JPanel buildPostJobPanel() {
+            GradientPanel panel = new GradientPanel();
+            panel.setLayout(new GridBagLayout());
+            panel.setBorder(new EmptyBorder(10,20,10,20));
+            GridBagConstraints gbc = new GridBagConstraints();
+
+            JLabel titleLabel = new JLabel("Post a New Job");
+            titleLabel.setFont(TITLE_FONT);
+            titleLabel.setForeground(Color.WHITE);
+
+            JLabel jobTitleLabel = new JLabel("Job Title:");
+            JLabel descLabel = new JLabel("Description:");
+            JLabel locLabel = new JLabel("Location:");
+            JLabel salLabel = new JLabel("Salary:");
+
+            jobTitleLabel.setForeground(Color.WHITE);
+            descLabel.setForeground(Color.WHITE);
+            locLabel.setForeground(Color.WHITE);
+            salLabel.setForeground(Color.WHITE);
+
+            JTextField titleField = new JTextField(20);
+            JTextArea descArea = new JTextArea(3,20);
+            JScrollPane descScroll = new JScrollPane(descArea);
+            JTextField locField = new JTextField(20);
+            JTextField salField = new JTextField(20);
+
+            RoundedButton postButton = new RoundedButton("Post Job");
+            RoundedButton importButton = new RoundedButton("Import Jobs from CSV/JSONL...");
+            JLabel statusLabel = new JLabel(" ");
+            statusLabel.setForeground(Color.ORANGE);
+
+            gbc.insets = new Insets(5,5,5,5);
+            gbc.gridx=0; gbc.gridy=0; gbc.gridwidth=2;
+            panel.add(titleLabel, gbc);
+
+            gbc.gridwidth=1;
+            gbc.gridx=0; gbc.gridy=1;
+            panel.add(jobTitleLabel, gbc);
+            gbc.gridx=1;
+            panel.add(titleField, gbc);
+
+            gbc.gridx=0; gbc.gridy=2;
+            panel.add(descLabel, gbc);
+            gbc.gridx=1;
+            panel.add(descScroll, gbc);
+
+            gbc.gridx=0; gbc.gridy=3;
+            panel.add(locLabel, gbc);
+            gbc.gridx=1;
+            panel.add(locField, gbc);
+
+            gbc.gridx=0; gbc.gridy=4;
+            panel.add(salLabel, gbc);
+            gbc.gridx=1;
+            panel.add(salField, gbc);
+
+            gbc.gridx=0; gbc.gridy=5; gbc.gridwidth=2;
+            panel.add(postButton, gbc);
+
+            gbc.gridy=6;
+            panel.add(importButton, gbc);
+
+            gbc.gridy=7;
+            panel.add(statusLabel, gbc);
+
+            importButton.addActionListener(e -> importJobs(importButton, statusLabel));
+
+            postButton.addActionListener(e -> {
+                try {
+                    String t = titleField.getText().trim();
+                    String d = descArea.getText().trim();
+                    String loc = locField.getText().trim();
+                    String stext = salField.getText().trim();
+                    if (t.isEmpty() || d.isEmpty() || loc.isEmpty() || stext.isEmpty()) {
+                        statusLabel.setText("All fields required.");
+                        return;
+                    }
+                    double sal = Double.parseDouble(stext);
+                    statusLabel.setText("Posting...");
+                    postButton.setEnabled(false);
+                    service.postJob(t, d, loc, sal, employer).whenCompleteAsync((j, ex) -> {
+                        postButton.setEnabled(true);
+                        if (ex == null && j.id>0) statusLabel.setText("Posted job with ID: " + j.id);
+                        else statusLabel.setText("Failed to post.");
+                    }, EDT);
+                } catch (NumberFormatException ex) {
+                    statusLabel.setText("Invalid salary.");
+                    salField.setText("");
+                }
+            });
+
+            return panel;
+        }
+
+        private JPanel buildJobsPanel() {
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.setBackground(BG_DARK);
+
+            jobsTable = new JTable(jobsModel);
+            styleTable(jobsTable);
+            refreshJobsTable();
+
+            JPanel top = new JPanel();
+            top.setBackground(BG_DARK);
+            RoundedButton exportBtn = new RoundedButton("Export My Jobs to CSV");
+            exportBtn.addActionListener(e -> exportToCsv(this, service, "my_jobs.csv", (svc, out) -> svc.exportEmployerJobs(employer, out)));
+            top.add(exportBtn);
+
+            JScrollPane scroll = new JScrollPane(jobsTable);
+            onScrollNearBottom(scroll, jobsTable, this::loadMoreJobs);
+            panel.add(top, BorderLayout.NORTH);
+            panel.add(scroll, BorderLayout.CENTER);
+            return panel;
+        }
+
+        private void importJobs(JButton importButton, JLabel statusLabel) {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("CSV or JSON Lines", "csv", "jsonl", "ndjson", "json"));
+            if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+            File file = chooser.getSelectedFile();
+            importButton.setEnabled(false);
+            statusLabel.setText("Importing " + file.getName() + "...");
+            JobImporter.Progress progress = (read, imported, failed) -> SwingUtilities.invokeLater(() ->
+                    statusLabel.setText("Read " + read + " rows, imported " + imported + ", " + failed + " errors..."));
+            service.importJobs(file, employer, IMPORT_CHUNK_SIZE, progress).whenCompleteAsync((res, ex) -> {
+                importButton.setEnabled(true);
+                if (ex != null) {
+                    statusLabel.setText("Import failed: " + (ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage()));
+                    return;
+                }
+                statusLabel.setText("Imported " + res.ids.length + " of " + res.rowsRead + " rows.");
+                if (!res.errors.isEmpty()) {
+                    StringBuilder msg = new StringBuilder(res.errors.size() + " rows were not imported:\n");
+                    for (int i = 0; i < Math.min(20, res.errors.size()); i++) msg.append(res.errors.get(i)).append('\n');
+                    if (res.errors.size() > 20) msg.append("...");
+                    JOptionPane.showMessageDialog(this, msg.toString(), "Import errors", JOptionPane.WARNING_MESSAGE);
+                }
+            }, EDT);
+        }
+
+        private void refreshJobsTable() {
+            jobsCursor = 0;
+            jobsModel.setLoading(true);
+            jobsLoad.start(service.getJobsByEmployer(employer, 0, JOBS_PAGE_SIZE), page -> {
+                jobsModel.setRows(page.jobs);
+                jobsCursor = page.nextCursor;
+            });
+        }
+
+        private void loadMoreJobs() {
+            if (jobsCursor <= 0 || jobsLoad.isBusy()) return;
+            jobsLoad.start(service.getJobsByEmployer(employer, jobsCursor, JOBS_PAGE_SIZE), this::appendJobs);
+        }
+
+        private void appendJobs(JobPage page) {
+            jobsModel.addRows(page.jobs);
+            jobsCursor = page.nextCursor;
+        }
+
+        private JPanel buildApplicationsPanel() {
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.setBackground(BG_DARK);
+
+            appsTable = new JTable(appsModel);
+            styleTable(appsTable);
+            refreshAppsTable();
+
+            JPanel top = new JPanel();
+            top.setBackground(BG_DARK);
+            JLabel appIdLabel = new JLabel("Application ID:");
+            JTextField appIdField = new JTextField(5);
+            JLabel statusLabel = new JLabel("Status:");
+            String[] statuses = {"APPLIED","ACCEPTED","REJECTED"};
+            JComboBox<String> statusBox = new JComboBox<>(statuses);
+            RoundedButton updateButton = new RoundedButton("Update Status");
+            RoundedButton refreshButton = new RoundedButton("Refresh");
+            refreshButton.addActionListener(e -> refreshAppsChanges());
+
+            appIdLabel.setForeground(Color.WHITE);
+            statusLabel.setForeground(Color.WHITE);
+
+            top.add(appIdLabel);
+            top.add(appIdField);
+            top.add(statusLabel);
+            top.add(statusBox);
+            top.add(updateButton);
+            top.add(refreshButton);
+
+            updateButton.addActionListener(e -> {
+                try {
+                    int aid = Integer.parseInt(appIdField.getText().trim());
+                    String st = (String) statusBox.getSelectedItem();
+                    service.updateApplicationStatus(aid, st).thenAcceptAsync(updated -> {
+                        if (!updated) JOptionPane.showMessageDialog(this, "No application with ID " + aid);
+                    }, EDT);
+                } catch (NumberFormatException ex) {
+                    JOptionPane.showMessageDialog(this, "Invalid Application ID");
+                }
+            });
+
+            JScrollPane scroll = new JScrollPane(appsTable);
+            onScrollNearBottom(scroll, appsTable, this::loadMoreApps);
+            panel.add(top, BorderLayout.NORTH);
+            panel.add(scroll, BorderLayout.CENTER);
+            return panel;
+        }
+
+        private void refreshAppsTable() {
+            appsCursor = 0;
+            appsModel.setLoading(true);
+            // watermark first: whatever is written while the page loads comes back in the next delta
+            CompletableFuture<Long> mark = service.changeWatermark();
+            appsLoad.start(mark.thenCompose(w -> service.getApplicationsForEmployer(employer, 0, APPS_PAGE_SIZE)), page -> {
+                appsModel.setRows(page.apps);
+                appsCursor = page.nextCursor;
+                appsWatermark = mark.join();
+            });
+        }
+
+        // Changes made elsewhere (other windows get events; other app instances do not): one
+        // delta query folded into the loaded rows, a full reload only when there is no watermark
+        private void refreshAppsChanges() {
+            if (appsWatermark < 0) {
+                refreshAppsTable();
+                return;
+            }
+            appsLoad.start(service.getApplicationChangesForEmployer(employer, appsWatermark), changes -> {
+                if (changes == null) return; // the store could not answer; keep what is shown
+                if (changes.resync) {
+                    refreshAppsTable();
+                    return;
+                }
+                appsModel.merge(changes, appsCursor);
+                appsWatermark = changes.watermark;
+            });
+        }
+
+        private void loadMoreApps() {
+            if (appsCursor <= 0 || appsLoad.isBusy()) return;
+            appsLoad.start(service.getApplicationsForEmployer(employer, appsCursor, APPS_PAGE_SIZE), page -> {
+                appsModel.addRows(page.apps);
+                appsCursor = page.nextCursor;
+            });
+        }
+
+        private JPanel buildProfilePanel() {
+            GradientPanel panel = new GradientPanel();
+            panel.setLayout(new GridBagLayout());
+            panel.setBorder(new EmptyBorder(10,20,10,20));
+            GridBagConstraints gbc = new GridBagConstraints();
+
+            JLabel title = new JLabel("Update Profile");
+            title.setFont(TITLE_FONT);
+            title.setForeground(Color.WHITE);
+
+            JLabel nameLabel = new JLabel("Name:");
+            JLabel emailLabel = new JLabel("Email:");
+            JLabel passwordLabel = new JLabel("Password:");
+            JLabel companyLabel = new JLabel("Company:");
+
+            nameLabel.setForeground(Color.WHITE);
+            emailLabel.setForeground(Color.WHITE);
+            passwordLabel.setForeground(Color.WHITE);
+            companyLabel.setForeground(Color.WHITE);
+
+            JTextField nameField = new JTextField(employer.name, 20);
+            JTextField emailField = new JTextField(employer.email, 20);
+            JPasswordField passwordField = new JPasswordField(employer.password, 20);
+            JTextField companyField = new JTextField(employer.company, 20);
+
+            RoundedButton saveButton = new RoundedButton("Save Changes");
+
+            gbc.insets = new Insets(5,5,5,5);
+            gbc.gridx=0; gbc.gridy=0; gbc.gridwidth=2;
+            panel.add(title, gbc);
+
+            gbc.gridwidth=1;
+            gbc.gridx=0; gbc.gridy=1;
+            panel.add(nameLabel, gbc);
+            gbc.gridx=1;
+            panel.add(nameField, gbc);
+
+            gbc.gridx=0; gbc.gridy=2;
+            panel.add(emailLabel, gbc);
+            gbc.gridx=1;
+            panel.add(emailField, gbc);
+
+            gbc.gridx=0; gbc.gridy=3;
+            panel.add(passwordLabel, gbc);
+            gbc.gridx=1;
+            panel.add(passwordField, gbc);
+
+            gbc.gridx=0; gbc.gridy=4;
+            panel.add(companyLabel, gbc);
+            gbc.gridx=1;
+            panel.add(companyField, gbc);
+
+            gbc.gridx=0; gbc.gridy=5; gbc.gridwidth=2;
+            panel.add(saveButton, gbc);
+
+            saveButton.addActionListener(e -> {
+                String name = nameField.getText().trim();
+                String email = emailField.getText().trim();
+                String pass = new String(passwordField.getPassword());
+                String company = companyField.getText().trim();
+
+                if (name.isEmpty() || email.isEmpty() || pass.isEmpty() || company.isEmpty()) {
+                    JOptionPane.showMessageDialog(this, "All fields are required.");
+                    return;
+                }
+                if (!isValidEmail(email)) {
+                    JOptionPane.showMessageDialog(this, "Invalid email format.");
+                    return;
+                }
+                if (!isValidPassword(pass)) {
+                    JOptionPane.showMessageDialog(this, "Password must be at least 6 characters.");
+                    return;
+                }
+
+                // the session user changes only once the store has the edit
+                User edit = employer.copy();
+                edit.name = name;
+                edit.email = email;
+                edit.password = pass;
+                edit.company = company;
+                service.updateUser(edit).thenAcceptAsync(saved -> {
+                    if (!saved) {
+                        JOptionPane.showMessageDialog(this, "Profile not saved. The email may already be in use.");
+                        return;
+                    }
+                    employer.name = name;
+                    employer.email = email;
+                    employer.password = pass;
+                    employer.company = company;
+                    JOptionPane.showMessageDialog(this, "Profile updated.");
+                }, EDT);
+            });
+
+            return panel;
+        }
+    }
+
+    // JOB SEEKER FRAME
+    static class JobSeekerFrame extends JFrame {
+        private final User seeker;
+        private final AsyncPortalService service;
+        private final LatestLoad jobsLoad = new LatestLoad();
+        private final LatestLoad appsLoad = new LatestLoad();
+        private JTable jobsTable;
+        private JTable appsTable;
+        private JTextField searchField, locationField, minSalaryField;
+        private RoundedButton jobsCancelButton;
+        private JLabel jobsStatus;
+        private static final int JOBS_PAGE_SIZE = 100;
+        private static final int APPS_PAGE_SIZE = 100;
+        private JobSearchCriteria jobsCriteria;
+        private boolean jobsFromSnapshot;
+        private final RowTableModel<JobSummary> jobsModel = new RowTableModel<>(new String[]{"Job ID","Title","Company","Location","Salary"},
+                Arrays.<Function<JobSummary, Object>>asList(j -> j.id, j -> j.title, j -> j.employerName, j -> j.location, j -> j.salary), j -> j.id);
+        private final RowTableModel<ApplicationView> appsModel = new RowTableModel<>(new String[]{"App ID","Job ID","Job Title","Company","Status"},
+                Arrays.<Function<ApplicationView, Object>>asList(a -> a.id, a -> a.jobId, a -> a.jobTitle, a -> a.company, JobPortalSQLGui::applicationStatus), a -> a.id);
+        private final Runnable unsubscribe;
+        private int jobsCursor;
+        private boolean jobsRanked;
+        private int appsCursor;
+
+        public JobSeekerFrame(User seeker, AsyncPortalService service) {
+            this.seeker = seeker;
+            this.service = service;
+            this.unsubscribe = service.subscribe(this::onPortalEvent);
+
+            setTitle("Job Seeker Dashboard - " + seeker.name);
+            setSize(900, 550);
+            setLocationRelativeTo(null);
+            getContentPane().setBackground(BG_DARK);
+            setLayout(new BorderLayout());
+
+            JPanel header = createHeaderBar("Job Seeker Dashboard");
+            RoundedButton backBtn = new RoundedButton("Back");
+            backBtn.addActionListener(e -> this.dispose());
+            JPanel right = new JPanel(new FlowLayout(FlowLayout.RIGHT,0,0));
+            right.setOpaque(false);
+            right.add(backBtn);
+            header.add(right, BorderLayout.EAST);
+            add(header, BorderLayout.NORTH);
+
+            initUI();
+        }
+
+        @Override
+        public void dispose() {
+            unsubscribe.run();
+            super.dispose();
+        }
+
+        private void onPortalEvent(PortalEvent e) {
+            switch (e.entity) {
+                case JOB:
+                    // a new job can only be placed without a query when the list is unfiltered
+                    if (e.kind == PortalEvent.Kind.INSERTED && isUnfiltered()) jobsModel.insert(0, (Job) e.value);
+                    else if (e.kind == PortalEvent.Kind.DELETED) {
+                        jobsModel.remove(e.id);
+                        appsModel.removeWhere(a -> a.jobId == e.id);
+                    }
+                    break;
+                case APPLICATION:
+                    if (e.kind == PortalEvent.Kind.INSERTED && ((ApplicationModel) e.value).seekerId == seeker.id) insertApplication(service, appsModel, e);
+                    else if (e.kind == PortalEvent.Kind.UPDATED) appsModel.patch(e.id, a -> { a.status = ((ApplicationModel) e.value).status; a.pending = ((ApplicationModel) e.value).pending; });
+                    else if (e.kind == PortalEvent.Kind.DELETED) appsModel.remove(e.id);
+                    else if (e.kind == PortalEvent.Kind.REJECTED && ((ApplicationModel) e.value).seekerId == seeker.id) { // an apply of ours
+                        rejectApplication(appsModel, e);
+                        JOptionPane.showMessageDialog(this, "Your application to job " + ((ApplicationModel) e.value).jobId + " was not saved: "
+                                + ((ApplicationModel) e.value).rejection + ".");
+                    }
+                    break;
+                case USER:
+                    if (e.kind == PortalEvent.Kind.UPDATED) {
+                        User u = (User) e.value;
+                        if ("EMPLOYER".equals(u.role)) jobsModel.patchWhere(j -> j.employerId == e.id, j -> j.employerName = u.name);
+                    } else if (e.kind == PortalEvent.Kind.DELETED) {
+                        jobsModel.patchWhere(j -> j.employerId == e.id, j -> { j.employerId = 0; j.employerName = null; });
+                    }
+                    break;
+            }
+        }
+
+        private boolean isUnfiltered() {
+            return jobsCriteria != null && jobsCriteria.keyword.isEmpty() && jobsCriteria.location.isEmpty() && jobsCriteria.minSalary <= 0;
+        }
+
+        private void initUI() {
+            JTabbedPane tabs = new JTabbedPane();
+            tabs.setBackground(BG_PANEL);
+            tabs.setForeground(Color.WHITE);
+            tabs.setFont(TAB_FONT);
+            tabs.setBorder(new EmptyBorder(10,10,10,10));
+
+            tabs.addTab("All Jobs", buildJobsPanel());
+            tabs.addTab("Apply", buildApplyPanel());
+            tabs.addTab("My Applications", buildAppsPanel());
+            tabs.addTab("Profile", buildProfilePanel());
+
+            add(tabs, BorderLayout.CENTER);
+        }
+
+        private JPanel buildJobsPanel() {
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.setBackground(BG_DARK);
+
+            jobsTable = new JTable(jobsModel);
+            styleTable(jobsTable);
+
+            JPanel top = new JPanel();
+            top.setBackground(BG_DARK);
+
+            JLabel searchLabel = new JLabel("Search:");
+            JLabel locLabel = new JLabel("Location:");
+            JLabel salLabel = new JLabel("Min Salary:");
+
+            searchLabel.setForeground(Color.WHITE);
+            locLabel.setForeground(Color.WHITE);
+            salLabel.setForeground(Color.WHITE);
+
+            searchField = new JTextField(10);
+            locationField = new JTextField(10);
+            minSalaryField = new JTextField(7);
+
+            RoundedButton filterButton = new RoundedButton("Filter");
+            RoundedButton clearButton = new RoundedButton("Clear");
+            RoundedButton exportButton = new RoundedButton("Export Jobs to CSV");
+            RoundedButton detailsButton = new RoundedButton("View Details");
+            jobsCancelButton = new RoundedButton("Cancel");
+            jobsCancelButton.setEnabled(false);
+            jobsStatus = new JLabel(" ");
+            jobsStatus.setForeground(Color.ORANGE);
+
+            filterButton.addActionListener(e -> refreshJobsTable());
+            jobsCancelButton.addActionListener(e -> {
+                jobsLoad.cancel(); // stops the running statement on the server too
+                jobsModel.setLoading(false);
+                jobsCancelButton.setEnabled(false);
+                jobsStatus.setText("Search cancelled.");
+            });
+            detailsButton.addActionListener(e -> showJobDetails());
+            clearButton.addActionListener(e -> { searchField.setText(""); locationField.setText(""); minSalaryField.setText(""); refreshJobsTable(); });
+            exportButton.addActionListener(e -> {
+                JobSearchCriteria criteria = jobsCriteria != null ? jobsCriteria : new JobSearchCriteria();
+                exportToCsv(this, service, "jobs.csv", (svc, out) -> svc.exportJobs(criteria, out));
+            });
+
+            top.add(searchLabel); top.add(searchField);
+            top.add(locLabel); top.add(locationField);
+            top.add(salLabel); top.add(minSalaryField);
+            top.add(filterButton); top.add(jobsCancelButton); top.add(clearButton); top.add(exportButton); top.add(detailsButton);
+            top.add(jobsStatus);
+
+            refreshJobsTable();
+            JScrollPane scroll = new JScrollPane(jobsTable);
+            onScrollNearBottom(scroll, jobsTable, this::loadMoreJobs);
+            panel.add(top, BorderLayout.NORTH);
+            panel.add(scroll, BorderLayout.CENTER);
+            return panel;
+        }
+
+        private void refreshJobsTable() {
+            JobSearchCriteria criteria = new JobSearchCriteria();
+            criteria.keyword = searchField != null ? searchField.getText().trim() : "";
+            criteria.location = locationField != null ? locationField.getText().trim() : "";
+            String minSalStr = minSalaryField != null ? minSalaryField.getText().trim() : "";
+            if (!minSalStr.isEmpty()) {
+                try { criteria.minSalary = Double.parseDouble(minSalStr); } catch (NumberFormatException e) { JOptionPane.showMessageDialog(this, "Invalid minimum salary. Using 0."); minSalaryField.setText(""); criteria.minSalary = 0; }
+            }
+
+            jobsCriteria = criteria;
+            jobsCursor = 0;
+            jobsRanked = false;
+            JobSnapshot snap = service.jobSnapshot();
+            jobsFromSnapshot = snap != null && isUnfiltered();
+            if (jobsFromSnapshot) {
+                // the unfiltered list pages straight out of the local snapshot, then catches up
+                // with one delta query
+                jobsLoad.cancel();
+                jobsCancelButton.setEnabled(false);
+                jobsStatus.setText(" ");
+                JobPage page = snap.page(0, JOBS_PAGE_SIZE);
+                jobsModel.setRows(page.jobs);
+                jobsCursor = page.nextCursor;
+                reconcileJobs(snap);
+                return;
+            }
+            jobsModel.setLoading(true);
+            startJobsLoad(service.searchJobs(criteria, 0, false, JOBS_PAGE_SIZE), page -> {
+                jobsModel.setRows(page.jobs);
+                jobsCursor = page.nextCursor;
+                jobsRanked = page.ranked;
+            });
+        }
+
+        private void loadMoreJobs() {
+            if (jobsCursor <= 0 || jobsLoad.isBusy()) return;
+            JobSnapshot snap = service.jobSnapshot();
+            if (jobsFromSnapshot && snap != null) appendJobs(snap.page(jobsCursor, JOBS_PAGE_SIZE));
+            else startJobsLoad(service.searchJobs(jobsCriteria, jobsCursor, jobsRanked, JOBS_PAGE_SIZE), this::appendJobs);
+        }
+
+        // After the background catch-up, re-read the rows already shown from the new snapshot
+        // (none when nothing changed and `shown` is still current)
+        private void reconcileJobs(JobSnapshot shown) {
+            service.reconcileJobSnapshot().thenAcceptAsync(snap -> {
+                if (snap == null || snap == shown || !jobsFromSnapshot || !isDisplayable()) return;
+                List<JobSummary> rows = snap.block(0, Math.max(JOBS_PAGE_SIZE, jobsModel.getRowCount()));
+                jobsModel.setRows(rows);
+                jobsCursor = rows.size() < snap.count ? rows.get(rows.size() - 1).id : 0;
+            }, EDT);
+        }
+
+        // Searches report timeouts and errors in the tab's status line rather than a dialog
+        private void startJobsLoad(CompletableFuture<JobPage> load, Consumer<JobPage> onResult) {
+            jobsCancelButton.setEnabled(true);
+            jobsStatus.setText("Searching...");
+            jobsLoad.start(load, page -> {
+                jobsCancelButton.setEnabled(false);
+                jobsStatus.setText(" ");
+                onResult.accept(page);
+            }, ex -> {
+                jobsCancelButton.setEnabled(false);
+                jobsModel.setLoading(false);
+                jobsStatus.setText(ex instanceof QueryAbortedException ? ex.getMessage() + "." : "Search failed: " + ex.getMessage());
+            });
+        }
+
+        // The table rows carry no description; fetch it for the selected job only
+        private void showJobDetails() {
+            int row = jobsTable.getSelectedRow();
+            JobSummary j = row >= 0 ? jobsModel.rowAt(row) : null;
+            if (j == null) {
+                JOptionPane.showMessageDialog(this, "Select a job first.");
+                return;
+            }
+            service.findJobDescription(j.id).whenCompleteAsync((description, ex) -> {
+                if (ex != null) { JOptionPane.showMessageDialog(this, "Failed to load job details."); return; }
+                JTextArea text = new JTextArea(description == null ? "" : description, 10, 40);
+                text.setLineWrap(true);
+                text.setWrapStyleWord(true);
+                text.setEditable(false);
+                JOptionPane.showMessageDialog(this, new JScrollPane(text),
+                        j.title + (j.employerName != null ? " - " + j.employerName : ""), JOptionPane.PLAIN_MESSAGE);
+            }, EDT);
+        }
+
+        // A job indexed between two ranked pages pushes the last row shown onto the next one
+        private void appendJobs(JobPage page) {
+            List<JobSummary> rows = page.jobs;
+            if (page.ranked) {
+                rows = new ArrayList<>(rows);
+                rows.removeIf(j -> jobsModel.indexOf(j.id) >= 0);
+            }
+            jobsModel.addRows(rows);
+            jobsCursor = page.nextCursor;
+        }
+
+        private JPanel buildApplyPanel() {
+            GradientPanel panel = new GradientPanel();
+            panel.setLayout(new FlowLayout());
+            panel.setBorder(new EmptyBorder(10,20,10,20));
+
+            JLabel label = new JLabel("Enter Job ID to apply:");
+            label.setForeground(Color.WHITE);
+            JTextField jobIdField = new JTextField(10);
+            RoundedButton applyButton = new RoundedButton("Apply");
+            JLabel statusLabel = new JLabel(" ");
+            statusLabel.setForeground(Color.ORANGE);
+
+            panel.add(label); panel.add(jobIdField); panel.add(applyButton); panel.add(statusLabel);
+
+            applyButton.addActionListener(e -> {
+                try {
+                    int jobId = Integer.parseInt(jobIdField.getText().trim());
+                    statusLabel.setText("Applying...");
+                    applyButton.setEnabled(false);
+                    service.applyToJob(jobId, seeker).whenCompleteAsync((res, ex) -> {
+                        applyButton.setEnabled(true);
+                        if (ex != null) { statusLabel.setText("Failed to apply."); return; }
+                        if (res == null) { statusLabel.setText("Invalid Job ID."); return; }
+                        ApplicationModel a = res.application;
+                        if (!res.created) statusLabel.setText(a.pending ? "Already applied (pending sync)."
+                                                                        : "Already applied. App ID: " + a.id + " (" + a.status + ")");
+                        else if (a.pending) statusLabel.setText("Applied (pending sync).");
+                        else statusLabel.setText("Applied. App ID: " + a.id);
+                    }, EDT);
+                } catch (NumberFormatException ex) {
+                    statusLabel.setText("Invalid Job ID.");
+                }
+            });
+
+            return panel;
+        }
+
+        private JPanel buildAppsPanel() {
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.setBackground(BG_DARK);
+
+            appsTable = new JTable(appsModel);
+            styleTable(appsTable);
+            refreshAppsTable();
+
+            JPanel top = new JPanel();
+            top.setBackground(BG_DARK);
+            RoundedButton exportButton = new RoundedButton("Export My Applications to CSV");
+            exportButton.addActionListener(e -> exportToCsv(this, service, "my_applications.csv", (svc, out) -> svc.exportApplicationsForSeeker(seeker, out)));
+            top.add(exportButton);
+
+            JScrollPane scroll = new JScrollPane(appsTable);
+            onScrollNearBottom(scroll, appsTable, this::loadMoreApps);
+            panel.add(top, BorderLayout.NORTH);
+            panel.add(scroll, BorderLayout.CENTER);
+            return panel;
+        }
+
+        private void refreshAppsTable() {
+            appsCursor = 0;
+            appsModel.setLoading(true);
+            appsLoad.start(service.getApplicationsForJobSeeker(seeker, 0, APPS_PAGE_SIZE), page -> {
+                appsModel.setRows(page.apps);
+                appsCursor = page.nextCursor;
+            });
+        }
+
+        private void loadMoreApps() {
+            if (appsCursor <= 0 || appsLoad.isBusy()) return;
+            appsLoad.start(service.getApplicationsForJobSeeker(seeker, appsCursor, APPS_PAGE_SIZE), page -> {
+                appsModel.addRows(page.apps);
+                appsCursor = page.nextCursor;
+            });
+        }
+
+        private JPanel buildProfilePanel() {
+            GradientPanel panel = new GradientPanel();
+            panel.setLayout(new GridBagLayout());
+            panel.setBorder(new EmptyBorder(10,20,10,20));
+            GridBagConstraints gbc = new GridBagConstraints();
+
+            JLabel title = new JLabel("Update Profile");
+            title.setFont(TITLE_FONT);
+            title.setForeground(Color.WHITE);
+
+            JLabel nameLabel = new JLabel("Name:");
+            JLabel emailLabel = new JLabel("Email:");
+            JLabel passwordLabel = new JLabel("Password:");
+            JLabel resumeLabel = new JLabel("Resume Summary:");
+
+            nameLabel.setForeground(Color.WHITE);
+            emailLabel.setForeground(Color.WHITE);
+            passwordLabel.setForeground(Color.WHITE);
+            resumeLabel.setForeground(Color.WHITE);
+
+            JTextField nameField = new JTextField(seeker.name,20);
+            JTextField emailField = new JTextField(seeker.email,20);
+            JPasswordField passwordField = new JPasswordField(seeker.password,20);
+            JTextArea resumeArea = new JTextArea(3,20);
+            JScrollPane resumeScroll = new JScrollPane(resumeArea);
+
+            RoundedButton saveButton = new RoundedButton("Save Changes");
+
+            // the session user was read without the resume; saving waits for it so a blank
+            // area can never overwrite the stored text
+            resumeArea.setEnabled(false);
+            saveButton.setEnabled(false);
+            service.loadResume(seeker).whenCompleteAsync((resume, ex) -> {
+                if (ex != null) { resumeArea.setText("Could not load resume."); return; }
+                resumeArea.setText(resume == null ? "" : resume);
+                resumeArea.setEnabled(true);
+                saveButton.setEnabled(true);
+            }, EDT);
+
+            gbc.insets = new Insets(5,5,5,5);
+            gbc.gridx=0; gbc.gridy=0; gbc.gridwidth=2;
+            panel.add(title, gbc);
+
+            gbc.gridwidth=1;
+            gbc.gridx=0; gbc.gridy=1; panel.add(nameLabel, gbc); gbc.gridx=1; panel.add(nameField, gbc);
+            gbc.gridx=0; gbc.gridy=2; panel.add(emailLabel, gbc); gbc.gridx=1; panel.add(emailField, gbc);
+            gbc.gridx=0; gbc.gridy=3; panel.add(passwordLabel, gbc); gbc.gridx=1; panel.add(passwordField, gbc);
+            gbc.gridx=0; gbc.gridy=4; panel.add(resumeLabel, gbc); gbc.gridx=1; panel.add(resumeScroll, gbc);
+            gbc.gridx=0; gbc.gridy=5; gbc.gridwidth=2; panel.add(saveButton, gbc);
+
+            saveButton.addActionListener(e -> {
+                String name = nameField.getText().trim();
+                String email = emailField.getText().trim();
+                String pass = new String(passwordField.getPassword());
+                String resume = resumeArea.getText().trim();
+                if (name.isEmpty() || email.isEmpty() || pass.isEmpty()) {
+                    JOptionPane.showMessageDialog(this, "All fields required.");
+                    return;
+                }
+                // the session user changes only once the store has the edit
+                User edit = seeker.copy();
+                edit.name = name; edit.email = email; edit.password = pass; edit.resume = resume;
+                service.updateUser(edit).thenAcceptAsync(saved -> {
+                    if (!saved) {
+                        JOptionPane.showMessageDialog(this, "Profile not saved. The email may already be in use.");
+                        return;
+                    }
+                    seeker.name = name; seeker.email = email; seeker.password = pass; seeker.resume = resume;
+                    JOptionPane.showMessageDialog(this, "Profile updated.");
+                }, EDT);
+            });
+
+            return panel;
+        }
+    }
+
+    // ADMIN FRAME
+    static class AdminFrame extends JFrame {
+        private final User admin;
+        private final AsyncPortalService service;
+        private JTable usersTable;
+        private JTable jobsTable;
+        private LazyTableModel<UserSummary> usersModel;
+        private LazyTableModel<JobSummary> jobsModel;
+        // Replaced, never changed, by each search; the users model's loads read the current one
+        private UserQuery usersQuery = new UserQuery("", "", UserQuery.Sort.ID, false);
+        private JLabel usersCountLabel;
+        private final Runnable unsubscribe;
+        private static final int PERF_REFRESH_MILLIS = 2_000;
+        private final RowTableModel<OperationSnapshot> perfModel = new RowTableModel<>(
+                new String[]{"Operation","Calls","Errors","Rows","Mean ms","p50 ms","p99 ms","Max ms"},
+                Arrays.<Function<OperationSnapshot, Object>>asList(o -> o.operation, o -> o.calls, o -> o.errors, o -> o.rows,
+                        o -> millis(o.meanMillis), o -> millis(o.p50Millis), o -> millis(o.p99Millis), o -> millis(o.maxMillis)),
+                o -> o.id);
+        private javax.swing.Timer perfTimer;
+        // Job writes seen as events are folded into the snapshot shortly after, in one catch-up
+        private static final int JOBS_RECONCILE_DELAY_MILLIS = 1_000;
+        private final javax.swing.Timer jobsReconcile = new javax.swing.Timer(JOBS_RECONCILE_DELAY_MILLIS, e -> reconcileJobs());
+
+        public AdminFrame(User admin, AsyncPortalService service) {
+            this.admin = admin; this.service = service;
+            this.unsubscribe = service.subscribe(this::onPortalEvent);
+            jobsReconcile.setRepeats(false);
+            setTitle("Admin Dashboard - " + admin.name);
+            setSize(900,550);
+            setLocationRelativeTo(null);
+            getContentPane().setBackground(BG_DARK);
+            setLayout(new BorderLayout());
+
+            JPanel header = createHeaderBar("Admin Dashboard");
+            RoundedButton backBtn = new RoundedButton("Back");
+            backBtn.addActionListener(e -> this.dispose());
+            JPanel right = new JPanel(new FlowLayout(FlowLayout.RIGHT,0,0));
+            right.setOpaque(false);
+            right.add(backBtn);
+            header.add(right, BorderLayout.EAST);
+            add(header, BorderLayout.NORTH);
+
+            initUI();
+        }
+
+        @Override
+        public void dispose() {
+            unsubscribe.run();
+            if (perfTimer != null) perfTimer.stop();
+            jobsReconcile.stop();
+            super.dispose();
+        }
+
+        // Jobs are listed id DESC (new ones go first). A new user's position is only known in the
+        // unfiltered id order; any other users view re-counts and reloads.
+        private void onPortalEvent(PortalEvent e) {
+            switch (e.entity) {
+                case USER:
+                    if (e.kind == PortalEvent.Kind.INSERTED) {
+                        if (!usersQuery.isUnfiltered() || usersQuery.sort != UserQuery.Sort.ID) refreshUsersTable();
+                        else usersModel.insertAt(usersQuery.descending ? 0 : usersModel.getRowCount(), (User) e.value);
+                    } else if (e.kind == PortalEvent.Kind.UPDATED) {
+                        User u = (User) e.value;
+                        usersModel.patchWhere(x -> x.id == e.id, x -> { x.name = u.name; x.email = u.email; x.role = u.role; });
+                        jobsModel.patchWhere(j -> j.employerId == e.id, j -> j.employerName = u.name);
+                    } else if (e.kind == PortalEvent.Kind.DELETED) {
+                        usersModel.removeKey(e.id);
+                        jobsModel.patchWhere(j -> j.employerId == e.id, j -> { j.employerId = 0; j.employerName = null; });
+                    }
+                    break;
+                case JOB:
+                    if (e.kind == PortalEvent.Kind.INSERTED) jobsModel.insertAt(0, (Job) e.value);
+                    else if (e.kind == PortalEvent.Kind.DELETED) jobsModel.removeKey(e.id);
+                    else if (e.kind == PortalEvent.Kind.BULK_CHANGED) refreshJobsTable();
+                    if (service.jobSnapshot() != null) jobsReconcile.restart();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void initUI() {
+            JTabbedPane tabs = new JTabbedPane();
+            tabs.setBackground(BG_PANEL);
+            tabs.setForeground(Color.WHITE);
+            tabs.setFont(TAB_FONT);
+            tabs.setBorder(new EmptyBorder(10,10,10,10));
+            tabs.addTab("Users", buildUsersPanel());
+            tabs.addTab("Jobs", buildJobsPanel());
+            tabs.addTab("Performance", buildPerformancePanel());
+            add(tabs, BorderLayout.CENTER);
+        }
+
+        // Storage operation metrics since startup (also published over JMX); refreshed
+        // while the tab is showing
+        private JPanel buildPerformancePanel() {
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.setBackground(BG_DARK);
+
+            JTable perfTable = new JTable(perfModel);
+            styleTable(perfTable);
+
+            JPanel top = new JPanel();
+            top.setBackground(BG_DARK);
+            JLabel label = new JLabel("Latency per storage operation since startup");
+            label.setForeground(Color.WHITE);
+            RoundedButton refreshBtn = new RoundedButton("Refresh");
+            refreshBtn.addActionListener(e -> perfModel.setRows(StoreOp.snapshotAll()));
+            top.add(label); top.add(refreshBtn);
+
+            perfModel.setRows(StoreOp.snapshotAll());
+            perfTimer = new javax.swing.Timer(PERF_REFRESH_MILLIS, e -> {
+                if (panel.isShowing()) perfModel.setRows(StoreOp.snapshotAll());
+            });
+            perfTimer.start();
+
+            panel.add(top, BorderLayout.NORTH);
+            panel.add(new JScrollPane(perfTable), BorderLayout.CENTER);
+            return panel;
+        }
+
+        private static String millis(double ms) { return String.format("%.2f", ms); }
+
+        private JPanel buildUsersPanel() {
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.setBackground(BG_DARK);
+
+            usersTable = new JTable();
+            styleTable(usersTable);
+            usersModel = new LazyTableModel<>(new String[]{"User ID","Name","Email","Role"},
+                    Arrays.<Function<UserSummary, Object>>asList(u -> u.id, u -> u.name, u -> u.email, u -> u.role),
+                    u -> u.id, this::countUsers, (offset, previous, limit) -> service.getUsersBlock(usersQuery, offset, previous, limit));
+            usersModel.attach(usersTable);
+            refreshUsersTable();
+
+            // Filtering and sorting run in the store: the prefix matches the start of the sort
+            // column, and a header click on ID, Name or Email sorts by it (again to reverse)
+            JPanel search = new JPanel();
+            search.setBackground(BG_DARK);
+            JLabel roleLabel = new JLabel("Role:");
+            roleLabel.setForeground(Color.WHITE);
+            JComboBox<String> roleBox = new JComboBox<>(new String[]{"All", "JOB_SEEKER", "EMPLOYER", "ADMIN"});
+            JLabel findLabel = new JLabel("Find:");
+            findLabel.setForeground(Color.WHITE);
+            JTextField findField = new JTextField(14);
+            JLabel byLabel = new JLabel("by");
+            byLabel.setForeground(Color.WHITE);
+            UserQuery.Sort[] sorts = {UserQuery.Sort.EMAIL, UserQuery.Sort.NAME, UserQuery.Sort.ID};
+            JComboBox<String> byBox = new JComboBox<>(new String[]{"Email", "Name", "ID"});
+            byBox.setSelectedIndex(2);
+            RoundedButton searchBtn = new RoundedButton("Search");
+            usersCountLabel = new JLabel();
+            usersCountLabel.setForeground(Color.WHITE);
+            search.add(roleLabel); search.add(roleBox); search.add(findLabel); search.add(findField);
+            search.add(byLabel); search.add(byBox); search.add(searchBtn); search.add(usersCountLabel);
+
+            Runnable runSearch = () -> {
+                String role = roleBox.getSelectedIndex() == 0 ? "" : (String) roleBox.getSelectedItem();
+                UserQuery.Sort sort = sorts[byBox.getSelectedIndex()];
+                usersQuery = new UserQuery(role, findField.getText().trim(), sort, sort == usersQuery.sort && usersQuery.descending);
+                refreshUsersTable();
+            };
+            searchBtn.addActionListener(e -> runSearch.run());
+            findField.addActionListener(e -> runSearch.run());
+            roleBox.addActionListener(e -> runSearch.run());
+            usersTable.getTableHeader().addMouseListener(new java.awt.event.MouseAdapter() {
+                @Override
+                public void mouseClicked(java.awt.event.MouseEvent e) {
+                    int col = usersTable.columnAtPoint(e.getPoint());
+                    if (col < 0 || col > 2) return;
+                    UserQuery.Sort sort = col == 0 ? UserQuery.Sort.ID : col == 1 ? UserQuery.Sort.NAME : UserQuery.Sort.EMAIL;
+                    boolean descending = sort == usersQuery.sort && !usersQuery.descending;
+                    usersQuery = new UserQuery(usersQuery.role, usersQuery.prefix, sort, descending);
+                    byBox.setSelectedIndex(Arrays.asList(sorts).indexOf(sort));
+                    refreshUsersTable();
+                }
+            });
+
+            JPanel top = new JPanel();
+            top.setBackground(BG_DARK);
+            JLabel label = new JLabel("User ID to delete:");
+            label.setForeground(Color.WHITE);
+            JTextField userIdField = new JTextField(5);
+            RoundedButton deleteBtn = new RoundedButton("Delete");
+            top.add(label); top.add(userIdField); top.add(deleteBtn);
+
+            deleteBtn.addActionListener(e -> {
+                try {
+                    int uid = Integer.parseInt(userIdField.getText().trim());
+                    int res = JOptionPane.showConfirmDialog(this, "Delete user " + uid + " ?", "Confirm", JOptionPane.YES_NO_OPTION);
+                    if (res==JOptionPane.YES_OPTION) {
+                        service.deleteUser(uid).thenAcceptAsync(deleted -> {
+                            if (!deleted) JOptionPane.showMessageDialog(this, "No user with ID " + uid);
+                        }, EDT);
+                    }
+                } catch (NumberFormatException ex) { JOptionPane.showMessageDialog(this, "Invalid User ID"); }
+            });
+
+            JPanel controls = new JPanel(new BorderLayout());
+            controls.setBackground(BG_DARK);
+            controls.add(search, BorderLayout.NORTH);
+            controls.add(top, BorderLayout.SOUTH);
+            panel.add(controls, BorderLayout.NORTH);
+            panel.add(new JScrollPane(usersTable), BorderLayout.CENTER);
+            return panel;
+        }
+
+        private void refreshUsersTable() {
+            usersModel.refresh();
+        }
+
+        // The model's counter; also shows the count, capped for prefix searches
+        private CompletableFuture<Integer> countUsers() {
+            UserQuery q = usersQuery;
+            return service.countUsers(q).whenCompleteAsync((n, ex) -> {
+                if (ex != null || q != usersQuery) return;
+                usersCountLabel.setText(n > UserQuery.COUNT_CAP
+                        ? String.format("%,d+ users - narrow the search", UserQuery.COUNT_CAP)
+                        : String.format("%,d users", n));
+            }, EDT);
+        }
+
+        private JPanel buildJobsPanel() {
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.setBackground(BG_DARK);
+
+            jobsTable = new JTable();
+            styleTable(jobsTable);
+            jobsModel = new LazyTableModel<>(new String[]{"Job ID","Title","Company","Location","Salary"},
+                    Arrays.<Function<JobSummary, Object>>asList(j -> j.id, j -> j.title, j -> j.employerName, j -> j.location, j -> j.salary),
+                    j -> j.id, service::countListedJobs, service::getListedJobsBlock);
+            jobsModel.attach(jobsTable);
+            refreshJobsTable();
+            reconcileJobs();
+
+            JPanel top = new JPanel();
+            top.setBackground(BG_DARK);
+            JLabel label = new JLabel("Job ID to delete:");
+            label.setForeground(Color.WHITE);
+            JTextField jobIdField = new JTextField(5);
+            RoundedButton deleteBtn = new RoundedButton("Delete");
+            RoundedButton exportBtn = new RoundedButton("Export All Jobs to CSV");
+            RoundedButton refreshBtn = new RoundedButton("Refresh");
+            top.add(label); top.add(jobIdField); top.add(deleteBtn); top.add(exportBtn); top.add(refreshBtn);
+
+            // with a snapshot this is one delta query, and the table is re-read only if it changed
+            refreshBtn.addActionListener(e -> {
+                if (service.jobSnapshot() != null) reconcileJobs();
+                else refreshJobsTable();
+            });
+
+            deleteBtn.addActionListener(e -> {
+                try {
+                    int jid = Integer.parseInt(jobIdField.getText().trim());
+                    int res = JOptionPane.showConfirmDialog(this, "Delete job " + jid + " ?", "Confirm", JOptionPane.YES_NO_OPTION);
+                    if (res==JOptionPane.YES_OPTION) {
+                        service.deleteJob(jid).thenAcceptAsync(deleted -> {
+                            if (!deleted) JOptionPane.showMessageDialog(this, "No job with ID " + jid);
+                        }, EDT);
+                    }
+                } catch (NumberFormatException ex) { JOptionPane.showMessageDialog(this, "Invalid Job ID"); }
+            });
+
+            exportBtn.addActionListener(e -> exportToCsv(this, service, "all_jobs.csv", (svc, out) -> svc.exportJobs(new JobSearchCriteria(), out)));
+
+            panel.add(top, BorderLayout.NORTH);
+            panel.add(new JScrollPane(jobsTable), BorderLayout.CENTER);
+            return panel;
+        }
+
+        private void refreshJobsTable() {
+            jobsModel.refresh();
+        }
+
+        // The table shows the snapshot first; once the deltas are in, it re-reads the new one
+        private void reconcileJobs() {
+            jobsReconcile.stop();
+            JobSnapshot shown = service.jobSnapshot();
+            service.reconcileJobSnapshot().thenAcceptAsync(snap -> {
+                if (snap != null && snap != shown && isDisplayable()) refreshJobsTable();
+            }, EDT);
+        }
+    }
+
+    // ====== MAIN ======
+    // The login window goes up right away; the driver, schema check, pool warm-up, admin
+    // bootstrap and search index are startup phases behind it. Service calls made from the
+    // window wait for the schema and admin phases.
+    public static void main(String[] args) {
+        StartupPipeline startup = new StartupPipeline();
+        PortalStore store;
+        CompletableFuture<Void> connected;
+        if ("memory".equalsIgnoreCase(STORE_ENGINE)) {
+            System.out.println("Using the in-memory store; nothing is persisted.");
+            store = new InMemoryStore();
+            connected = CompletableFuture.completedFuture(null);
+        } else {
+            dbm = new DatabaseManager(JDBC_URL, DB_USER, DB_PASS);
+            // Load JDBC driver
+            connected = startup.phase("driver", () -> Class.forName("com.mysql.cj.jdbc.Driver"));
+            if (DB_POOLING) {
+                PoolConfig pc = new PoolConfig();
+                pc.minSize = DB_POOL_MIN;
+                pc.maxSize = DB_POOL_MAX;
+                pc.leakTraces = DB_POOL_LEAK_TRACES;
+                dbm.enablePooling(pc);
+                startup.phase("pool warm-up", dbm::warmUpPool, connected);
+            }
+            if (SLOW_QUERY_MILLIS > 0) dbm.enableSlowQueryLog(SLOW_QUERY_MILLIS, Paths.get(SLOW_QUERY_LOG));
+            Runtime.getRuntime().addShutdownHook(new Thread(dbm::shutdown, "db-shutdown"));
+            System.out.println("Connecting to: " + JDBC_URL);
+            store = dbm;
+        }
+        store = new InstrumentedStore(store);
+        StoreOp.registerMBeans();
+        CompletableFuture<Void> schema = startup.phase("schema", store::init, connected);
+        service = new JobPortalService(store);
+        // create default admin if missing
+        CompletableFuture<Void> admin = startup.phase("admin bootstrap",
+                () -> service.createAdminIfNotExists("Super Admin", "admin@portal.com", "admin123"), schema);
+        asyncService = new AsyncPortalService(service, admin);
+        if (WRITE_BEHIND) {
+            startup.phase("write-behind journal", () -> service.enableWriteBehind(new WriteJournal(Paths.get(WRITE_BEHIND_JOURNAL))), schema);
+        }
+        startup.phase("search index", service::rebuildSearchIndex, schema);
+        if (dbm != null && !JOB_SNAPSHOT.isEmpty()) { // the in-memory store starts empty; nothing to keep
+            service.enableJobSnapshot(Paths.get(JOB_SNAPSHOT)); // maps the file; the lists can open on it right away
+            startup.phase("job snapshot", service::reconcileJobSnapshot, schema);
+        }
+        if (dbm != null) {
+            startup.phase("online migrations", () -> {
+                try {
+                    dbm.completeOnlineMigrations();
+                } catch (SQLException ex) {
+                    System.err.println("Background index build failed; will retry on next start: " + ex.getMessage());
+                }
+                try {
+                    int purged = dbm.purgeOrphanDocuments();
+                    if (purged > 0) System.out.println("Purged " + purged + " unreferenced documents");
+                } catch (SQLException ex) {
+                    System.err.println("Document purge failed: " + ex.getMessage());
+                }
+                try {
+                    int purged = dbm.purgeTombstones();
+                    if (purged > 0) System.out.println("Purged " + purged + " expired tombstones");
+                } catch (SQLException ex) {
+                    System.err.println("Tombstone purge failed: " + ex.getMessage());
+                }
+            }, schema);
+        }
+        schema.whenCompleteAsync((v, ex) -> {
+            if (ex == null) return;
+            Throwable cause = StartupPipeline.cause(ex);
+            cause.printStackTrace();
+            if (cause instanceof ClassNotFoundException) {
+                JOptionPane.showMessageDialog(null, "MySQL JDBC driver not found. Add the connector JAR to classpath.\nDownload: https://dev.mysql.com/downloads/connector/j/");
+            } else {
+                JOptionPane.showMessageDialog(null, "Failed to initialize database/tables: " + cause.getMessage());
+            }
+            System.exit(1);
+        }, EDT);
+        startup.whenSettled().thenRun(() -> System.out.println("Startup: " + startup.report()));
+
+        // set look & feel tweaks
+        try {
+            for (UIManager.LookAndFeelInfo info : UIManager.getInstalledLookAndFeels()) {
+                if ("Nimbus".equals(info.getName())) {
+                    UIManager.setLookAndFeel(info.getClassName());
+                    break;
+                }
+            }
+            UIManager.put("control", new Color(40, 40, 40));
+            UIManager.put("info", new Color(60, 63, 65));
+            UIManager.put("nimbusBase", new Color(18, 30, 49));
+            UIManager.put("nimbusLightBackground", new Color(43, 43, 43));
+            UIManager.put("text", Color.WHITE);
+        } catch (Exception ignored) {}
+
+        SwingUtilities.invokeLater(() -> {
+            JobPortalSQLGui gui = new JobPortalSQLGui();
+            gui.setVisible(true);
+            startup.mark("login window");
+        });
+    }
+}
@@ -0,0 +1,159 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.ConnectionPool;
+import jobportal.JobPortalSQLGui.PoolConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+    private static final String URL = "jdbc:pooltest:";
+
+    // State of one physical connection handed out by the fake driver
+    static class Physical {
+        volatile boolean closed;
+        volatile boolean autoCommit = true;
+        volatile boolean dropped; // every call fails with SQLState 08S01 (link failure)
+        volatile int rollbacks;
+    }
+
+    static final List<Physical> opened = new CopyOnWriteArrayList<>();
+
+    static class FakeDriver implements Driver {
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) return null;
+            Physical p = new Physical();
+            opened.add(p);
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "close": p.closed = true; return null;
+                    case "isClosed": return p.closed;
+                    case "isValid": return !p.closed && !p.dropped;
+                    case "getAutoCommit": return p.autoCommit;
+                    case "setAutoCommit": p.autoCommit = (Boolean) args[0]; return null;
+                    case "rollback": p.rollbacks++; return null;
+                    default:
+                        if (p.dropped) throw new SQLException("Communications link failure", "08S01");
+                        return null;
+                }
+            });
+        }
+
+        @Override public boolean acceptsURL(String url) { return url.startsWith(URL); }
+        @Override public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) { return new DriverPropertyInfo[0]; }
+        @Override public int getMajorVersion() { return 1; }
+        @Override public int getMinorVersion() { return 0; }
+        @Override public boolean jdbcCompliant() { return false; }
+        @Override public Logger getParentLogger() throws SQLFeatureNotSupportedException { throw new SQLFeatureNotSupportedException(); }
+    }
+
+    static {
+        try {
+            DriverManager.registerDriver(new FakeDriver());
+        } catch (SQLException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private ConnectionPool pool;
+
+    private ConnectionPool pool(int min, int max) {
+        PoolConfig cfg = new PoolConfig();
+        cfg.minSize = min;
+        cfg.maxSize = max;
+        cfg.borrowTimeoutMillis = 100;
+        cfg.evictionIntervalMillis = 10;
+        opened.clear();
+        pool = new ConnectionPool(URL, "", "", cfg);
+        return pool;
+    }
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) pool.close();
+    }
+
+    @Test
+    void closeReturnsTheConnectionForReuse() throws Exception {
+        ConnectionPool p = pool(0, 2);
+        Connection first = p.borrow();
+        first.close();
+        first.close(); // idempotent
+        assertTrue(first.isClosed());
+        assertThrows(SQLException.class, first::createStatement);
+
+        try (Connection second = p.borrow()) {
+            assertNotSame(first, second);
+            assertEquals(1, opened.size());
+            assertEquals(1, p.stats().active);
+        }
+        assertEquals(0, p.stats().active);
+        assertEquals(1, p.stats().idle);
+        assertEquals(2, p.stats().borrows);
+        assertFalse(opened.get(0).closed);
+    }
+
+    @Test
+    void openTransactionIsRolledBackOnReturn() throws Exception {
+        ConnectionPool p = pool(0, 1);
+        try (Connection c = p.borrow()) {
+            c.setAutoCommit(false);
+        }
+        Physical phys = opened.get(0);
+        assertEquals(1, phys.rollbacks);
+        assertTrue(phys.autoCommit);
+    }
+
+    @Test
+    void brokenConnectionIsDiscarded() throws Exception {
+        ConnectionPool p = pool(0, 1);
+        try (Connection c = p.borrow()) {
+            opened.get(0).dropped = true;
+            assertThrows(SQLException.class, c::createStatement);
+        }
+        assertTrue(opened.get(0).closed);
+        assertEquals(0, p.stats().idle);
+
+        try (Connection c = p.borrow()) {
+            assertEquals(2, opened.size());
+        }
+    }
+
+    @Test
+    void borrowTimesOutWhenThePoolIsExhausted() throws Exception {
+        ConnectionPool p = pool(0, 1);
+        try (Connection held = p.borrow()) {
+            assertThrows(SQLTransientConnectionException.class, p::borrow);
+            assertEquals(1, p.stats().timeouts);
+        }
+        p.borrow().close(); // the permit came back
+    }
+
+    @Test
+    void housekeeperKeepsMinSizeWarm() throws Exception {
+        ConnectionPool p = pool(2, 4);
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (p.stats().idle < 2 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+        assertEquals(2, p.stats().idle);
+        assertEquals(2, opened.size());
+
+        p.close();
+        for (Physical phys : opened) assertTrue(phys.closed);
+        assertThrows(SQLException.class, p::borrow);
+    }
+}
@@ -0,0 +1,86 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.CsvExport;
+import jobportal.JobPortalSQLGui.JobImporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvExportTest {
+    @TempDir
+    Path dir;
+
+    private static CsvExport.Rows rows(String[][] data) {
+        int[] at = {0};
+        return row -> {
+            if (at[0] == data.length) return false;
+            System.arraycopy(data[at[0]++], 0, row, 0, row.length);
+            return true;
+        };
+    }
+
+    @Test
+    void quotesOnlyFieldsThatNeedIt() throws Exception {
+        File target = dir.resolve("out.csv").toFile();
+        String[][] data = {
+            {"1", "plain"},
+            {"2", "a,b"},
+            {"3", "say \"hi\""},
+            {"4", "two\nlines"},
+            {"5", null},
+            {"6", "caf\u00e9"}};
+        long n = new CsvExport(target, null).write(new String[]{"id", "text"}, rows(data));
+
+        assertEquals(6, n);
+        assertEquals("id,text\r\n1,plain\r\n2,\"a,b\"\r\n3,\"say \"\"hi\"\"\"\r\n4,\"two\nlines\"\r\n5,\r\n6,caf\u00e9\r\n",
+            new String(Files.readAllBytes(target.toPath()), StandardCharsets.UTF_8));
+        assertFalse(Files.exists(dir.resolve("out.csv.part")));
+
+        // what the importer reads back is what was written
+        try (BufferedReader in = Files.newBufferedReader(target.toPath(), StandardCharsets.UTF_8)) {
+            JobImporter.CsvReader reader = new JobImporter.CsvReader(in);
+            for (String[] expected : data) {
+                Map<String, String> rec = reader.next();
+                assertEquals(expected[0], rec.get("id"));
+                assertEquals(expected[1] == null ? "" : expected[1], rec.get("text"));
+            }
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void cancelLeavesNoFileBehind() throws Exception {
+        File target = dir.resolve("big.csv").toFile();
+        CsvExport export = new CsvExport(target, null);
+        long[] served = {0};
+        CsvExport.Rows endless = row -> {
+            if (++served[0] == 100) export.cancel();
+            row[0] = String.valueOf(served[0]);
+            return true;
+        };
+        SQLException ex = assertThrows(SQLException.class, () -> export.write(new String[]{"n"}, endless));
+        assertEquals("Export cancelled", ex.getMessage());
+        assertTrue(export.isCancelled());
+        assertFalse(target.exists());
+        assertFalse(Files.exists(dir.resolve("big.csv.part")));
+    }
+
+    @Test
+    void failedExportKeepsThePreviousFile() throws Exception {
+        File target = dir.resolve("jobs.csv").toFile();
+        Files.write(target.toPath(), "old\r\n".getBytes(StandardCharsets.UTF_8));
+        CsvExport.Rows failing = row -> { throw new SQLException("connection lost"); };
+        assertThrows(SQLException.class, () -> new CsvExport(target, null).write(new String[]{"n"}, failing));
+        assertEquals("old\r\n", new String(Files.readAllBytes(target.toPath()), StandardCharsets.UTF_8));
+        assertFalse(Files.exists(dir.resolve("jobs.csv.part")));
+    }
+}
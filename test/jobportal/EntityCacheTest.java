@@ -0,0 +1,86 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.CacheStats;
+import jobportal.JobPortalSQLGui.EntityCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+    // capacity 5: up to 4 protected entries
+    private static EntityCache<String> cache() {
+        EntityCache<String> c = new EntityCache<>(5, 1, TimeUnit.HOURS);
+        for (int k = 1; k <= 5; k++) c.put(k, "v" + k);
+        return c;
+    }
+
+    @Test
+    void evictsTheProbationLruFirst() {
+        EntityCache<String> c = cache();
+        c.get(1); // promoted
+        c.put(6, "v6");
+        assertNull(c.get(2));
+        assertEquals("v1", c.get(1));
+        assertEquals("v6", c.get(6));
+        assertEquals(1, c.stats().evictions);
+        assertEquals(5, c.stats().size);
+    }
+
+    @Test
+    void promotedEntriesSurviveAScan() {
+        EntityCache<String> c = cache();
+        c.get(1);
+        c.get(2);
+        for (int k = 100; k < 200; k++) c.put(k, "scan");
+        assertEquals("v1", c.get(1));
+        assertEquals("v2", c.get(2));
+        assertNull(c.get(3));
+    }
+
+    @Test
+    void fullProtectedSegmentDemotesItsLru() {
+        EntityCache<String> c = cache();
+        for (int k = 1; k <= 5; k++) c.get(k); // 1 is demoted when 5 is promoted
+        c.put(6, "v6");
+        assertNull(c.get(1));
+        for (int k = 2; k <= 6; k++) assertEquals("v" + k, c.get(k));
+    }
+
+    @Test
+    void putReplacesTheValue() {
+        EntityCache<String> c = cache();
+        c.put(3, "new");
+        assertEquals("new", c.get(3));
+        assertEquals(5, c.stats().size);
+    }
+
+    @Test
+    void expiredEntriesMiss() throws Exception {
+        EntityCache<String> c = new EntityCache<>(5, 1, TimeUnit.MILLISECONDS);
+        c.put(1, "v1");
+        Thread.sleep(5);
+        assertNull(c.get(1));
+        CacheStats s = c.stats();
+        assertEquals(1, s.expirations);
+        assertEquals(1, s.misses);
+        assertEquals(0, s.size);
+    }
+
+    @Test
+    void invalidatesByKeyAndPredicate() {
+        EntityCache<String> c = cache();
+        c.get(4); // one protected, the rest on probation: both segments are walked
+        c.invalidate(1);
+        c.invalidateIf(v -> v.equals("v4") || v.equals("v5"));
+        assertNull(c.get(1));
+        assertNull(c.get(4));
+        assertNull(c.get(5));
+        assertEquals("v2", c.get(2));
+        assertEquals(3, c.stats().invalidations);
+        // freed slots are reused without evicting
+        for (int k = 10; k < 13; k++) c.put(k, "v" + k);
+        assertEquals(0, c.stats().evictions);
+    }
+}
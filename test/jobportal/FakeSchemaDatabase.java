@@ -0,0 +1,116 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.DatabaseManager;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Just enough of MySQL for SchemaMigrator: the schema_version table, the named lock, the
+// information_schema column check, and a log of the DDL it ran. failWith makes one statement
+// fail with a MySQL error code.
+class FakeSchemaDatabase extends DatabaseManager {
+    final Map<Integer, String> recorded = new HashMap<>();
+    final Set<String> columns = new HashSet<>();
+    final List<String> executed = new ArrayList<>();
+    final Map<String, Integer> failWith = new HashMap<>();
+    int locksTaken;
+    private boolean versionTable;
+
+    FakeSchemaDatabase() {
+        super("jdbc:fake:", "", "");
+    }
+
+    List<String> takeExecuted() {
+        List<String> out = new ArrayList<>(executed);
+        executed.clear();
+        return out;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return proxy(Connection.class, (name, args) -> {
+            switch (name) {
+                case "createStatement": return statement(null);
+                case "prepareStatement": return statement((String) args[0]);
+                default: return null;
+            }
+        });
+    }
+
+    private Object statement(String prepared) {
+        Map<Integer, Object> params = new HashMap<>();
+        return proxy(PreparedStatement.class, (name, args) -> {
+            switch (name) {
+                case "setString": case "setInt": case "setLong":
+                    params.put((Integer) args[0], args[1]);
+                    return null;
+                case "executeQuery": return query(prepared != null ? prepared : (String) args[0], params);
+                case "executeUpdate": return update(prepared != null ? prepared : (String) args[0], params);
+                default: return null;
+            }
+        });
+    }
+
+    private ResultSet query(String sql, Map<Integer, Object> params) throws SQLException {
+        if (sql.startsWith("SELECT GET_LOCK")) locksTaken++;
+        if (sql.startsWith("SELECT GET_LOCK") || sql.startsWith("SELECT RELEASE_LOCK")) return rows(Collections.singletonList(new Object[]{1}));
+        if (sql.startsWith("SELECT version, checksum FROM schema_version")) {
+            if (!versionTable) throw new SQLException("Table 'schema_version' doesn't exist", "42S02", 1146);
+            List<Object[]> out = new ArrayList<>();
+            for (Map.Entry<Integer, String> e : recorded.entrySet()) out.add(new Object[]{e.getKey(), e.getValue()});
+            return rows(out);
+        }
+        if (sql.contains("information_schema.COLUMNS")) {
+            boolean exists = columns.contains(params.get(1) + "." + params.get(2));
+            return rows(exists ? Collections.singletonList(new Object[]{1}) : Collections.emptyList());
+        }
+        throw new SQLException("unexpected query: " + sql);
+    }
+
+    private int update(String sql, Map<Integer, Object> params) throws SQLException {
+        if (sql.startsWith("CREATE TABLE IF NOT EXISTS schema_version")) {
+            versionTable = true;
+            return 0;
+        }
+        if (sql.startsWith("INSERT INTO schema_version")) {
+            recorded.put((Integer) params.get(1), (String) params.get(3));
+            return 1;
+        }
+        executed.add(sql);
+        Integer code = failWith.get(sql);
+        if (code != null) throw new SQLException("failed: " + sql, "HY000", code);
+        return 0;
+    }
+
+    private static ResultSet rows(List<Object[]> rows) {
+        int[] at = {-1};
+        return proxy(ResultSet.class, (name, args) -> {
+            switch (name) {
+                case "next": return ++at[0] < rows.size();
+                case "getInt": return ((Number) rows.get(at[0])[(Integer) args[0] - 1]).intValue();
+                case "getString": return String.valueOf(rows.get(at[0])[(Integer) args[0] - 1]);
+                default: return null;
+            }
+        });
+    }
+
+    private interface Handler { Object call(String name, Object[] args) throws SQLException; }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            (p, m, args) -> handler.call(m.getName(), args == null ? new Object[0] : Arrays.copyOf(args, args.length)));
+    }
+}
@@ -0,0 +1,241 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.ApplicationPage;
+import jobportal.JobPortalSQLGui.ApplicationView;
+import jobportal.JobPortalSQLGui.ApplyResult;
+import jobportal.JobPortalSQLGui.ChangeSet;
+import jobportal.JobPortalSQLGui.InMemoryStore;
+import jobportal.JobPortalSQLGui.Job;
+import jobportal.JobPortalSQLGui.JobPage;
+import jobportal.JobPortalSQLGui.JobSearchCriteria;
+import jobportal.JobPortalSQLGui.JobSummary;
+import jobportal.JobPortalSQLGui.User;
+import jobportal.JobPortalSQLGui.UserQuery;
+import jobportal.JobPortalSQLGui.UserSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryStoreTest {
+    private InMemoryStore store;
+    private int employerId;
+
+    private static User user(String email, String role) {
+        User u = new User();
+        u.name = email;
+        u.email = email;
+        u.password = "pw";
+        u.role = role;
+        return u;
+    }
+
+    private int job(String title, String location, double salary) {
+        Job j = new Job();
+        j.title = title;
+        j.description = "";
+        j.location = location;
+        j.salary = salary;
+        j.employerId = employerId;
+        return store.insertJob(j);
+    }
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryStore();
+        employerId = store.insertUser(user("boss@acme.test", "EMPLOYER"));
+    }
+
+    @Test
+    void emailsAreUniqueIgnoringCase() {
+        assertEquals(-1, store.insertUser(user("BOSS@acme.test", "JOB_SEEKER")));
+        assertEquals(employerId, store.findUserByEmail("boss@acme.test").id);
+        assertEquals(1, store.countUsers(new UserQuery("", "", UserQuery.Sort.ID, false)));
+    }
+
+    private List<String> browse(UserQuery q, int pageSize) {
+        List<String> out = new ArrayList<>();
+        UserSummary after = null;
+        while (true) {
+            List<UserSummary> block = store.getUsersBlock(q, 0, after, pageSize);
+            for (UserSummary u : block) out.add(u.name);
+            if (block.size() < pageSize) return out;
+            after = block.get(block.size() - 1);
+        }
+    }
+
+    @Test
+    void usersPageByKeysetInTheChosenOrder() {
+        String[] names = {"anna", "Andy", "bob", "Anton", "andrea", "carl", "Ann"};
+        for (int i = 0; i < names.length; i++) {
+            User u = user(names[i].toLowerCase() + i + "@mail.test", i == 5 ? "EMPLOYER" : "JOB_SEEKER");
+            u.name = names[i];
+            store.insertUser(u);
+        }
+        UserQuery byName = new UserQuery("JOB_SEEKER", "an", UserQuery.Sort.NAME, false);
+        assertEquals(Arrays.asList("andrea", "Andy", "Ann", "anna", "Anton"), browse(byName, 2));
+        assertEquals(5, store.countUsers(byName));
+        assertEquals(Arrays.asList("Anton", "anna", "Ann", "Andy", "andrea"),
+            browse(new UserQuery("JOB_SEEKER", "an", UserQuery.Sort.NAME, true), 3));
+
+        UserQuery employers = new UserQuery("EMPLOYER", "", UserQuery.Sort.EMAIL, false);
+        assertEquals(Arrays.asList("boss@acme.test", "carl"), browse(employers, 1));
+        assertEquals(2, store.countUsers(employers));
+
+        UserQuery newestFirst = new UserQuery("", "", UserQuery.Sort.ID, true);
+        List<String> all = browse(newestFirst, 3);
+        assertEquals(8, all.size());
+        assertEquals("Ann", all.get(0));
+        assertEquals(Arrays.asList("carl"), browse(new UserQuery("", String.valueOf(employerId + 6), UserQuery.Sort.ID, false), 3));
+        assertEquals(1, store.getUsersBlock(newestFirst, 7, null, 3).size()); // offset jump
+    }
+
+    @Test
+    void returnedRowsAreCopies() {
+        store.findUserById(employerId).name = "changed";
+        assertEquals("boss@acme.test", store.findUserById(employerId).name);
+    }
+
+    @Test
+    void applicationsNeedAJobAndASeekerAndGoWithTheJob() {
+        int seeker = store.insertUser(user("sam@mail.test", "JOB_SEEKER"));
+        int jobId = job("Dev", "Berlin", 1);
+        assertNull(store.applyToJob(jobId + 1, seeker));
+        assertNull(store.applyToJob(jobId, seeker + 1));
+
+        int appId = store.applyToJob(jobId, seeker).application.id;
+        assertEquals(1, store.getApplicationsForEmployer(employerId, 0, 10).apps.size());
+        assertTrue(store.updateApplicationStatus(appId, "ACCEPTED"));
+        assertEquals("ACCEPTED", store.getApplicationsForSeeker(seeker, 0, 10).apps.get(0).status);
+
+        store.deleteJobById(jobId);
+        assertNull(store.findJobById(jobId));
+        assertTrue(store.getApplicationsForSeeker(seeker, 0, 10).apps.isEmpty());
+        assertFalse(store.updateApplicationStatus(appId, "REJECTED"));
+    }
+
+    @Test
+    void repeatApplyReturnsTheExistingApplication() throws Exception {
+        int seeker = store.insertUser(user("sam@mail.test", "JOB_SEEKER"));
+        int jobId = job("Dev", "Berlin", 1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ApplyResult>> tries = new ArrayList<>();
+            for (int i = 0; i < 32; i++) tries.add(pool.submit(() -> store.applyToJob(jobId, seeker)));
+            int created = 0;
+            Set<Integer> ids = new HashSet<>();
+            for (Future<ApplyResult> f : tries) {
+                ApplyResult r = f.get();
+                if (r.created) created++;
+                ids.add(r.application.id);
+            }
+            assertEquals(1, created);
+            assertEquals(1, ids.size());
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, store.getApplicationsForSeeker(seeker, 0, 10).apps.size());
+
+        // the pair is free again once the job's applications are gone
+        store.deleteJobById(jobId);
+        int again = job("Dev", "Berlin", 1);
+        assertTrue(store.applyToJob(again, seeker).created);
+    }
+
+    @Test
+    void employerApplicationsPageNewestFirstAcrossJobs() {
+        int other = store.insertUser(user("rival@corp.test", "EMPLOYER"));
+        int jobA = job("A", "Berlin", 1);
+        int jobB = job("B", "Berlin", 1);
+        int saved = employerId;
+        employerId = other;
+        int rivalJob = job("R", "Berlin", 1);
+        employerId = saved;
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 11; i++) { // a run of A, then interleaved
+            int seeker = store.insertUser(user("s" + i + "@mail.test", "JOB_SEEKER"));
+            expected.add(0, store.applyToJob(i < 5 || i % 2 == 0 ? jobA : jobB, seeker).application.id);
+            store.applyToJob(rivalJob, seeker);
+        }
+
+        List<Integer> seen = new ArrayList<>();
+        ApplicationPage page = store.getApplicationsForEmployer(employerId, 0, 3);
+        while (true) {
+            for (ApplicationView a : page.apps) {
+                seen.add(a.id);
+                assertEquals(a.jobId == jobA ? "A" : "B", a.jobTitle);
+                assertTrue(a.seekerName.endsWith("@mail.test"));
+            }
+            if (!page.hasMore()) break;
+            page = store.getApplicationsForEmployer(employerId, page.nextCursor, 3);
+        }
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void jobChangesSinceAWatermark() {
+        int a = job("A", "Berlin", 1);
+        int b = job("B", "Berlin", 1);
+        long mark = store.getJobChanges(0).watermark;
+        int c = job("C", "Berlin", 1);
+        store.deleteJobById(a);
+
+        ChangeSet<JobSummary> delta = store.getJobChanges(mark);
+        assertFalse(delta.resync);
+        assertEquals(1, delta.changed.size());
+        assertEquals(c, delta.changed.get(0).id);
+        assertArrayEquals(new int[]{a}, delta.deleted);
+        assertTrue(store.getJobChanges(delta.watermark).isEmpty());
+
+        // renaming the employer changes how each of their jobs is listed
+        User boss = store.findUserById(employerId);
+        boss.name = "Acme Ltd";
+        store.updateUser(boss);
+        delta = store.getJobChanges(delta.watermark);
+        assertEquals(2, delta.changed.size());
+        assertEquals(c, delta.changed.get(0).id);
+        assertEquals(b, delta.changed.get(1).id);
+        assertEquals("Acme Ltd", delta.changed.get(1).employerName);
+    }
+
+    @Test
+    void searchPagesNewestFirstByKeyset() {
+        for (int i = 1; i <= 25; i++) job("Job " + i, i % 2 == 0 ? "Berlin" : "Paris", i * 1000);
+        JobSearchCriteria c = new JobSearchCriteria();
+        c.location = "berlin";
+        c.minSalary = 5000;
+
+        List<Integer> seen = new ArrayList<>();
+        JobPage page = store.searchJobs(c, 0, 4);
+        while (true) {
+            for (JobSummary j : page.jobs) seen.add((int) j.salary / 1000);
+            if (!page.hasMore()) break;
+            page = store.searchJobs(c, page.nextCursor, 4);
+        }
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 24; i >= 6; i -= 2) expected.add(i);
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void jobBlocksPageByOffsetOrKeyset() {
+        for (int i = 1; i <= 10; i++) job("Job " + i, "Berlin", i);
+        List<JobSummary> first = store.getJobsBlock(0, 0, 4);
+        assertEquals("Job 10", first.get(0).title);
+        List<JobSummary> byOffset = store.getJobsBlock(4, 0, 4);
+        List<JobSummary> byKeyset = store.getJobsBlock(4, first.get(3).id, 4);
+        assertEquals(byOffset.get(0).id, byKeyset.get(0).id);
+        assertEquals("Job 6", byKeyset.get(0).title);
+        assertEquals(2, store.getJobsBlock(8, 0, 4).size());
+    }
+}
@@ -0,0 +1,132 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.InMemoryStore;
+import jobportal.JobPortalSQLGui.JobImporter;
+import jobportal.JobPortalSQLGui.JobPortalService;
+import jobportal.JobPortalSQLGui.JobSummary;
+import jobportal.JobPortalSQLGui.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobImporterTest {
+    @TempDir
+    Path dir;
+
+    private InMemoryStore store;
+    private JobPortalService service;
+    private User employer;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryStore();
+        service = new JobPortalService(store);
+        employer = service.registerEmployer("Ann", "ann@acme.test", "pw", "Acme");
+    }
+
+    private File file(String name, String content) throws Exception {
+        Path p = dir.resolve(name);
+        Files.write(p, content.getBytes(StandardCharsets.UTF_8));
+        return p.toFile();
+    }
+
+    @Test
+    void readsQuotedCsvFields() throws Exception {
+        File f = file("jobs.csv",
+            "Title,Description,Location,Salary\r\n" +
+            "\"Java, senior\",\"Say \"\"hi\"\"\r\nand more\",Berlin,80000\r\n" +
+            "Tester,,Hamburg,\" 50000 \"\r\n");
+        JobImporter.Result r = new JobImporter(service, 10).importFile(f, employer, null);
+
+        assertEquals(2, r.rowsRead);
+        assertTrue(r.errors.isEmpty(), r.errors.toString());
+        assertEquals(2, r.ids.length);
+        JobSummary first = store.findJobById(r.ids[0]);
+        assertEquals("Java, senior", first.title);
+        assertEquals("Say \"hi\"\nand more", store.findJobDescription(first.id));
+        assertEquals(80_000, first.salary);
+        assertEquals(employer.id, first.employerId);
+        assertEquals(50_000, store.findJobById(r.ids[1]).salary);
+    }
+
+    @Test
+    void badRowsAreReportedByLineAndTheRestImported() throws Exception {
+        File f = file("jobs.csv",
+            "title,description,location,salary\n" +   // 1
+            ",no title,Berlin,1\n" +                   // 2
+            "Dev,\"spans\ntwo lines\",Berlin,abc\n" +  // 3-4
+            "Dev,too,many,fields,here\n" +             // 5
+            "\n" +                                     // 6, blank
+            "Ops,,Munich,\n" +                         // 7
+            "Good,,Munich,-5\n" +                      // 8
+            "Fine,,Munich,42\n");                      // 9
+        List<int[]> progress = new ArrayList<>();
+        JobImporter.Result r = new JobImporter(service, 10).importFile(f, employer,
+            (read, imported, failed) -> progress.add(new int[]{read, imported, failed}));
+
+        assertEquals(6, r.rowsRead);
+        assertEquals(1, r.ids.length);
+        assertEquals("Fine", store.findJobById(r.ids[0]).title);
+        assertEquals(5, r.errors.size());
+        assertEquals("line 2: title is required", r.errors.get(0).toString());
+        assertEquals("line 3: salary is not a number: abc", r.errors.get(1).toString());
+        assertEquals("line 5: expected 4 fields, found 5", r.errors.get(2).toString());
+        assertEquals("line 7: salary is required", r.errors.get(3).toString());
+        assertEquals("line 8: salary must be a non-negative number", r.errors.get(4).toString());
+        assertArrayEquals(new int[]{6, 1, 5}, progress.get(progress.size() - 1));
+    }
+
+    @Test
+    void importsInChunks() throws Exception {
+        StringBuilder csv = new StringBuilder("title,salary\n");
+        for (int i = 1; i <= 2500; i++) csv.append("Job ").append(i).append(',').append(i).append('\n');
+        List<Integer> imported = new ArrayList<>();
+        JobImporter.Result r = new JobImporter(service, 1000).importFile(file("jobs.csv", csv.toString()), employer,
+            (read, done, failed) -> imported.add(done));
+
+        assertEquals(2500, r.ids.length);
+        assertEquals(2500, store.countJobs());
+        assertEquals("Job 2500", store.findJobById(r.ids[2499]).title);
+        assertEquals(1000, imported.get(0).intValue());
+        assertEquals(2500, imported.get(imported.size() - 1).intValue());
+    }
+
+    @Test
+    void readsJsonLines() throws Exception {
+        File f = file("jobs.jsonl",
+            "{\"title\": \"Caf\\u00e9 \\\"lead\\\"\", \"salary\": 30000, \"description\": null, \"remote\": true}\n" +
+            "\n" +
+            "{\"title\": \"Broken\", \"salary\": \n" +
+            "{\"Title\": \"Baker\", \"Location\": \"Paris\", \"Salary\": \"25000.5\"}\n");
+        JobImporter.Result r = new JobImporter(service, 10).importFile(f, employer, null);
+
+        assertEquals(3, r.rowsRead);
+        assertEquals(1, r.errors.size());
+        assertEquals(3, r.errors.get(0).line);
+        assertEquals(2, r.ids.length);
+        JobSummary cafe = store.findJobById(r.ids[0]);
+        assertEquals("Caf\u00e9 \"lead\"", cafe.title);
+        JobSummary baker = store.findJobById(r.ids[1]);
+        assertEquals("Paris", baker.location);
+        assertEquals(25_000.5, baker.salary);
+    }
+
+    @Test
+    void jsonObjectsMustBeFlat() {
+        Map<String, String> rec = JobImporter.JsonLinesReader.parseObject("{\"a\":\"x,y\",\"b\":-1.5e3}");
+        assertEquals("x,y", rec.get("a"));
+        assertEquals("-1.5e3", rec.get("b"));
+        assertThrows(IllegalArgumentException.class, () -> JobImporter.JsonLinesReader.parseObject("{\"a\":{\"b\":1}}"));
+        assertThrows(IllegalArgumentException.class, () -> JobImporter.JsonLinesReader.parseObject("[1,2]"));
+    }
+}
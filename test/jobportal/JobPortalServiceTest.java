@@ -0,0 +1,212 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.ApplicationModel;
+import jobportal.JobPortalSQLGui.ApplyResult;
+import jobportal.JobPortalSQLGui.CsvExport;
+import jobportal.JobPortalSQLGui.InMemoryStore;
+import jobportal.JobPortalSQLGui.Job;
+import jobportal.JobPortalSQLGui.JobPage;
+import jobportal.JobPortalSQLGui.JobPortalService;
+import jobportal.JobPortalSQLGui.JobSearchCriteria;
+import jobportal.JobPortalSQLGui.JobSummary;
+import jobportal.JobPortalSQLGui.PortalEvent;
+import jobportal.JobPortalSQLGui.User;
+import jobportal.JobPortalSQLGui.WriteJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobPortalServiceTest {
+    @TempDir
+    Path dir;
+
+    private InMemoryStore store;
+    private JobPortalService service;
+    private User employer;
+    private User seeker;
+    private final List<PortalEvent> events = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryStore();
+        service = new JobPortalService(store);
+        employer = service.registerEmployer("Ann", "ann@acme.test", "pw", "Acme");
+        seeker = service.registerJobSeeker("Sam", "sam@mail.test", "pw", "");
+        service.addListener(events::add);
+    }
+
+    private Job postJob(String title) {
+        return service.postJob(title, "", "Berlin", 1, employer);
+    }
+
+    private void writeBehind() throws Exception {
+        service.enableWriteBehind(new WriteJournal(dir.resolve("journal.log")));
+    }
+
+    // The drainer publishes its outcomes after committing the journal
+    private static void await(BooleanSupplier done) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!done.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "drainer did not finish");
+            Thread.sleep(20);
+        }
+    }
+
+    // Events for rows the store has written, as opposed to the pending rows shown meanwhile
+    private long stored(PortalEvent.Kind kind) {
+        return events.stream().filter(e -> e.kind == kind && e.id > 0 && !((ApplicationModel) e.value).pending).count();
+    }
+
+    @Test
+    void applyingTwiceCreatesOneApplicationAndOneEvent() {
+        Job job = postJob("Dev");
+        events.clear();
+
+        ApplyResult first = service.applyToJob(job.id, seeker);
+        ApplyResult second = service.applyToJob(job.id, seeker);
+        assertTrue(first.created);
+        assertFalse(second.created);
+        assertEquals(first.application.id, second.application.id);
+        assertEquals("APPLIED", second.application.status);
+        assertEquals(1, events.size());
+        assertEquals(PortalEvent.Kind.INSERTED, events.get(0).kind);
+        assertEquals(1, service.getApplicationsForJobSeeker(seeker, 0, 10).apps.size());
+    }
+
+    @Test
+    void applyingToAMissingJobCreatesNothing() {
+        assertNull(service.applyToJob(12345, seeker));
+        assertTrue(events.isEmpty());
+        assertTrue(service.getApplicationsForJobSeeker(seeker, 0, 10).apps.isEmpty());
+    }
+
+    @Test
+    void failedWritesChangeNothingAndPublishNothing() {
+        Job job = postJob("Dev");
+        events.clear();
+
+        User edit = service.findUserById(seeker.id);
+        edit.email = "ANN@acme.test"; // the employer's, in another case
+        assertFalse(service.updateUser(edit));
+        assertEquals("sam@mail.test", store.findUserById(seeker.id).email);
+        assertFalse(service.deleteJob(job.id + 1));
+        assertFalse(service.deleteUser(12345));
+        assertTrue(events.isEmpty());
+
+        assertTrue(service.deleteJob(job.id));
+        assertEquals(PortalEvent.Kind.DELETED, events.get(0).kind);
+    }
+
+    @Test
+    void cachedUsersAreHandedOutAsCopies() {
+        User edit = service.findUserById(seeker.id); // cached from here on
+        edit.password = "unsaved";
+        edit.email = "ann@acme.test"; // taken: the save fails
+        assertFalse(service.updateUser(edit));
+
+        assertNull(service.login("sam@mail.test", "unsaved"));
+        assertNotNull(service.login("sam@mail.test", "pw"));
+        assertEquals("sam@mail.test", service.findUserById(seeker.id).email);
+        assertNotSame(service.findUserById(seeker.id), service.findUserById(seeker.id));
+    }
+
+    @Test
+    void writeBehindAcknowledgesAtOnceAndStoresLater() throws Exception {
+        Job java = postJob("Java");
+        Job kotlin = postJob("Kotlin");
+        writeBehind();
+        events.clear();
+
+        ApplyResult first = service.applyToJob(java.id, seeker);
+        ApplyResult second = service.applyToJob(kotlin.id, seeker);
+        assertTrue(first.created && first.application.pending);
+        assertTrue(first.application.id < 0);
+        assertNotEquals(first.application.id, second.application.id);
+
+        await(() -> stored(PortalEvent.Kind.INSERTED) == 2);
+        assertEquals(2, events.stream().filter(e -> e.kind == PortalEvent.Kind.DELETED && e.id < 0).count()); // the pending rows
+        assertEquals(2, store.getApplicationsForSeeker(seeker.id, 0, 10).apps.size());
+        assertEquals(0, Files.size(dir.resolve("journal.log")));
+
+        int appId = store.getApplicationsForSeeker(seeker.id, 0, 10).apps.get(0).id;
+        assertTrue(service.updateApplicationStatus(appId, "ACCEPTED"));
+        await(() -> stored(PortalEvent.Kind.UPDATED) == 1);
+        assertEquals("ACCEPTED", store.findApplicationView(appId).status);
+    }
+
+    @Test
+    void writeBehindAnswersRepeatsAndUnknownJobsUpFront() throws Exception {
+        Job job = postJob("Java");
+        writeBehind();
+        events.clear();
+
+        assertNull(service.applyToJob(9999, seeker));
+        ApplyResult first = service.applyToJob(job.id, seeker);
+        assertTrue(first.created);
+        assertTrue(first.application.pending);
+        ApplyResult repeat = service.applyToJob(job.id, seeker);
+        assertFalse(repeat.created);
+        assertEquals(first.application.id, repeat.application.id);
+
+        await(() -> stored(PortalEvent.Kind.INSERTED) == 1);
+        ApplyResult again = service.applyToJob(job.id, seeker);
+        assertFalse(again.created);
+        assertFalse(again.application.pending);
+        assertTrue(again.application.id > 0);
+    }
+
+    @Test
+    void writeBehindPublishesRejectedWrites() throws Exception {
+        Job job = postJob("Java");
+        writeBehind();
+        events.clear();
+
+        assertTrue(service.applyToJob(job.id, seeker).created);
+        store.deleteJobById(job.id); // gone before the drain gets to the apply
+        assertTrue(service.updateApplicationStatus(4242, "ACCEPTED"));
+        await(() -> events.stream().filter(e -> e.kind == PortalEvent.Kind.REJECTED).count() == 2);
+
+        for (PortalEvent e : events) {
+            if (e.kind != PortalEvent.Kind.REJECTED) continue;
+            assertEquals(PortalEvent.Entity.APPLICATION, e.entity);
+            assertNotNull(((ApplicationModel) e.value).rejection);
+        }
+    }
+
+    @Test
+    void keywordSearchPagesAndExportsTheSameRows() throws Exception {
+        for (int i = 0; i < 230; i++) service.postJob("Java developer " + i, i % 4 == 0 ? "java java" : "other", "Berlin", 1, employer);
+        postJob("Python developer");
+        service.rebuildSearchIndex();
+        JobSearchCriteria c = new JobSearchCriteria();
+        c.keyword = "java";
+
+        List<String> shown = new ArrayList<>();
+        JobPage page = service.searchJobs(c, 0, 100);
+        while (true) {
+            assertTrue(page.ranked);
+            for (JobSummary j : page.jobs) shown.add(String.valueOf(j.id));
+            if (!page.hasMore()) break;
+            page = service.searchJobs(c, page.nextCursor, page.ranked, 100);
+        }
+        assertEquals(230, shown.size());
+
+        Path csv = dir.resolve("jobs.csv");
+        assertEquals(230, service.exportJobs(c, new CsvExport(csv.toFile(), rows -> {})));
+        List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+        assertEquals("id,title,company,location,salary,description", lines.get(0));
+        List<String> exported = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size())) exported.add(line.substring(0, line.indexOf(',')));
+        assertEquals(shown, exported);
+    }
+}
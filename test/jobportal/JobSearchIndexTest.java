@@ -0,0 +1,135 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.Job;
+import jobportal.JobPortalSQLGui.JobPage;
+import jobportal.JobPortalSQLGui.JobSearchCriteria;
+import jobportal.JobPortalSQLGui.JobSearchIndex;
+import jobportal.JobPortalSQLGui.JobSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobSearchIndexTest {
+    private static Job job(int id, String title, String description, String location, double salary) {
+        Job j = new Job();
+        j.id = id;
+        j.title = title;
+        j.description = description;
+        j.location = location;
+        j.salary = salary;
+        j.employerId = 1;
+        j.employerName = "Acme";
+        return j;
+    }
+
+    private static JobSearchCriteria query(String keyword) {
+        JobSearchCriteria c = new JobSearchCriteria();
+        c.keyword = keyword;
+        return c;
+    }
+
+    private static Set<Integer> ids(List<JobSummary> rows) {
+        Set<Integer> out = new HashSet<>();
+        for (JobSummary j : rows) out.add(j.id);
+        return out;
+    }
+
+    private static JobSearchIndex sample() {
+        JobSearchIndex index = new JobSearchIndex();
+        // newest first, as the store lists them
+        index.rebuild(Arrays.asList(
+            job(4, "Kotlin developer", "Android apps", "Munich", 70_000),
+            job(3, "Java developer", "Spring and Kotlin services", "Berlin", 80_000),
+            job(2, "Java engineer", "Spring Boot", "Hamburg", 60_000),
+            job(1, "Python developer", "Django", "Berlin", 50_000)));
+        return index;
+    }
+
+    @Test
+    void termsInAGroupAreAnded() {
+        JobSearchIndex index = sample();
+        assertEquals(new HashSet<>(Arrays.asList(2, 3)), ids(index.search(query("java spring"), 0, 10)));
+        assertEquals(new HashSet<>(Arrays.asList(3)), ids(index.search(query("Java, Kotlin!"), 0, 10)));
+        assertTrue(index.search(query("java django"), 0, 10).isEmpty());
+        assertTrue(index.search(query("rust"), 0, 10).isEmpty());
+    }
+
+    @Test
+    void orSeparatesGroups() {
+        JobSearchIndex index = sample();
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), ids(index.search(query("java spring OR python"), 0, 10)));
+        assertEquals(new HashSet<>(Arrays.asList(3, 4)), ids(index.search(query("kotlin OR rust"), 0, 10)));
+    }
+
+    @Test
+    void titleMatchesRankFirst() {
+        // "kotlin" is in 4's title but only in 3's description
+        List<JobSummary> rows = sample().search(query("kotlin"), 0, 10);
+        assertEquals(4, rows.get(0).id);
+        assertEquals(3, rows.get(1).id);
+    }
+
+    @Test
+    void appliesLocationAndSalaryFilters() {
+        JobSearchIndex index = sample();
+        JobSearchCriteria c = query("developer");
+        c.location = "berlin";
+        assertEquals(new HashSet<>(Arrays.asList(1, 3)), ids(index.search(c, 0, 10)));
+        c.minSalary = 60_000;
+        assertEquals(new HashSet<>(Arrays.asList(3)), ids(index.search(c, 0, 10)));
+    }
+
+    @Test
+    void updatesAndRemovesDocs() {
+        JobSearchIndex index = sample();
+        index.add(job(2, "Go engineer", "Kubernetes", "Hamburg", 60_000));
+        index.remove(3);
+        assertTrue(index.search(query("java"), 0, 10).isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList(2)), ids(index.search(query("kubernetes"), 0, 10)));
+    }
+
+    @Test
+    void compactsTombstonesWithoutLosingLiveDocs() {
+        List<Job> jobs = new ArrayList<>();
+        for (int id = 3000; id >= 1; id--) jobs.add(job(id, "java " + (id % 2 == 0 ? "even" : "odd"), "job " + id, "Berlin", id));
+        JobSearchIndex index = new JobSearchIndex();
+        index.rebuild(jobs);
+        // more than 1024 tombstones and a quarter of the docs: the index compacts
+        for (int id = 1; id <= 1500; id++) index.remove(id);
+        index.add(job(1, "java odd", "back again", "Berlin", 1));
+
+        Set<Integer> odd = ids(index.search(query("odd"), 0, 5000));
+        assertEquals(751, odd.size());
+        assertTrue(odd.contains(1));
+        assertTrue(odd.contains(2999));
+        assertFalse(odd.contains(1499));
+        assertEquals(1501, index.matchingIds(query("java")).length);
+        assertEquals(new HashSet<>(Arrays.asList(2000)), ids(index.search(query("2000"), 0, 10)));
+    }
+
+    @Test
+    void rankedPagesLineUpWithTheFullResult() {
+        List<Job> jobs = new ArrayList<>();
+        for (int id = 250; id >= 1; id--) jobs.add(job(id, "java", id % 3 == 0 ? "java java" : "other", "Berlin", id));
+        JobSearchIndex index = new JobSearchIndex();
+        index.rebuild(jobs);
+
+        List<Integer> paged = new ArrayList<>();
+        JobPage page = index.page(query("java"), 0, 40);
+        while (true) {
+            assertTrue(page.ranked);
+            for (JobSummary j : page.jobs) paged.add(j.id);
+            if (!page.hasMore()) break;
+            page = index.page(query("java"), page.nextCursor, 40);
+        }
+        int[] all = index.matchingIds(query("java"));
+        assertEquals(250, all.length);
+        for (int i = 0; i < all.length; i++) assertEquals(all[i], paged.get(i).intValue());
+    }
+}
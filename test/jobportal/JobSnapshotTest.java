@@ -0,0 +1,148 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.InMemoryStore;
+import jobportal.JobPortalSQLGui.Job;
+import jobportal.JobPortalSQLGui.JobPage;
+import jobportal.JobPortalSQLGui.JobPortalService;
+import jobportal.JobPortalSQLGui.JobSnapshot;
+import jobportal.JobPortalSQLGui.JobSnapshotCache;
+import jobportal.JobPortalSQLGui.JobSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobSnapshotTest {
+    @TempDir
+    Path dir;
+
+    private static JobSummary job(int id, String title) {
+        JobSummary j = new JobSummary();
+        j.id = id;
+        j.title = title;
+        j.location = id % 2 == 0 ? "Berlin" : null;
+        j.salary = id * 1000;
+        j.employerId = 1;
+        j.employerName = "Acme";
+        return j;
+    }
+
+    private static List<Integer> ids(JobSnapshot s) {
+        List<Integer> out = new ArrayList<>();
+        for (int i = 0; i < s.count; i++) out.add(s.idAt(i));
+        return out;
+    }
+
+    private JobSnapshot initial(Path file) throws Exception {
+        JobSnapshot.write(file, 100, Arrays.asList(job(9, "nine"), job(7, "seven"), job(4, "four"), job(2, "two")), new int[0], null);
+        return JobSnapshot.open(file);
+    }
+
+    @Test
+    void writesAndReadsRows() throws Exception {
+        JobSnapshot s = initial(dir.resolve("jobs.snap"));
+        assertEquals(100, s.watermark);
+        assertEquals(Arrays.asList(9, 7, 4, 2), ids(s));
+        JobSummary four = s.get(2);
+        assertEquals("four", four.title);
+        assertEquals("Berlin", four.location);
+        assertEquals(4000, four.salary);
+        assertEquals("Acme", four.employerName);
+        assertNull(s.get(1).location);
+    }
+
+    @Test
+    void mergesChangesAndDeletes() throws Exception {
+        JobSnapshot base = initial(dir.resolve("jobs.snap.100"));
+        // 11 is new, 7 changed, 4 deleted
+        Path next = dir.resolve("jobs.snap.200");
+        JobSnapshot.write(next, 200, Arrays.asList(job(11, "eleven"), job(7, "seven v2")), new int[]{4}, base);
+        JobSnapshot s = JobSnapshot.open(next);
+        assertEquals(200, s.watermark);
+        assertEquals(Arrays.asList(11, 9, 7, 2), ids(s));
+        assertEquals("seven v2", s.get(2).title);
+        assertEquals("nine", s.get(1).title);
+        assertEquals("two", s.get(3).title);
+    }
+
+    @Test
+    void indexBeforeFindsTheFirstSmallerId() throws Exception {
+        JobSnapshot s = initial(dir.resolve("jobs.snap"));
+        assertEquals(0, s.indexBefore(0));
+        assertEquals(0, s.indexBefore(10));
+        assertEquals(1, s.indexBefore(9));
+        assertEquals(2, s.indexBefore(5));
+        assertEquals(4, s.indexBefore(2));
+        assertTrue(s.contains(7));
+        assertFalse(s.contains(8));
+        assertFalse(s.contains(1));
+    }
+
+    @Test
+    void pagesLikeTheStore() throws Exception {
+        JobSnapshot s = initial(dir.resolve("jobs.snap"));
+        JobPage first = s.page(0, 2);
+        assertEquals(7, first.nextCursor);
+        JobPage second = s.page(first.nextCursor, 2);
+        assertEquals(Arrays.asList(4, 2), Arrays.asList(second.jobs.get(0).id, second.jobs.get(1).id));
+        JobPage last = s.page(second.nextCursor, 2);
+        assertTrue(last.jobs.isEmpty());
+        assertFalse(last.hasMore());
+    }
+
+    @Test
+    void rejectsMissingOrForeignFiles() throws Exception {
+        assertNull(JobSnapshot.open(dir.resolve("absent.snap")));
+        Path junk = dir.resolve("junk.snap");
+        Files.write(junk, new byte[64]);
+        assertNull(JobSnapshot.open(junk));
+    }
+
+    @Test
+    void eachVersionGetsItsOwnFileAndReplacedOnesAreDeleted() throws Exception {
+        InMemoryStore store = new InMemoryStore();
+        int employerId = new JobPortalService(store).registerEmployer("Ann", "ann@acme.test", "pw", "Acme").id;
+        Path file = dir.resolve("jobs.snapshot");
+        JobSnapshotCache cache = new JobSnapshotCache(file);
+        assertNull(cache.current());
+
+        store.insertJob(storedJob(employerId, "one"));
+        JobSnapshot first = cache.reconcile(store);
+        store.insertJob(storedJob(employerId, "two"));
+        JobSnapshot second = cache.reconcile(store);
+        assertNotSame(first, second);
+        assertEquals(2, second.count);
+        assertEquals("one", first.get(0).title); // readers holding the old version keep reading it
+        assertEquals(Collections.singletonList(file.getFileName() + "." + second.watermark), files());
+
+        JobSnapshot reopened = new JobSnapshotCache(file).current();
+        assertEquals(second.watermark, reopened.watermark);
+        assertEquals(Arrays.asList("two", "one"), Arrays.asList(reopened.get(0).title, reopened.get(1).title));
+    }
+
+    private static Job storedJob(int employerId, String title) {
+        Job j = new Job();
+        j.title = title;
+        j.description = "";
+        j.location = "Berlin";
+        j.salary = 1;
+        j.employerId = employerId;
+        return j;
+    }
+
+    private List<String> files() throws Exception {
+        List<String> out = new ArrayList<>();
+        try (Stream<Path> s = Files.list(dir)) {
+            s.forEach(p -> out.add(p.getFileName().toString()));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,66 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.InMemoryStore;
+import jobportal.JobPortalSQLGui.InstrumentedStore;
+import jobportal.JobPortalSQLGui.LatencyHistogram;
+import jobportal.JobPortalSQLGui.OperationSnapshot;
+import jobportal.JobPortalSQLGui.StoreOp;
+import jobportal.JobPortalSQLGui.User;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+    @Test
+    void bucketsCoverEveryValueWithinASixteenth() {
+        int last = -1;
+        for (long v = 0; v < 1_000_000; v = v < 100 ? v + 1 : v + v / 7) {
+            int i = LatencyHistogram.index(v);
+            assertTrue(i >= last, "index goes backwards at " + v);
+            last = i;
+            long high = LatencyHistogram.highestValue(i);
+            assertTrue(high >= v, "bucket of " + v + " ends at " + high);
+            assertTrue(high - v <= Math.max(1, v / 16), "bucket of " + v + " is too wide: " + high);
+        }
+        assertTrue(LatencyHistogram.index(LatencyHistogram.MAX_VALUE) < LatencyHistogram.BUCKETS);
+    }
+
+    @Test
+    void percentilesAreUpperBoundsCappedAtTheMax() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int v = 1; v <= 1000; v++) h.record(v);
+        h.record(-5); // clamped to 0
+        LatencyHistogram.Snapshot s = h.snapshot();
+
+        assertEquals(1001, s.count);
+        assertEquals(1000, s.max);
+        assertEquals(500.0, s.mean(), 0.01);
+        long p50 = s.percentile(0.50);
+        assertTrue(p50 >= 500 && p50 <= 500 + 500 / 16, "p50 " + p50);
+        long p99 = s.percentile(0.99);
+        assertTrue(p99 >= 990 && p99 <= 1000, "p99 " + p99);
+        assertEquals(1000, s.percentile(1.0));
+        assertEquals(0, new LatencyHistogram().snapshot().percentile(0.5));
+    }
+
+    @Test
+    void instrumentedStoreCountsCallsRowsAndErrors() {
+        InstrumentedStore store = new InstrumentedStore(new InMemoryStore());
+        OperationSnapshot before = StoreOp.FIND_USER_BY_EMAIL.stats.snapshot();
+        User u = new User();
+        u.name = "Ann";
+        u.email = "ann@acme.test";
+        u.password = "pw";
+        u.role = "EMPLOYER";
+        store.insertUser(u);
+        store.findUserByEmail("ann@acme.test");
+        store.findUserByEmail("nobody@acme.test");
+        assertThrows(NullPointerException.class, () -> store.findUserByEmail(null));
+
+        OperationSnapshot after = StoreOp.FIND_USER_BY_EMAIL.stats.snapshot();
+        assertEquals(3, after.calls - before.calls);
+        assertEquals(1, after.rows - before.rows);
+        assertEquals(1, after.errors - before.errors);
+        assertEquals("findUserByEmail", after.operation);
+    }
+}
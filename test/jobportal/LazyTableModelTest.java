@@ -0,0 +1,135 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.LazyTableModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyTableModelTest {
+    private static final int ROWS = 450; // two full blocks and a partial one
+
+    private final List<Integer> source = new ArrayList<>();
+    private final List<String> loads = new ArrayList<>(); // "offset/previous"
+    private final AtomicInteger counts = new AtomicInteger();
+    private LazyTableModel<Integer> model;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 0; i < ROWS; i++) source.add(i);
+        List<Function<Integer, Object>> getters = Collections.singletonList(i -> i);
+        model = new LazyTableModel<>(new String[]{"N"}, getters, i -> i,
+            () -> {
+                counts.incrementAndGet();
+                return CompletableFuture.completedFuture(source.size());
+            },
+            (offset, previous, limit) -> {
+                loads.add(offset + "/" + previous);
+                return CompletableFuture.completedFuture(new ArrayList<>(source.subList(offset, Math.min(source.size(), offset + limit))));
+            });
+        edt(() -> { model.refresh(); return null; });
+        flush();
+    }
+
+    // The model is EDT-confined and completes its loads there
+    private static <R> R edt(Supplier<R> body) throws Exception {
+        AtomicReference<R> out = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> out.set(body.get()));
+        return out.get();
+    }
+
+    private static void flush() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {});
+    }
+
+    private Integer row(int i) throws Exception {
+        return edt(() -> model.rowAt(i));
+    }
+
+    private void loadAll() throws Exception {
+        row(0);
+        flush();
+        row(LazyTableModel.BLOCK_SIZE); // prefetches the block after it too
+        flush();
+    }
+
+    @Test
+    void loadsBlocksOnDemandWithKeysetHints() throws Exception {
+        assertEquals(ROWS, (int) edt(model::getRowCount));
+        assertEquals("Loading...", edt(() -> model.getValueAt(0, 0)));
+        flush();
+        assertEquals(0, row(0).intValue());
+
+        assertNull(row(200));
+        flush();
+        assertEquals(200, row(200).intValue());
+        assertEquals(449, row(449).intValue());
+        // block 2 was prefetched before block 1 arrived; block 1 got block 0's last row
+        assertEquals(Arrays.asList("0/null", "400/null", "200/199"), loads);
+    }
+
+    @Test
+    void insertShiftsCachedBlocksWithoutReloading() throws Exception {
+        loadAll();
+        int before = loads.size();
+        edt(() -> { model.insertAt(0, -1); return null; });
+
+        assertEquals(ROWS + 1, (int) edt(model::getRowCount));
+        assertEquals(-1, row(0).intValue());
+        assertEquals(199, row(200).intValue());
+        assertEquals(449, row(450).intValue());
+        assertEquals(before, loads.size());
+    }
+
+    @Test
+    void removeShiftsCachedBlocksWithoutReloading() throws Exception {
+        loadAll();
+        int before = loads.size();
+        edt(() -> { model.removeAt(0); return null; });
+
+        assertEquals(ROWS - 1, (int) edt(model::getRowCount));
+        assertEquals(1, row(0).intValue());
+        assertEquals(200, row(199).intValue());
+        assertEquals(449, row(448).intValue());
+        assertEquals(before, loads.size());
+        assertEquals(-1, (int) edt(() -> model.indexOfKey(0)));
+        assertEquals(99, (int) edt(() -> model.indexOfKey(100)));
+    }
+
+    @Test
+    void refreshServesTheOldRowsUntilTheNewOnesArrive() throws Exception {
+        loadAll();
+        source.set(0, 1000);
+        edt(() -> { model.refresh(); return null; });
+        flush();
+
+        assertEquals(0, row(0).intValue()); // stale but not blank
+        flush();
+        assertEquals(1000, row(0).intValue());
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void countChangeDropsTheOldRows() throws Exception {
+        loadAll();
+        source.remove(0);
+        edt(() -> { model.refresh(); return null; });
+        flush();
+
+        assertEquals(ROWS - 1, (int) edt(model::getRowCount));
+        assertNull(row(0)); // positions moved: nothing stale is shown
+        flush();
+        assertEquals(1, row(0).intValue());
+    }
+}
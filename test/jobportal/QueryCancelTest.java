@@ -0,0 +1,108 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.QueryAbortedException;
+import jobportal.JobPortalSQLGui.QueryCancel;
+import jobportal.JobPortalSQLGui.StoreOp;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.net.SocketTimeoutException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCancelTest {
+    // A statement whose queries block until it is cancelled; counts what reached it
+    static class FakeStatement {
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final AtomicInteger executions = new AtomicInteger();
+        final PreparedStatement proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+            new Class<?>[]{PreparedStatement.class}, (p, m, args) -> {
+                switch (m.getName()) {
+                    case "cancel":
+                        cancelled.countDown();
+                        return null;
+                    case "executeQuery":
+                        executions.incrementAndGet();
+                        if (!cancelled.await(5, TimeUnit.SECONDS)) fail("never cancelled");
+                        throw new SQLException("Query execution was interrupted", "70100", 1317);
+                    case "executeUpdate":
+                        executions.incrementAndGet();
+                        return 1;
+                    default:
+                        return null;
+                }
+            });
+    }
+
+    private static QueryAbortedException run(PreparedStatement ps, boolean query) {
+        try {
+            if (query) ps.executeQuery();
+            else ps.executeUpdate();
+            return null;
+        } catch (SQLException ex) {
+            return QueryAbortedException.of(StoreOp.SEARCH_JOBS, ex);
+        }
+    }
+
+    @Test
+    void cancelStopsTheExecutingStatement() throws Exception {
+        QueryCancel token = new QueryCancel();
+        FakeStatement st = new FakeStatement();
+        CountDownLatch prepared = new CountDownLatch(1);
+        CompletableFuture<QueryAbortedException> task = CompletableFuture.supplyAsync(() -> token.call(() -> {
+            PreparedStatement ps = QueryCancel.track(st.proxy);
+            prepared.countDown();
+            return run(ps, true);
+        }));
+
+        assertTrue(prepared.await(5, TimeUnit.SECONDS));
+        token.cancel(); // before or during executeQuery: either way the query does not run on
+        QueryAbortedException ex = task.get(5, TimeUnit.SECONDS);
+        assertEquals(QueryAbortedException.Reason.CANCELLED, ex.reason);
+        assertEquals("searchJobs was cancelled", ex.getMessage());
+    }
+
+    @Test
+    void cancelBetweenPrepareAndExecuteIsNotLost() {
+        QueryCancel token = new QueryCancel();
+        FakeStatement st = new FakeStatement();
+        QueryAbortedException ex = token.call(() -> {
+            PreparedStatement ps = QueryCancel.track(st.proxy);
+            token.cancel();
+            return run(ps, false);
+        });
+        assertEquals(QueryAbortedException.Reason.CANCELLED, ex.reason);
+        assertEquals(0, st.executions.get());
+        assertFalse(QueryCancel.isCancelled()); // the binding ends with the task
+    }
+
+    @Test
+    void finishedStatementsAreNotCancelled() {
+        QueryCancel token = new QueryCancel();
+        FakeStatement st = new FakeStatement();
+        assertNull(token.call(() -> run(QueryCancel.track(st.proxy), false)));
+        token.cancel();
+        assertEquals(1, st.cancelled.getCount());
+        // outside a task there is nothing to cancel through, so nothing is wrapped
+        assertSame(st.proxy, QueryCancel.track(st.proxy));
+    }
+
+    @Test
+    void timeoutsAreTypedAndOtherErrorsAreNot() {
+        QueryAbortedException server = QueryAbortedException.of(StoreOp.FIND_USER_BY_ID, new SQLTimeoutException("Statement cancelled due to timeout"));
+        assertEquals(QueryAbortedException.Reason.TIMEOUT, server.reason);
+        assertTrue(server.getMessage().startsWith("findUserById timed out after "));
+
+        SQLException socket = new SQLException("Communications link failure", "08S01", new SocketTimeoutException("Read timed out"));
+        assertEquals(QueryAbortedException.Reason.TIMEOUT, QueryAbortedException.of(StoreOp.SEARCH_JOBS, socket).reason);
+
+        assertNull(QueryAbortedException.of(StoreOp.SEARCH_JOBS, new SQLException("Duplicate entry", "23000", 1062)));
+    }
+}
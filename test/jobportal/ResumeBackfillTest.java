@@ -0,0 +1,63 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.DocumentStore;
+import jobportal.JobPortalSQLGui.Migration;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Runs the V5 and V10 resume backfills against MySQL. Skipped unless -Djobportal.test.jdbcUrl
+// names a scratch database (credentials in the URL): the test replaces its users and
+// documents tables.
+class ResumeBackfillTest {
+    private static final String JDBC_URL = System.getProperty("jobportal.test.jdbcUrl", "");
+
+    private static Migration step(int version) {
+        for (Migration m : JobPortalSQLGui.MIGRATIONS) if (m.version == version) return m;
+        throw new AssertionError("no V" + version);
+    }
+
+    @Test
+    void latin1ResumesAreStoredAsUtf8() throws Exception {
+        assumeTrue(!JDBC_URL.isEmpty(), "set -Djobportal.test.jdbcUrl to a scratch MySQL database");
+        String resume = "Caf\u00e9 owner, M\u00fcnchen \u00a9 2019";
+        try (Connection c = DriverManager.getConnection(JDBC_URL); Statement st = c.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS users, documents");
+            st.execute("CREATE TABLE users (id INT PRIMARY KEY, resume TEXT CHARACTER SET latin1) ENGINE=InnoDB");
+            try (PreparedStatement ps = c.prepareStatement("INSERT INTO users (id, resume) VALUES (?, ?)")) {
+                for (int id = 1; id <= 2; id++) {
+                    ps.setInt(1, id);
+                    ps.setString(2, resume);
+                    ps.executeUpdate();
+                }
+            }
+            for (String sql : step(5).statements) st.execute(sql);
+            // user 2 as the first V5 left it: hashed over the latin1 bytes
+            st.execute("UPDATE users SET resume_doc = UNHEX(SHA2(resume, 256)) WHERE id = 2");
+            for (String sql : step(10).statements) st.execute(sql);
+
+            byte[] utf8 = resume.getBytes(StandardCharsets.UTF_8);
+            String read = "SELECT u.resume_doc, d.codec, d.raw_length, d.body FROM users u JOIN documents d ON d.hash = u.resume_doc WHERE u.id = ?";
+            try (PreparedStatement ps = c.prepareStatement(read)) {
+                for (int id = 1; id <= 2; id++) {
+                    ps.setInt(1, id);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        assertTrue(rs.next(), "user " + id + " has no document");
+                        assertArrayEquals(DocumentStore.hash(utf8), rs.getBytes("resume_doc"));
+                        assertEquals(utf8.length, rs.getInt("raw_length"));
+                        assertEquals(resume, DocumentStore.text(rs, "codec", "body"));
+                    }
+                }
+            }
+            st.execute("DROP TABLE users, documents");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.RowTableModel;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowTableModelTest {
+    static class Row {
+        final int id;
+        String status;
+
+        Row(int id, String status) {
+            this.id = id;
+            this.status = status;
+        }
+    }
+
+    private final List<String> events = new ArrayList<>();
+
+    private RowTableModel<Row> model() {
+        List<Function<Row, Object>> getters = Arrays.asList(r -> r.id, r -> r.status);
+        RowTableModel<Row> m = new RowTableModel<>(new String[]{"ID", "Status"}, getters, r -> r.id);
+        m.addTableModelListener(e -> events.add(describe(e)));
+        return m;
+    }
+
+    private static String describe(TableModelEvent e) {
+        if (e.getFirstRow() == TableModelEvent.HEADER_ROW) return "structure";
+        if (e.getLastRow() == Integer.MAX_VALUE) return "all";
+        String kind = e.getType() == TableModelEvent.INSERT ? "insert" : e.getType() == TableModelEvent.DELETE ? "delete" : "update";
+        return kind + " " + e.getFirstRow() + "-" + e.getLastRow();
+    }
+
+    @Test
+    void showsAPlaceholderOnlyWhileTheFirstLoadRuns() {
+        RowTableModel<Row> m = model();
+        m.setLoading(true);
+        assertEquals(1, m.getRowCount());
+        assertEquals("Loading...", m.getValueAt(0, 0));
+        assertNull(m.rowAt(0));
+
+        m.setRows(Arrays.asList(new Row(2, "APPLIED"), new Row(1, "APPLIED")));
+        assertEquals(2, m.getRowCount());
+        m.setLoading(true); // a refresh keeps the old rows on screen
+        assertEquals(2, m.getRowCount());
+        assertEquals(2, m.getValueAt(0, 0));
+    }
+
+    @Test
+    void patchesSingleRowsInPlace() {
+        RowTableModel<Row> m = model();
+        m.setRows(new ArrayList<>(Arrays.asList(new Row(3, "APPLIED"), new Row(2, "APPLIED"), new Row(1, "APPLIED"))));
+        events.clear();
+
+        m.insert(0, new Row(4, "APPLIED"));
+        m.insert(0, new Row(2, "APPLIED")); // already there
+        m.append(new Row(0, "APPLIED"));
+        assertTrue(m.patch(2, r -> r.status = "REJECTED"));
+        assertFalse(m.patch(99, r -> r.status = "REJECTED"));
+        assertTrue(m.remove(3));
+        assertFalse(m.remove(3));
+
+        assertEquals(Arrays.asList("insert 0-0", "insert 4-4", "update 2-2", "delete 1-1"), events);
+        assertEquals(4, m.getRowCount());
+        assertEquals(1, m.indexOf(2));
+        assertEquals("REJECTED", m.getValueAt(1, 1));
+        assertEquals(-1, m.indexOf(3));
+    }
+
+    @Test
+    void bulkPatchAndRemoveByPredicate() {
+        RowTableModel<Row> m = model();
+        m.setRows(Arrays.asList(new Row(1, "A"), new Row(2, "B"), new Row(3, "A")));
+        m.addRows(Collections.singletonList(new Row(4, "A")));
+        events.clear();
+
+        m.patchWhere(r -> r.status.equals("A"), r -> r.status = "C");
+        m.removeWhere(r -> r.id % 2 == 0);
+
+        assertEquals(Arrays.asList("update 0-0", "update 2-2", "update 3-3", "delete 3-3", "delete 1-1"), events);
+        assertEquals(2, m.getRowCount());
+        assertEquals(3, m.rowAt(1).id);
+        assertEquals("C", m.getValueAt(1, 1));
+    }
+}
@@ -0,0 +1,165 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.Migration;
+import jobportal.JobPortalSQLGui.SchemaMigrator;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigratorTest {
+    private static List<Migration> steps() {
+        return Arrays.asList(
+            new Migration(1, "tables", false, "CREATE TABLE a", "CREATE TABLE b"),
+            new Migration(2, "index", true, "ALTER TABLE a ADD INDEX i"),
+            new Migration(3, "column", false, "ALTER TABLE b ADD COLUMN c"));
+    }
+
+    @Test
+    void appliesOfflineStepsAndDefersOnlineOnes() throws Exception {
+        FakeSchemaDatabase db = new FakeSchemaDatabase();
+        SchemaMigrator m = new SchemaMigrator(db, steps());
+        m.migrate();
+        assertEquals(Arrays.asList("CREATE TABLE a", "CREATE TABLE b", "ALTER TABLE b ADD COLUMN c"), db.takeExecuted());
+        assertTrue(m.isApplied(1));
+        assertFalse(m.isApplied(2));
+        assertTrue(m.isApplied(3));
+
+        m.completeOnline();
+        assertEquals(Collections.singletonList("ALTER TABLE a ADD INDEX i"), db.takeExecuted());
+        assertTrue(m.isApplied(2));
+        assertEquals(steps().get(1).checksum(), db.recorded.get(2));
+    }
+
+    @Test
+    void rerunOnACurrentSchemaRunsNothing() throws Exception {
+        FakeSchemaDatabase db = new FakeSchemaDatabase();
+        SchemaMigrator first = new SchemaMigrator(db, steps());
+        first.migrate();
+        first.completeOnline();
+        db.takeExecuted();
+
+        int locks = db.locksTaken;
+
+        SchemaMigrator again = new SchemaMigrator(db, steps());
+        again.migrate();
+        again.completeOnline();
+        assertTrue(db.takeExecuted().isEmpty());
+        assertEquals(locks, db.locksTaken); // a current schema is checked without the lock
+        for (int v = 1; v <= 3; v++) assertTrue(again.isApplied(v));
+    }
+
+    @Test
+    void onlineStepAppliedByAnotherInstanceIsNotRepeated() throws Exception {
+        FakeSchemaDatabase db = new FakeSchemaDatabase();
+        SchemaMigrator slow = new SchemaMigrator(db, steps());
+        slow.migrate();
+        SchemaMigrator fast = new SchemaMigrator(db, steps());
+        fast.migrate();
+        fast.completeOnline();
+        db.takeExecuted();
+
+        slow.completeOnline();
+        assertTrue(db.takeExecuted().isEmpty());
+        assertTrue(slow.isApplied(2));
+    }
+
+    @Test
+    void indexLeftByAnInterruptedRunCountsAsDone() throws Exception {
+        FakeSchemaDatabase db = new FakeSchemaDatabase();
+        db.failWith.put("ALTER TABLE a ADD INDEX i", 1061); // duplicate key name
+        SchemaMigrator m = new SchemaMigrator(db, steps());
+        m.migrate();
+        m.completeOnline();
+        assertTrue(m.isApplied(2));
+        assertNotNull(db.recorded.get(2));
+    }
+
+    @Test
+    void columnChangesLeftByAnInterruptedRunCountAsDone() throws Exception {
+        FakeSchemaDatabase db = new FakeSchemaDatabase();
+        List<Migration> steps = Collections.singletonList(
+            new Migration(1, "move column", false, "ALTER TABLE b ADD COLUMN d", "ALTER TABLE b DROP COLUMN c"));
+        db.failWith.put("ALTER TABLE b ADD COLUMN d", 1060); // duplicate column
+        db.failWith.put("ALTER TABLE b DROP COLUMN c", 1091); // already dropped
+        SchemaMigrator m = new SchemaMigrator(db, steps);
+        m.migrate();
+        assertTrue(m.isApplied(1));
+        assertNotNull(db.recorded.get(1));
+    }
+
+    @Test
+    void otherFailuresStopTheRunAndAreRetriedNextTime() throws Exception {
+        FakeSchemaDatabase db = new FakeSchemaDatabase();
+        db.failWith.put("ALTER TABLE b ADD COLUMN c", 1205); // lock wait timeout
+        SchemaMigrator m = new SchemaMigrator(db, steps());
+        assertThrows(SQLException.class, m::migrate);
+        assertNotNull(db.recorded.get(1));
+        assertNull(db.recorded.get(3));
+
+        db.failWith.clear();
+        db.takeExecuted();
+        SchemaMigrator retry = new SchemaMigrator(db, steps());
+        retry.migrate();
+        assertEquals(Collections.singletonList("ALTER TABLE b ADD COLUMN c"), db.takeExecuted());
+        assertTrue(retry.isApplied(3));
+    }
+
+    @Test
+    void editedStepMatchesOnlyWithItsFormerChecksum() throws Exception {
+        FakeSchemaDatabase db = new FakeSchemaDatabase();
+        SchemaMigrator m = new SchemaMigrator(db, steps());
+        m.migrate();
+        String old = steps().get(2).checksum();
+
+        List<Migration> edited = Arrays.asList(steps().get(0), steps().get(1),
+            new Migration(3, "column", false, "ALTER TABLE b ADD COLUMN c, ALGORITHM=INPLACE"));
+        SQLException ex = assertThrows(SQLException.class, () -> new SchemaMigrator(db, edited).migrate());
+        assertTrue(ex.getMessage().contains("V3"));
+
+        List<Migration> declared = Arrays.asList(steps().get(0), steps().get(1),
+            new Migration(3, "column", false, "ALTER TABLE b ADD COLUMN c, ALGORITHM=INPLACE").formerly(old));
+        db.takeExecuted();
+        SchemaMigrator again = new SchemaMigrator(db, declared);
+        again.migrate();
+        assertTrue(again.isApplied(3));
+        assertTrue(db.takeExecuted().isEmpty());
+    }
+
+    @Test
+    void guardedStepIsRecordedWithoutRunningOnceItsColumnIsGone() throws Exception {
+        List<Migration> steps = Collections.singletonList(
+            new Migration(1, "backfill", false, "UPDATE users SET doc = resume").onlyWhileColumnExists("users", "resume"));
+        FakeSchemaDatabase db = new FakeSchemaDatabase();
+        SchemaMigrator m = new SchemaMigrator(db, steps);
+        m.migrate();
+        assertTrue(db.takeExecuted().isEmpty());
+        assertTrue(m.isApplied(1));
+        assertEquals(steps.get(0).checksum(), db.recorded.get(1));
+
+        FakeSchemaDatabase legacy = new FakeSchemaDatabase();
+        legacy.columns.add("users.resume");
+        new SchemaMigrator(legacy, steps).migrate();
+        assertEquals(Collections.singletonList("UPDATE users SET doc = resume"), legacy.takeExecuted());
+    }
+
+    @Test
+    void shippedMigrationsRerunCleanly() throws Exception {
+        FakeSchemaDatabase db = new FakeSchemaDatabase();
+        db.columns.add("users.resume");
+        SchemaMigrator m = new SchemaMigrator(db, JobPortalSQLGui.MIGRATIONS);
+        m.migrate();
+        m.completeOnline();
+        for (Migration step : JobPortalSQLGui.MIGRATIONS) assertTrue(m.isApplied(step.version), "V" + step.version);
+        db.takeExecuted();
+
+        SchemaMigrator again = new SchemaMigrator(db, JobPortalSQLGui.MIGRATIONS);
+        again.migrate();
+        again.completeOnline();
+        assertTrue(db.takeExecuted().isEmpty());
+    }
+}
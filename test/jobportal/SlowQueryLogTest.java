@@ -0,0 +1,40 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.SlowQueryLog;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+    @Test
+    void redactsComparedAndAssignedSensitiveColumns() {
+        assertEquals("[<redacted>]",
+            SlowQueryLog.formatParams("SELECT id FROM users WHERE email = ?", new Object[]{"ann@acme.test"}));
+        assertEquals("['Ann', <redacted>, <redacted>, 7]",
+            SlowQueryLog.formatParams("UPDATE users SET name=?, u.email=?, password = ? WHERE id=?",
+                new Object[]{"Ann", "ann@acme.test", "secret", 7}));
+    }
+
+    @Test
+    void redactsInsertColumnsByPosition() {
+        assertEquals("['Ann', <redacted>, <redacted>, 'EMPLOYER', NULL]",
+            SlowQueryLog.formatParams("INSERT INTO users (name, email, password, role, company) VALUES (?,?,?,?,?)",
+                new Object[]{"Ann", "ann@acme.test", "secret", "EMPLOYER", null}));
+        assertEquals("[3, <redacted>]",
+            SlowQueryLog.formatParams("INSERT IGNORE INTO seekers (id, resume_doc) VALUES (?, ?)",
+                new Object[]{3, new byte[32]}));
+    }
+
+    @Test
+    void shortensAndQuotesOtherValues() {
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 150; i++) longText.append('x');
+        String out = SlowQueryLog.formatParams("SELECT * FROM jobs WHERE title LIKE ? AND body = ? AND salary >= ? AND remote = ?",
+            new Object[]{"it's", new byte[3], 5.5, true});
+        assertEquals("['it''s', <3 bytes>, 5.5, true]", out);
+
+        String cut = SlowQueryLog.formatParams("SELECT * FROM jobs WHERE title = ?", new Object[]{longText.toString()});
+        assertEquals(SlowQueryLog.MAX_PARAM_CHARS + 7, cut.length()); // [' ... ...']
+        assertTrue(cut.endsWith("...']"));
+    }
+}
@@ -0,0 +1,55 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.StartupPipeline;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupPipelineTest {
+    @Test
+    void phasesWaitForTheirDependenciesOnly() throws Exception {
+        StartupPipeline p = new StartupPipeline();
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> schema = p.phase("schema", () -> {
+            release.await();
+            order.add("schema");
+        });
+        CompletableFuture<Void> index = p.phase("index", () -> order.add("index"), schema);
+        CompletableFuture<Void> driver = p.phase("driver", () -> order.add("driver"));
+
+        driver.get(5, TimeUnit.SECONDS); // independent of the blocked schema phase
+        assertFalse(index.isDone());
+        release.countDown();
+        index.get(5, TimeUnit.SECONDS);
+
+        assertEquals("driver", order.get(0));
+        assertTrue(order.indexOf("schema") < order.indexOf("index"));
+        p.whenSettled().get(5, TimeUnit.SECONDS);
+        String report = p.report();
+        assertTrue(report.contains("schema ") && report.contains("index ") && report.contains("driver "), report);
+        assertTrue(report.contains(", total "), report);
+    }
+
+    @Test
+    void aFailedPhaseSkipsItsDependentsButSettles() throws Exception {
+        StartupPipeline p = new StartupPipeline();
+        CompletableFuture<Void> connect = p.phase("connect", () -> { throw new ClassNotFoundException("com.mysql.cj.jdbc.Driver"); });
+        CompletableFuture<Void> warm = p.phase("warm", () -> fail("must not run"), connect);
+        CompletableFuture<Void> other = p.phase("other", () -> {});
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> warm.get(5, TimeUnit.SECONDS));
+        assertTrue(StartupPipeline.cause(ex.getCause()) instanceof ClassNotFoundException);
+        other.get(5, TimeUnit.SECONDS);
+        p.whenSettled().get(5, TimeUnit.SECONDS);
+        assertTrue(connect.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,97 @@
+package jobportal;
+
+import jobportal.JobPortalSQLGui.PendingWrite;
+import jobportal.JobPortalSQLGui.WriteJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteJournalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysUncommittedWritesAfterReopen() throws Exception {
+        Path file = dir.resolve("journal.log");
+        try (WriteJournal j = new WriteJournal(file)) {
+            PendingWrite a = j.apply(7, 3);
+            j.status(42, "ACCEPTED");
+            j.apply(8, 3);
+            j.commit(Collections.singletonList(a));
+        }
+        try (WriteJournal j = new WriteJournal(file)) {
+            List<PendingWrite> pending = j.pending();
+            assertEquals(2, pending.size());
+            assertEquals(PendingWrite.Kind.STATUS, pending.get(0).kind);
+            assertEquals(42, pending.get(0).appId);
+            assertEquals("ACCEPTED", pending.get(0).status);
+            assertEquals(8, pending.get(1).jobId);
+            assertNull(j.pendingApply(7, 3));
+            assertNotNull(j.pendingApply(8, 3));
+            assertTrue(j.hasPendingStatus(42));
+            // sequence numbers carry on after the replayed ones
+            assertEquals(4, j.apply(9, 3).seq);
+        }
+    }
+
+    @Test
+    void dropsTornLastLine() throws Exception {
+        Path file = dir.resolve("journal.log");
+        try (WriteJournal j = new WriteJournal(file)) {
+            j.apply(7, 3);
+        }
+        Files.write(file, "A 2 8".getBytes(StandardCharsets.US_ASCII), StandardOpenOption.APPEND);
+        try (WriteJournal j = new WriteJournal(file)) {
+            assertEquals(1, j.pending().size());
+            assertEquals(7, j.pending().get(0).jobId);
+            j.apply(9, 3);
+        }
+        // the partial line was cut off, so the next append starts on a line of its own
+        assertEquals("A 1 7 3\nA 2 9 3\n", new String(Files.readAllBytes(file), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void skipsUnreadableLines() throws Exception {
+        Path file = dir.resolve("journal.log");
+        Files.write(file, "A 1 7 3\nA x\nS 3 42 REJECTED\n".getBytes(StandardCharsets.US_ASCII));
+        try (WriteJournal j = new WriteJournal(file)) {
+            assertEquals(2, j.pending().size());
+            assertEquals(4, j.status(42, "ACCEPTED").seq);
+        }
+    }
+
+    @Test
+    void commitOfEverythingTruncatesTheFile() throws Exception {
+        Path file = dir.resolve("journal.log");
+        try (WriteJournal j = new WriteJournal(file)) {
+            j.apply(7, 3);
+            j.status(42, "ACCEPTED");
+            j.commit(j.pending());
+            assertTrue(j.pending().isEmpty());
+            assertEquals(0, Files.size(file));
+        }
+        try (WriteJournal j = new WriteJournal(file)) {
+            assertTrue(j.pending().isEmpty());
+        }
+    }
+
+    @Test
+    void partialCommitAppendsMarks() throws Exception {
+        Path file = dir.resolve("journal.log");
+        try (WriteJournal j = new WriteJournal(file)) {
+            PendingWrite a = j.apply(7, 3);
+            j.apply(8, 3);
+            j.commit(Collections.singletonList(a));
+            j.commit(Collections.singletonList(a)); // already committed: no second mark
+        }
+        assertEquals("A 1 7 3\nA 2 8 3\nC 1\n", new String(Files.readAllBytes(file), StandardCharsets.US_ASCII));
+    }
+}